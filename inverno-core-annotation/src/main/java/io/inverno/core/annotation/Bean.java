@@ -210,6 +210,24 @@ public @interface Bean {
 	 * </p>
 	 * 
 	 * <p>
+	 * A {@link Strategy#POOLED} bean is exposed as a pool from which instances are
+	 * leased and to which they are released, instances are created when the pool
+	 * is not full and no idle instance is available. The pool can be configured
+	 * using a {@link Pooled @Pooled} annotation.
+	 * </p>
+	 * 
+	 * <p>
+	 * A {@link Strategy#THREAD} bean is instantiated once per requesting thread,
+	 * platform or virtual, an instance is then never shared between threads.
+	 * </p>
+	 * 
+	 * <p>
+	 * A {@link Strategy#STRIPED} bean holds a fixed number of instances among
+	 * which requesting threads are spread. The number of instances can be
+	 * configured using a {@link Striped @Striped} annotation.
+	 * </p>
+	 * 
+	 * <p>
 	 * Note that this attribute is irrelevant and therefore ignored when specified
 	 * on a socket bean
 	 * </p>
@@ -225,7 +243,21 @@ public @interface Bean {
 		/**
 		 * Prototype strategy results in multiple instance being created when requested.
 		 */
-		PROTOTYPE
+		PROTOTYPE,
+		/**
+		 * Pooled strategy results in a bounded pool of instances being leased and
+		 * released when requested.
+		 */
+		POOLED,
+		/**
+		 * Thread strategy results in one instance being created per requesting thread.
+		 */
+		THREAD,
+		/**
+		 * Striped strategy results in a fixed number of instances being shared among
+		 * requesting threads.
+		 */
+		STRIPED
 	}
 
 	/**
@@ -234,4 +266,27 @@ public @interface Bean {
 	 * @return The bean's strategy
 	 */
 	Strategy strategy() default Strategy.SINGLETON;
+
+	/**
+	 * <p>
+	 * Indicates whether a singleton bean is created the first time it is requested
+	 * instead of when the module is started.
+	 * </p>
+	 * 
+	 * <p>
+	 * A lazy bean is still created when the module starts if a bean created at
+	 * that time depends on it, the compiler reports a warning in such situation.
+	 * Beans are destroyed in the reverse order of their actual creation.
+	 * </p>
+	 * 
+	 * <p>
+	 * Note that this attribute is only relevant for {@link Strategy#SINGLETON}
+	 * beans since no instance is created on startup for other strategies.
+	 * </p>
+	 * 
+	 * @return true to create the bean on first request, false otherwise
+	 * 
+	 * @since 1.3
+	 */
+	boolean lazy() default false;
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Indicates a single-argument method of a singleton bean that must be invoked
+ * when an event assignable to its parameter is published in the module.
+ * </p>
+ * 
+ * <p>
+ * Events are published by beans through an
+ * {@code io.inverno.core.v1.EventPublisher} socket. The listeners of an event
+ * type are resolved at compile time and directly invoked by the publisher
+ * generated in the module class.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <pre>
+ * &#64;Bean
+ * public class SomeCache {
+ * 
+ *     &#64;EventListener
+ *     public void onConfigurationReloaded(ConfigurationReloaded event) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see Bean
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.METHOD })
+public @interface EventListener {
+
+}
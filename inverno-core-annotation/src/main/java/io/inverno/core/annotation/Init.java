@@ -28,6 +28,12 @@ import java.lang.annotation.Target;
  * and dependency injection is done.
  * </p>
  * 
+ * <p>
+ * An init method returning a {@link java.util.concurrent.CompletionStage} is
+ * executed asynchronously: the bean instance is provided to dependent beans and
+ * the module is started once the returned stage has completed.
+ * </p>
+ * 
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.0
  */
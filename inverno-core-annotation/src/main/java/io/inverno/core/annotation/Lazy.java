@@ -37,4 +37,32 @@ import java.util.function.Supplier;
 @Target({ PARAMETER })
 public @interface Lazy {
 
+	/**
+	 * <p>
+	 * Indicates whether the supplier injected in the socket resolves a singleton
+	 * bean once and then returns the same instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * By default, each call to the supplier requests the bean to the module
+	 * which checks that the module is active before returning the instance. A
+	 * memoized supplier only does that the first time it is called and then
+	 * keeps the instance. This is interesting when a lazy supplier is invoked
+	 * very frequently, typically on each request processed by the dependent
+	 * bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * A memoized supplier keeps returning the instance after the module has been
+	 * stopped and doesn't notify the bean listeners sampling bean requests. Only
+	 * singleton beans defined in the module and injected in a single socket are
+	 * memoized, other beans are still requested on each call: a new instance is
+	 * then returned on each call when a prototype bean is injected.
+	 * </p>
+	 * 
+	 * @return true to memoize singleton beans, false otherwise
+	 * 
+	 * @since 1.3
+	 */
+	boolean memoized() default false;
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Used in conjunction with {@link Bean @Bean} to configure the pool of a
+ * {@link Bean.Strategy#POOLED} bean.
+ * </p>
+ * 
+ * <p>
+ * A pooled bean is exposed in the module as an
+ * <code>io.inverno.core.v1.Pool</code> of bean instances, dependent beans must
+ * then declare a socket of that type in order to lease and release instances.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <pre>
+ * &#64;Bean(strategy = Strategy.POOLED)
+ * &#64;Pooled(maxSize = 16, maxIdleTime = 30000, timeout = 1000)
+ * public class SomeParser {
+ *     ...
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see Bean
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.TYPE })
+public @interface Pooled {
+
+	/**
+	 * <p>
+	 * Indicates the maximum number of instances in the pool.
+	 * </p>
+	 * 
+	 * @return the maximum number of instances
+	 */
+	int maxSize() default 8;
+	
+	/**
+	 * <p>
+	 * Indicates the time in milliseconds after which an idle instance is evicted
+	 * from the pool and destroyed.
+	 * </p>
+	 * 
+	 * <p>
+	 * Idle instances are never evicted when a negative or zero value is specified.
+	 * </p>
+	 * 
+	 * @return a time in milliseconds
+	 */
+	long maxIdleTime() default 60000;
+	
+	/**
+	 * <p>
+	 * Indicates the time in milliseconds to wait for an instance to be released
+	 * when the pool is exhausted.
+	 * </p>
+	 * 
+	 * <p>
+	 * A lease fails immediately when zero is specified and waits indefinitely when
+	 * a negative value is specified.
+	 * </p>
+	 * 
+	 * @return a time in milliseconds
+	 */
+	long timeout() default -1;
+}
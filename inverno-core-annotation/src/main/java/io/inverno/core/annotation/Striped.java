@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Used in conjunction with {@link Bean @Bean} to configure the stripes of a
+ * {@link Bean.Strategy#STRIPED} bean.
+ * </p>
+ * 
+ * <p>
+ * A striped bean holds a fixed number of instances, each thread requesting the
+ * bean is assigned one of them based on a hash of its identifier.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <pre>
+ * &#64;Bean(strategy = Strategy.STRIPED)
+ * &#64;Striped(stripes = 16)
+ * public class SomeCounter {
+ *     ...
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see Bean
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.TYPE })
+public @interface Striped {
+
+	/**
+	 * <p>
+	 * Indicates the number of stripes which is rounded up to the next power of
+	 * two.
+	 * </p>
+	 * 
+	 * <p>
+	 * The number of available processors is used when a negative or zero value is
+	 * specified.
+	 * </p>
+	 * 
+	 * @return the number of stripes
+	 */
+	int stripes() default 0;
+}
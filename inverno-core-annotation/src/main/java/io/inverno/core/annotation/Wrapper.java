@@ -57,4 +57,30 @@ import java.util.function.Supplier;
 @Target({ ElementType.TYPE })
 public @interface Wrapper {
 
+	/**
+	 * <p>
+	 * Indicates whether the destroy methods of a prototype wrapper bean should be
+	 * invoked as soon as the instance supplied by the wrapper is reclaimed by the
+	 * garbage collector.
+	 * </p>
+	 * 
+	 * <p>
+	 * By default, the wrappers of prototype bean instances are kept until the
+	 * module is stopped. When this attribute is set to true, the wrapper is instead
+	 * destroyed by a {@link java.lang.ref.Cleaner Cleaner} once the bean instance
+	 * becomes phantom reachable. The wrapper must then not hold a strong reference
+	 * to the bean instance, otherwise the instance is never reclaimed and the
+	 * wrapper only destroyed when the module is stopped.
+	 * </p>
+	 * 
+	 * <p>
+	 * This attribute is ignored for singleton beans.
+	 * </p>
+	 * 
+	 * @return true to destroy the wrapper when the bean instance is reclaimed,
+	 *         false otherwise
+	 * 
+	 * @since 1.3
+	 */
+	boolean destroyOnReclaim() default false;
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.benchmark;
+
+import io.inverno.core.v1.Module;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * The module providing the beans used in benchmarks.
+ * </p>
+ *
+ * <p>
+ * This class is equivalent to the module class generated by the Inverno
+ * compiler for a module exposing a bean of each kind, it is written by hand so
+ * that benchmarks do not depend on the compiler.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public final class BenchmarkModule extends Module {
+
+	private Bean<Service> singleton;
+	private Bean<Service> singletonWrapper;
+	private Bean<Service> prototype;
+	private Bean<Service> destroyablePrototype;
+	private Bean<Service> overriddenPrototype;
+	private Bean<Service> prototypeWrapper;
+	private Bean<ServiceConsumer> serviceConsumer;
+
+	private BenchmarkModule() {
+		super("io.inverno.core.benchmark");
+
+		this.singleton = this.with(ModuleBeanBuilder
+			.singleton("singleton", () -> {
+				Service singleton = new Service();
+
+				return singleton;
+			})
+		);
+		this.singletonWrapper = this.with(WrapperBeanBuilder
+			.singleton("singletonWrapper", () -> {
+				ServiceWrapper singletonWrapper = new ServiceWrapper();
+
+				return singletonWrapper;
+			})
+		);
+		this.prototype = this.with(ModuleBeanBuilder
+			.prototype("prototype", () -> {
+				Service prototype = new Service();
+
+				return prototype;
+			})
+		);
+		this.destroyablePrototype = this.with(ModuleBeanBuilder
+			.prototype("destroyablePrototype", () -> {
+				Service destroyablePrototype = new Service();
+
+				return destroyablePrototype;
+			})
+			.destroy(destroyablePrototype -> destroyablePrototype.value = 0)
+		);
+		this.overriddenPrototype = this.with(ModuleBeanBuilder
+			.prototype("overriddenPrototype", () -> {
+				Service overriddenPrototype = new Service();
+
+				return overriddenPrototype;
+			})
+			.override(Optional.<Supplier<Service>>of(Service::new))
+		);
+		this.prototypeWrapper = this.with(WrapperBeanBuilder
+			.prototype("prototypeWrapper", () -> {
+				ServiceWrapper prototypeWrapper = new ServiceWrapper();
+
+				return prototypeWrapper;
+			})
+		);
+		this.serviceConsumer = this.with(ModuleBeanBuilder
+			.singleton("serviceConsumer", () -> {
+				ServiceConsumer serviceConsumer = new ServiceConsumer(
+					() -> this.singleton.get(), 
+					this.memoize(this.singleton), 
+					() -> this.prototype.get(), 
+					this.memoize(this.prototype)
+				);
+
+				return serviceConsumer;
+			})
+		);
+	}
+
+	public Service singleton() {
+		return this.singleton.get();
+	}
+
+	public Service singletonWrapper() {
+		return this.singletonWrapper.get();
+	}
+
+	public Service prototype() {
+		return this.prototype.get();
+	}
+
+	public Service destroyablePrototype() {
+		return this.destroyablePrototype.get();
+	}
+
+	public Service overriddenPrototype() {
+		return this.overriddenPrototype.get();
+	}
+
+	public Service prototypeWrapper() {
+		return this.prototypeWrapper.get();
+	}
+
+	public ServiceConsumer serviceConsumer() {
+		return this.serviceConsumer.get();
+	}
+
+	public static final class Builder extends ModuleBuilder<BenchmarkModule> {
+
+		protected BenchmarkModule doBuild() {
+			return new BenchmarkModule();
+		}
+	}
+}
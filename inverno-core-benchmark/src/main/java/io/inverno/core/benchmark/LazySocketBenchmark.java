@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the throughput of lazy socket calls issued concurrently by as many
+ * threads as there are processors. A regular lazy socket requests the bean on
+ * each call whereas a memoized lazy socket wired to a singleton bean only
+ * requests it once. Memoized lazy sockets wired to a prototype bean request
+ * the bean on each call as well and serve as control.
+ * </p>
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LazySocketBenchmark
+ * </pre>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class LazySocketBenchmark {
+
+	private BenchmarkModule module;
+	
+	private ServiceConsumer serviceConsumer;
+
+	@Setup
+	public void setup() {
+		this.module = new BenchmarkModule.Builder().build();
+		this.module.start();
+		this.serviceConsumer = this.module.serviceConsumer();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.module.stop();
+	}
+
+	@Benchmark
+	public Service lazySingleton() {
+		return this.serviceConsumer.lazySingleton.get();
+	}
+
+	@Benchmark
+	public Service memoizedSingleton() {
+		return this.serviceConsumer.memoizedSingleton.get();
+	}
+
+	@Benchmark
+	public Service lazyPrototype() {
+		return this.serviceConsumer.lazyPrototype.get();
+	}
+
+	@Benchmark
+	public Service memoizedPrototype() {
+		return this.serviceConsumer.memoizedPrototype.get();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the throughput and the allocation rate of prototype bean requests.
+ * Besides the bean instance itself, a request should only allocate the weak
+ * reference tracking destroyable prototypes.
+ * </p>
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar PrototypeBeanBenchmark -prof gc
+ * </pre>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBeanBenchmark {
+
+	private BenchmarkModule module;
+
+	@Setup
+	public void setup() {
+		this.module = new BenchmarkModule.Builder().build();
+		this.module.start();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.module.stop();
+	}
+
+	@Benchmark
+	public Service prototype() {
+		return this.module.prototype();
+	}
+
+	@Benchmark
+	public Service destroyablePrototype() {
+		return this.module.destroyablePrototype();
+	}
+
+	@Benchmark
+	public Service overriddenPrototype() {
+		return this.module.overriddenPrototype();
+	}
+
+	@Benchmark
+	public Service prototypeWrapper() {
+		return this.module.prototypeWrapper();
+	}
+}
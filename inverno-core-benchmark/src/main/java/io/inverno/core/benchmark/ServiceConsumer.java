@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.benchmark;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A bean retrieving {@link Service} instances through lazy sockets, regular and
+ * memoized.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public class ServiceConsumer {
+
+	/**
+	 * A lazy socket wired to the singleton bean.
+	 */
+	public final Supplier<Service> lazySingleton;
+	
+	/**
+	 * A memoized lazy socket wired to the singleton bean.
+	 */
+	public final Supplier<Service> memoizedSingleton;
+	
+	/**
+	 * A lazy socket wired to the prototype bean.
+	 */
+	public final Supplier<Service> lazyPrototype;
+	
+	/**
+	 * A memoized lazy socket wired to the prototype bean.
+	 */
+	public final Supplier<Service> memoizedPrototype;
+
+	/**
+	 * <p>
+	 * Creates a service consumer.
+	 * </p>
+	 * 
+	 * @param lazySingleton     a lazy socket wired to the singleton bean
+	 * @param memoizedSingleton a memoized lazy socket wired to the singleton bean
+	 * @param lazyPrototype     a lazy socket wired to the prototype bean
+	 * @param memoizedPrototype a memoized lazy socket wired to the prototype bean
+	 */
+	public ServiceConsumer(Supplier<Service> lazySingleton, Supplier<Service> memoizedSingleton, Supplier<Service> lazyPrototype, Supplier<Service> memoizedPrototype) {
+		this.lazySingleton = lazySingleton;
+		this.memoizedSingleton = memoizedSingleton;
+		this.lazyPrototype = lazyPrototype;
+		this.memoizedPrototype = memoizedPrototype;
+	}
+}
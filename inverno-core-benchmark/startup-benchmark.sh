@@ -0,0 +1,148 @@
+#!/bin/bash
+
+# Measures the startup time of an application with and without an AppCDS archive.
+#
+# A module of chained singleton beans is generated and compiled with the Inverno compiler, a dynamic AppCDS archive is
+# created during a training run and the application is then launched several times without and with the archive. The
+# measured launches are training runs as well so that the virtual machine exits as soon as the module has started.
+#
+# The inverno-core-annotation, inverno-core-compiler and inverno-core JARs are taken from the target directories of
+# the project modules (mvn package) unless a directory containing them is specified in the INVERNO_LIB environment
+# variable. A JDK 13+ is required to create dynamic archives.
+
+set -e
+
+if (( $# > 2 ))
+	then
+		echo "Usage: startup-benchmark.sh [<BEANS> [<RUNS>]]"
+		exit 0
+elif (( $# > 0 )) && ! [[ "$1" =~ ^[1-9][0-9]*$ ]]
+	then
+		echo "Invalid number of beans: $1"
+		exit 1
+elif (( $# > 1 )) && ! [[ "$2" =~ ^[1-9][0-9]*$ ]]
+	then
+		echo "Invalid number of runs: $2"
+		exit 1
+fi
+
+BEANS=${1:-200}
+RUNS=${2:-10}
+
+BENCHMARK_DIR=$(cd "$(dirname "$0")" && pwd)
+WORK_DIR=$BENCHMARK_DIR/target/startup
+MODULE=io.inverno.core.benchmark.startup
+PACKAGE_DIR=$WORK_DIR/src/io/inverno/core/benchmark/startup
+
+find_jar() {
+	if [ -n "$INVERNO_LIB" ]
+		then
+			ls "$INVERNO_LIB"/$1-[0-9]*.jar 2>/dev/null | grep -v -e '-sources' -e '-javadoc' | head -n 1
+	else
+		ls "$BENCHMARK_DIR"/../$1/target/$1-[0-9]*.jar 2>/dev/null | grep -v -e '-sources' -e '-javadoc' | head -n 1
+	fi
+}
+
+ANNOTATION_JAR=$(find_jar inverno-core-annotation)
+COMPILER_JAR=$(find_jar inverno-core-compiler)
+CORE_JAR=$(find_jar inverno-core)
+
+if [ -z "$ANNOTATION_JAR" ] || [ -z "$COMPILER_JAR" ] || [ -z "$CORE_JAR" ]
+	then
+		echo "Inverno JARs not found, run mvn package or set INVERNO_LIB"
+		exit 1
+fi
+
+echo "===== Generating module: $BEANS beans ====="
+rm -rf "$WORK_DIR"
+mkdir -p "$PACKAGE_DIR" "$WORK_DIR/classes" "$WORK_DIR/lib"
+
+cat > "$WORK_DIR/src/module-info.java" <<EOF
+@io.inverno.core.annotation.Module
+module $MODULE {
+	requires io.inverno.core;
+	requires io.inverno.core.annotation;
+
+	exports $MODULE;
+}
+EOF
+
+cat > "$PACKAGE_DIR/Main.java" <<EOF
+package $MODULE;
+
+import io.inverno.core.v1.Application;
+
+public class Main {
+
+	public static void main(String[] args) {
+		Application.run(new Startup.Builder());
+	}
+}
+EOF
+
+for (( i = 0; i < BEANS; i++ ))
+	do
+		if (( i == 0 ))
+			then
+				CONSTRUCTOR="public Bean$i() {}"
+		else
+			CONSTRUCTOR="public Bean$i(Bean$((i - 1)) dependency) {}"
+		fi
+		cat > "$PACKAGE_DIR/Bean$i.java" <<EOF
+package $MODULE;
+
+import java.util.function.Supplier;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Init;
+
+@Bean
+public class Bean$i {
+
+	$CONSTRUCTOR
+
+	@Init
+	public void init() {
+		Supplier<String> name = () -> "bean$i";
+		name.get();
+	}
+}
+EOF
+done
+
+javac -nowarn --processor-module-path "$COMPILER_JAR:$ANNOTATION_JAR" --module-path "$CORE_JAR:$ANNOTATION_JAR" -d "$WORK_DIR/classes" $(find "$WORK_DIR/src" -name "*.java")
+jar --create --file "$WORK_DIR/lib/$MODULE.jar" -C "$WORK_DIR/classes" .
+cp "$ANNOTATION_JAR" "$CORE_JAR" "$WORK_DIR/lib"
+
+# The archive is only used when the module path is identical and only contains JARs
+JAVA_OPTS="-Dinverno.application.training_run=true --module-path $WORK_DIR/lib --module $MODULE/$MODULE.Main"
+
+echo "===== Training run ====="
+java -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" $JAVA_OPTS > "$WORK_DIR/training.log" 2>&1
+
+measure() {
+	local total_wall=0
+	local total_started=0
+	for (( run = 0; run < RUNS; run++ ))
+		do
+			local t0=$(date +%s%N)
+			local output=$(java "$@" $JAVA_OPTS 2>&1)
+			local t1=$(date +%s%N)
+			local started=$(echo "$output" | sed -n "s/.*Application $MODULE started in \([0-9]*\)ms.*/\1/p")
+			if [ -z "$started" ]
+				then
+					echo "$output"
+					exit 1
+			fi
+			total_wall=$(( total_wall + (t1 - t0) / 1000000 ))
+			total_started=$(( total_started + started ))
+	done
+	echo "process wall time: $(( total_wall / RUNS ))ms, application started in: $(( total_started / RUNS ))ms"
+}
+
+echo "===== No archive: mean of $RUNS runs ====="
+measure -Xshare:auto
+echo "===== AppCDS archive: mean of $RUNS runs ====="
+measure -XX:SharedArchiveFile="$WORK_DIR/app.jsa"
+
+exit 0
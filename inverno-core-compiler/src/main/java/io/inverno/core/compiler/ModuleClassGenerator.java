@@ -21,8 +21,13 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.WildcardType;
@@ -31,6 +36,7 @@ import io.inverno.core.annotation.Bean;
 import io.inverno.core.compiler.ModuleClassGenerationContext.GenerationMode;
 import io.inverno.core.compiler.spi.BeanInfo;
 import io.inverno.core.compiler.spi.ModuleBeanInfo;
+import io.inverno.core.compiler.spi.ModuleBeanEventSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanMultiSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSingleSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
@@ -42,10 +48,12 @@ import io.inverno.core.compiler.spi.MultiSocketType;
 import io.inverno.core.compiler.spi.NestedBeanInfo;
 import io.inverno.core.compiler.spi.OverridableBeanInfo;
 import io.inverno.core.compiler.spi.OverridingSocketBeanInfo;
+import io.inverno.core.compiler.spi.PooledBeanInfo;
 import io.inverno.core.compiler.spi.SingleSocketBeanInfo;
 import io.inverno.core.compiler.spi.SingleSocketInfo;
 import io.inverno.core.compiler.spi.SocketBeanInfo;
 import io.inverno.core.compiler.spi.SocketInfo;
+import io.inverno.core.compiler.spi.StripedBeanInfo;
 import io.inverno.core.compiler.spi.WrapperBeanInfo;
 
 /**
@@ -66,7 +74,9 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 	private static final String INVERNO_CORE_MODULE_BEAN_CLASS = INVERNO_CORE_PACKAGE + ".Module.Bean";
 	private static final String INVERNO_CORE_MODULE_WRAPPERBEANBUILDER_CLASS = INVERNO_CORE_PACKAGE + ".Module.WrapperBeanBuilder";
 	private static final String INVERNO_CORE_MODULE_MODULEBEANBUILDER_CLASS = INVERNO_CORE_PACKAGE + ".Module.ModuleBeanBuilder";
+	private static final String INVERNO_CORE_MODULE_POOLBEANBUILDER_CLASS = INVERNO_CORE_PACKAGE + ".Module.PoolBeanBuilder";
 	private static final String INVERNO_CORE_MODULE_BEANAGGREGATOR_CLASS = INVERNO_CORE_PACKAGE + ".Module.BeanAggregator";
+	private static final String INVERNO_CORE_MANAGEDEXECUTOR_CLASS = INVERNO_CORE_PACKAGE + ".ManagedExecutor";
 	private static final String INVERNO_CORE_MODULE_SOCKET_ANNOTATION = INVERNO_CORE_PACKAGE + ".Module.Socket";
 	
 	@Override
@@ -123,6 +133,7 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			context.removeImport("Bean");
 			context.removeImport("WrapperBeanBuilder");
 			context.removeImport("ModuleBeanBuilder");
+			context.removeImport("PoolBeanBuilder");
 			context.removeImport("BeanAggregator");
 			context.removeImport("Socket");
 			
@@ -229,34 +240,70 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			TypeMirror mapType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(Map.class.getCanonicalName()).asType());
 			TypeMirror optionalType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(Optional.class.getCanonicalName()).asType());
 			
-			StringBuilder linker_module_args = Arrays.stream(moduleInfo.getSockets())
+			List<SocketBeanInfo> linkerSockets = Arrays.stream(moduleInfo.getSockets())
 				.filter(socketInfo -> socketInfo.isWired())
-				.map(socketInfo -> {
-					StringBuilder result = new StringBuilder().append(context.indent(4));
-					if(socketInfo.isOptional()) {
-						result.append("(").append(context.getTypeName(optionalType) +"<").append(context.getTypeName(context.getSupplierSocketType(socketInfo.getSocketType()))).append(">)");
-					}
-					else {
-						result.append("(").append(context.getTypeName(context.getSupplierSocketType(socketInfo.getSocketType()))).append(")");
-					}
-					result.append("this.sockets.get(\"").append(socketInfo.getQualifiedName().normalize()).append("\")");
-
-					return result ;
-				})
+				.collect(Collectors.toList());
+			
+			Function<SocketBeanInfo, StringBuilder> linkerSocketType = socketInfo -> {
+				StringBuilder result = new StringBuilder();
+				if(socketInfo.isOptional()) {
+					result.append(context.getTypeName(optionalType) +"<").append(context.getTypeName(context.getSupplierSocketType(socketInfo.getSocketType()))).append(">");
+				}
+				else {
+					result.append(context.getTypeName(context.getSupplierSocketType(socketInfo.getSocketType())));
+				}
+				return result;
+			};
+			
+			StringBuilder linker_fields = linkerSockets.stream()
+				.map(socketInfo -> new StringBuilder().append(context.indent(2)).append("private final ").append(linkerSocketType.apply(socketInfo)).append(" ").append(socketInfo.getQualifiedName().normalize()).append(";"))
+				.collect(context.joining("\n"));
+			
+			StringBuilder linker_constructor_parameters = linkerSockets.stream()
+				.map(socketInfo -> new StringBuilder().append(linkerSocketType.apply(socketInfo)).append(" ").append(socketInfo.getQualifiedName().normalize()))
+				.collect(context.joining(", "));
+			
+			StringBuilder linker_constructor_assignments = linkerSockets.stream()
+				.map(socketInfo -> new StringBuilder().append(context.indent(3)).append("this.").append(socketInfo.getQualifiedName().normalize()).append(" = ").append(socketInfo.getQualifiedName().normalize()).append(";"))
+				.collect(context.joining("\n"));
+			
+			StringBuilder linker_map_constructor_assignments = linkerSockets.stream()
+				.map(socketInfo -> new StringBuilder().append(context.indent(3)).append("this.").append(socketInfo.getQualifiedName().normalize()).append(" = (").append(linkerSocketType.apply(socketInfo)).append(")sockets.get(\"").append(socketInfo.getQualifiedName().normalize()).append("\");"))
+				.collect(context.joining("\n"));
+			
+			StringBuilder linker_module_args = linkerSockets.stream()
+				.map(socketInfo -> new StringBuilder().append(context.indent(4)).append("this.").append(socketInfo.getQualifiedName().normalize()))
 				.collect(context.joining(",\n"));
 
 			StringBuilder linkerClass = new StringBuilder().append(context.indent(1)).append("public static final class Linker extends ").append(context.getTypeName(moduleLinkerType)).append("<").append(className).append("> {").append("\n\n");
 			
+			if(linker_fields.length() > 0) {
+				linkerClass.append(linker_fields).append("\n\n");
+			}
+			
+			linkerClass.append(context.indent(2)).append("public Linker(").append(linker_constructor_parameters).append(") {").append("\n");
+			linkerClass.append(context.indent(3)).append("super();\n");
+			if(linker_constructor_assignments.length() > 0) {
+				linkerClass.append(linker_constructor_assignments).append("\n");
+			}
+			linkerClass.append(context.indent(2)).append("}\n\n");
+			
+			if(linker_map_constructor_assignments.length() > 0) {
+				linkerClass.append(context.indent(2)).append("@SuppressWarnings(\"unchecked\")\n");
+			}
 			linkerClass.append(context.indent(2)).append("public Linker(").append(context.getTypeName(mapType)).append("<String, Object> sockets) {").append("\n");
 			linkerClass.append(context.indent(3)).append("super(sockets);\n");
+			if(linker_map_constructor_assignments.length() > 0) {
+				linkerClass.append(linker_map_constructor_assignments).append("\n");
+			}
 			linkerClass.append(context.indent(2)).append("}\n\n");
 
-			
-			linkerClass.append(context.indent(2)).append("@SuppressWarnings(\"unchecked\")\n");
 			linkerClass.append(context.indent(2)).append("protected ").append(className).append(" link() {\n");
-			linkerClass.append(context.indent(3)).append("return new ").append(className).append("(\n");
-			linkerClass.append(linker_module_args).append("\n");
-			linkerClass.append(context.indent(3)).append(");\n");
+			linkerClass.append(context.indent(3)).append("return new ").append(className).append("(");
+			if(linker_module_args.length() > 0) {
+				linkerClass.append("\n").append(linker_module_args).append("\n").append(context.indent(3));
+			}
+			linkerClass.append(");\n");
 			linkerClass.append(context.indent(2)).append("}\n");
 			
 			linkerClass.append(context.indent(1)).append("}");
@@ -264,27 +311,50 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			return linkerClass;
 		}
 		else if(context.getMode() == GenerationMode.COMPONENT_MODULE_NEW) {
-			TypeMirror componentModuleType = context.getElementUtils().getTypeElement(moduleInfo.getQualifiedName().getClassName()).asType();
+			TypeElement componentModuleElement = context.getElementUtils().getTypeElement(moduleInfo.getQualifiedName().getClassName());
+			TypeMirror componentModuleType = componentModuleElement.asType();
 			TypeMirror mapType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(Map.class.getCanonicalName()).asType());
-
-			StringBuilder component_module_arguments = Arrays.stream(moduleInfo.getSockets())
-				.filter(socketInfo -> socketInfo.isWired())
-				.map(socketInfo -> {
-					StringBuilder ret = new StringBuilder().append(context.indent(3)).append(context.getTypeName(mapType)).append(".entry(\"").append(socketInfo.getQualifiedName().normalize()).append("\", ");
-					ret.append(this.visit(socketInfo, context.withMode(GenerationMode.COMPONENT_MODULE_BEAN_REFERENCE).withIndentDepth(4)));
-					ret.append(")");
-					return ret;
-				})
-				.collect(context.joining(",\n"));
 			
+			// Component modules compiled with a previous version of the compiler only provide a Linker accepting a socket map
+			boolean typedLinker = componentModuleElement.getEnclosedElements().stream()
+				.filter(element -> element.getKind().equals(ElementKind.CLASS) && element.getSimpleName().contentEquals("Linker"))
+				.flatMap(element -> element.getEnclosedElements().stream())
+				.filter(element -> element.getKind().equals(ElementKind.CONSTRUCTOR))
+				.map(element -> ((ExecutableElement)element).getParameters())
+				.anyMatch(parameters -> parameters.size() != 1 || !context.getTypeUtils().isSameType(context.getTypeUtils().erasure(parameters.get(0).asType()), mapType));
+
 			StringBuilder moduleNew = new StringBuilder().append(context.indent(2)).append("this.").append(context.getFieldName(moduleInfo.getQualifiedName())/*moduleInfo.getQualifiedName().normalize()*/).append(" = this.with(new ").append(context.getTypeName(componentModuleType)).append(".Linker(");
-			if(component_module_arguments.length() > 0) {
-				moduleNew.append(context.getTypeName(mapType)).append(".ofEntries(\n");
-				moduleNew.append(component_module_arguments);
-				moduleNew.append("\n").append(context.indent(2)).append(")");
+			if(typedLinker) {
+				StringBuilder component_module_arguments = Arrays.stream(moduleInfo.getSockets())
+					.filter(socketInfo -> socketInfo.isWired())
+					.map(socketInfo -> new StringBuilder().append(context.indent(3)).append(this.visit(socketInfo, context.withMode(GenerationMode.COMPONENT_MODULE_BEAN_REFERENCE).withIndentDepth(3))))
+					.collect(context.joining(",\n"));
+				
+				if(component_module_arguments.length() > 0) {
+					moduleNew.append("\n");
+					moduleNew.append(component_module_arguments);
+					moduleNew.append("\n").append(context.indent(2));
+				}
 			}
 			else {
-				moduleNew.append(context.getTypeName(mapType)).append(".of()");
+				StringBuilder component_module_arguments = Arrays.stream(moduleInfo.getSockets())
+					.filter(socketInfo -> socketInfo.isWired())
+					.map(socketInfo -> {
+						StringBuilder ret = new StringBuilder().append(context.indent(3)).append(context.getTypeName(mapType)).append(".entry(\"").append(socketInfo.getQualifiedName().normalize()).append("\", ");
+						ret.append(this.visit(socketInfo, context.withMode(GenerationMode.COMPONENT_MODULE_BEAN_REFERENCE).withIndentDepth(4)));
+						ret.append(")");
+						return ret;
+					})
+					.collect(context.joining(",\n"));
+				
+				if(component_module_arguments.length() > 0) {
+					moduleNew.append(context.getTypeName(mapType)).append(".ofEntries(\n");
+					moduleNew.append(component_module_arguments);
+					moduleNew.append("\n").append(context.indent(2)).append(")");
+				}
+				else {
+					moduleNew.append(context.getTypeName(mapType)).append(".of()");
+				}
 			}
 			moduleNew.append("));");
 			
@@ -358,6 +428,10 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 					beanType = ((WrapperBeanInfo)moduleBeanInfo).getWrapperType();
 					beanBuilderType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(INVERNO_CORE_MODULE_WRAPPERBEANBUILDER_CLASS).asType());
 				}
+				else if(moduleBeanInfo instanceof PooledBeanInfo) {
+					beanType = ((PooledBeanInfo)moduleBeanInfo).getPooledType();
+					beanBuilderType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(INVERNO_CORE_MODULE_POOLBEANBUILDER_CLASS).asType());
+				}
 				else {
 					beanType = moduleBeanInfo.getType();
 					beanBuilderType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(INVERNO_CORE_MODULE_MODULEBEANBUILDER_CLASS).asType());
@@ -371,6 +445,15 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 				else if(moduleBeanInfo.getStrategy().equals(Bean.Strategy.PROTOTYPE)) {
 					beanNew.append(context.indent(3)).append(".prototype(\"").append(moduleBeanInfo.getQualifiedName().getSimpleValue()).append("\", () -> {\n");
 				}
+				else if(moduleBeanInfo.getStrategy().equals(Bean.Strategy.POOLED)) {
+					beanNew.append(context.indent(3)).append(".pooled(\"").append(moduleBeanInfo.getQualifiedName().getSimpleValue()).append("\", () -> {\n");
+				}
+				else if(moduleBeanInfo.getStrategy().equals(Bean.Strategy.THREAD)) {
+					beanNew.append(context.indent(3)).append(".thread(\"").append(moduleBeanInfo.getQualifiedName().getSimpleValue()).append("\", () -> {\n");
+				}
+				else if(moduleBeanInfo.getStrategy().equals(Bean.Strategy.STRIPED)) {
+					beanNew.append(context.indent(3)).append(".striped(\"").append(moduleBeanInfo.getQualifiedName().getSimpleValue()).append("\", ").append(((StripedBeanInfo)moduleBeanInfo).getStripes()).append(", () -> {\n");
+				}
 				else {
 					throw new IllegalArgumentException("Unkown bean strategy: " + moduleBeanInfo.getStrategy());
 				}
@@ -388,7 +471,7 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 								return orderedDependencyNames.indexOf(s1.getQualifiedName().getSimpleValue()) - orderedDependencyNames.indexOf(s2.getQualifiedName().getSimpleValue());
 							}
 						})
-						.map(socketInfo -> new StringBuilder().append(context.indent(5)).append((socketInfo.isLazy() ? "() -> " : "")).append(this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(5))))
+						.map(socketInfo -> new StringBuilder().append(context.indent(5)).append(this.generateSocketValue(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(5))))
 						.collect(context.joining(", \n")));
 					beanNew.append("\n").append(context.indent(4)).append(");\n");
 				}
@@ -398,15 +481,16 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 				// TODO: optionalSocket.ifPresent(bean::setXxx)
 				beanNew.append(Arrays.stream(moduleBeanInfo.getOptionalSockets())
 					.filter(socketInfo -> socketInfo.isResolved())
-					.map(socketInfo -> new StringBuilder().append(context.indent(4)).append(variable).append(".").append(socketInfo.getSocketElement().get().getSimpleName().toString()).append("(").append((socketInfo.isLazy() ? "() -> " : "")).append(this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(4))).append(");"))
+					.map(socketInfo -> new StringBuilder().append(context.indent(4)).append(variable).append(".").append(socketInfo.getSocketElement().get().getSimpleName().toString()).append("(").append(this.generateSocketValue(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(4))).append(");"))
 					.collect(context.joining("\n"))).append("\n");
 	
 				beanNew.append(context.indent(4)).append("return ").append(variable).append(";\n");
 				beanNew.append(context.indent(3)).append("})\n");
 	
 				if(moduleBeanInfo.getInitElements().length > 0) {
+					TypeMirror completionStageType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(CompletionStage.class.getCanonicalName()).asType());
 					beanNew.append(Arrays.stream(moduleBeanInfo.getInitElements())
-						.map(element -> new StringBuilder().append(context.indent(3)).append(".init(").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()).append(")"))
+						.map(element -> new StringBuilder().append(context.indent(3)).append(context.getTypeUtils().isAssignable(element.getReturnType(), completionStageType) ? ".asyncInit(" : ".init(").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()).append(")"))
 						.collect(context.joining("\n"))).append("\n");
 				}
 					
@@ -414,7 +498,33 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 					beanNew.append(Arrays.stream(moduleBeanInfo.getDestroyElements())
 						.map(element -> new StringBuilder().append(context.indent(3)).append(".destroy(").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()).append(")"))
 						.collect(context.joining("\n"))).append("\n");
+					
+					if(moduleBeanInfo instanceof WrapperBeanInfo && ((WrapperBeanInfo)moduleBeanInfo).isDestroyOnReclaim()) {
+						beanNew.append(context.indent(3)).append(".destroyOnReclaim()\n");
+					}
 				}	
+				
+				// A managed executor is shut down gracefully once the destroy methods have been invoked
+				TypeElement managedExecutorElement = context.getElementUtils().getTypeElement(INVERNO_CORE_MANAGEDEXECUTOR_CLASS);
+				if(moduleBeanInfo instanceof WrapperBeanInfo) {
+					if(managedExecutorElement != null && context.getTypeUtils().isAssignable(moduleBeanInfo.getType(), managedExecutorElement.asType())) {
+						beanNew.append(context.indent(3)).append(".destroy(wrapper -> wrapper.get().shutdownGracefully())\n");
+					}
+				}
+				else if(managedExecutorElement != null && context.getTypeUtils().isAssignable(beanType, managedExecutorElement.asType())) {
+					beanNew.append(context.indent(3)).append(".destroy(").append(context.getTypeName(beanType)).append("::shutdownGracefully)\n");
+				}
+				
+				if(moduleBeanInfo.isLazy()) {
+					beanNew.append(context.indent(3)).append(".lazy()\n");
+				}
+				
+				if(moduleBeanInfo instanceof PooledBeanInfo) {
+					PooledBeanInfo pooledBeanInfo = (PooledBeanInfo)moduleBeanInfo;
+					beanNew.append(context.indent(3)).append(".maxSize(").append(pooledBeanInfo.getMaxSize()).append(")\n");
+					beanNew.append(context.indent(3)).append(".maxIdleTime(").append(pooledBeanInfo.getMaxIdleTime()).append("L)\n");
+					beanNew.append(context.indent(3)).append(".timeout(").append(pooledBeanInfo.getTimeout()).append("L)\n");
+				}
 	
 				beanNew.append(context.indent(2)).append(");");
 				
@@ -433,6 +543,39 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 		return new StringBuilder();
 	}
 
+	private StringBuilder generateSocketValue(ModuleBeanSocketInfo socketInfo, ModuleClassGenerationContext context) {
+		if(socketInfo instanceof ModuleBeanEventSocketInfo) {
+			return this.generateEventPublisher((ModuleBeanEventSocketInfo)socketInfo, context);
+		}
+		if(!socketInfo.isLazy()) {
+			return this.visit(socketInfo, context);
+		}
+		if(socketInfo.isMemoized() && socketInfo instanceof SingleSocketInfo && ((SingleSocketInfo)socketInfo).isResolved()) {
+			BeanInfo beanInfo = ((SingleSocketInfo)socketInfo).getBean();
+			// The strategy of beans in component modules is unknown, their singletons are not memoized
+			if(beanInfo instanceof ModuleBeanInfo && beanInfo.getQualifiedName().getModuleQName().equals(context.getModule())) {
+				return new StringBuilder().append("this.memoize(this.").append(context.getFieldName(beanInfo.getQualifiedName())).append(")");
+			}
+		}
+		return new StringBuilder().append("() -> ").append(this.visit(socketInfo, context));
+	}
+	
+	private StringBuilder generateEventPublisher(ModuleBeanEventSocketInfo eventSocketInfo, ModuleClassGenerationContext context) {
+		// Listeners are resolved here, publishing an event invokes them directly
+		StringBuilder eventPublisher = new StringBuilder().append("this.<").append(context.getTypeName(eventSocketInfo.getEventType())).append(">eventPublisher(");
+		if(eventSocketInfo.getListeners().length > 0) {
+			eventPublisher.append("\n");
+			eventPublisher.append(Arrays.stream(eventSocketInfo.getListeners())
+				.map(listenerInfo -> {
+					String beanTypeName = context.getTypeName(listenerInfo.getBean().getType());
+					return new StringBuilder().append(context.indent(1)).append("this.<").append(beanTypeName).append(", ").append(context.getTypeName(listenerInfo.getEventType())).append(">eventListener(this.").append(context.getFieldName(listenerInfo.getBean().getQualifiedName())).append(", ").append(beanTypeName).append("::").append(listenerInfo.getListenerElement().getSimpleName().toString()).append(")");
+				})
+				.collect(context.joining(", \n")));
+			eventPublisher.append("\n").append(context.indent(0));
+		}
+		return eventPublisher.append(")");
+	}
+	
 	@Override
 	public StringBuilder visit(WrapperBeanInfo moduleWrapperBeanInfo, ModuleClassGenerationContext context) {
 		return this.visit((ModuleBeanInfo)moduleWrapperBeanInfo, context);
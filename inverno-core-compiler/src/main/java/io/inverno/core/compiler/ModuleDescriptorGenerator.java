@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 
 import io.inverno.core.compiler.spi.BeanInfo;
 import io.inverno.core.compiler.spi.ModuleBeanInfo;
+import io.inverno.core.compiler.spi.ModuleBeanEventSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanMultiSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSingleSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
@@ -128,6 +129,9 @@ class ModuleDescriptorGenerator implements ModuleInfoVisitor<String, String> {
 			result.append(pad).append("  ").append("providedType: ").append(moduleBeanInfo.getProvidedType().toString()).append("\n");
 		}
 		result.append(pad).append("  ").append("strategy: ").append(moduleBeanInfo.getStrategy().toString()).append("\n");
+		if(moduleBeanInfo.isLazy()) {
+			result.append(pad).append("  ").append("lazy: true").append("\n");
+		}
 		if(moduleBeanInfo instanceof WrapperBeanInfo) {
 			result.append(pad).append("  ").append("wrapperType: ").append(((WrapperBeanInfo)moduleBeanInfo).getWrapperType().toString()).append("\n");
 		}
@@ -143,6 +147,10 @@ class ModuleDescriptorGenerator implements ModuleInfoVisitor<String, String> {
 		if(moduleBeanInfo.getDestroyElements().length > 0) {
 			result.append(Arrays.stream(moduleBeanInfo.getDestroyElements()).map(destroy -> pad +  "  " +  this.indent +  "- " + destroy.toString()).collect(Collectors.joining("\n"))).append("\n");
 		}
+		if(moduleBeanInfo.getEventListeners().length > 0) {
+			result.append(pad).append("  ").append("eventListeners:").append("\n");
+			result.append(Arrays.stream(moduleBeanInfo.getEventListeners()).map(listener -> pad +  "  " +  this.indent +  "- " + listener.getListenerElement().toString()).collect(Collectors.joining("\n"))).append("\n");
+		}
 		result.append(pad).append("  ").append("sockets:").append("\n");
 		if(moduleBeanInfo.getSockets().length > 0) {
 			result.append(Arrays.stream(moduleBeanInfo.getSockets()).map(socket -> this.visit(socket, pad + "  " + this.indent)).collect(Collectors.joining("\n"))).append("\n");
@@ -173,6 +181,9 @@ class ModuleDescriptorGenerator implements ModuleInfoVisitor<String, String> {
 	@Override
 	public String visit(ModuleBeanSocketInfo beanSocketInfo, String pad) {
 		StringBuilder result = new StringBuilder();
+		if(beanSocketInfo instanceof ModuleBeanEventSocketInfo) {
+			return this.visitEventSocket((ModuleBeanEventSocketInfo)beanSocketInfo, pad);
+		}
 		if(beanSocketInfo instanceof ModuleBeanSingleSocketInfo) {
 			result.append(this.visit((ModuleBeanSingleSocketInfo)beanSocketInfo, pad));
 		}
@@ -180,6 +191,27 @@ class ModuleDescriptorGenerator implements ModuleInfoVisitor<String, String> {
 			result.append(this.visit((ModuleBeanMultiSocketInfo)beanSocketInfo, pad));
 		}
 		result.append("\n").append(pad).append("  ").append("lazy: ").append(beanSocketInfo.isLazy());
+		if(beanSocketInfo.isLazy()) {
+			result.append("\n").append(pad).append("  ").append("memoized: ").append(beanSocketInfo.isMemoized());
+		}
+		return result.toString();
+	}
+
+	private String visitEventSocket(ModuleBeanEventSocketInfo eventSocketInfo, String pad) {
+		StringBuilder result = new StringBuilder();
+		
+		result.append(pad).append("- ").append("name: ").append(eventSocketInfo.getQualifiedName().getSimpleValue()).append("\n");
+		result.append(pad).append("  ").append("eventType: ").append(eventSocketInfo.getEventType().toString()).append("\n");
+		result.append(pad).append("  ").append("optional: ").append(eventSocketInfo.isOptional()).append("\n");
+		result.append(pad).append("  ").append("socket: ");
+		if(eventSocketInfo.getSocketElement().isPresent()) {
+			result.append(eventSocketInfo.getSocketElement().get().toString());
+		}
+		result.append("\n").append(pad).append("  ").append("listeners:");
+		if(eventSocketInfo.getListeners().length > 0) {
+			result.append("\n");
+			result.append(Arrays.stream(eventSocketInfo.getListeners()).map(listener -> pad + "  " + this.indent + "- " + listener.getQualifiedName().toString() + "#" + listener.getListenerElement().toString()).collect(Collectors.joining("\n")));
+		}
 		return result.toString();
 	}
 
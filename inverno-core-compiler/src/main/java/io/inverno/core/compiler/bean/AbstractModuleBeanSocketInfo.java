@@ -44,6 +44,8 @@ abstract class AbstractModuleBeanSocketInfo extends AbstractInfo<BeanSocketQuali
 	protected boolean optional;
 	
 	protected boolean lazy;
+	
+	protected boolean memoized;
 
 	public AbstractModuleBeanSocketInfo(ProcessingEnvironment processingEnvironment, 
 			Element element, 
@@ -86,4 +88,13 @@ abstract class AbstractModuleBeanSocketInfo extends AbstractInfo<BeanSocketQuali
 	public boolean isLazy() {
 		return this.lazy;
 	}
+	
+	void setMemoized(boolean memoized) {
+		this.memoized = memoized;
+	}
+	
+	@Override
+	public boolean isMemoized() {
+		return this.memoized;
+	}
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.bean;
+
+import java.util.Arrays;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+import io.inverno.core.compiler.common.MutableMultiSocketInfo;
+import io.inverno.core.compiler.spi.BeanInfo;
+import io.inverno.core.compiler.spi.BeanSocketQualifiedName;
+import io.inverno.core.compiler.spi.EventListenerInfo;
+import io.inverno.core.compiler.spi.ModuleBeanEventSocketInfo;
+import io.inverno.core.compiler.spi.MultiSocketType;
+
+/**
+ * <p>
+ * Represents an event publisher socket.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ */
+class CommonModuleBeanEventSocketInfo extends AbstractModuleBeanSocketInfo implements ModuleBeanEventSocketInfo, MutableMultiSocketInfo {
+
+	private TypeMirror eventType;
+	
+	private EventListenerInfo[] listenerInfos;
+	
+	public CommonModuleBeanEventSocketInfo(ProcessingEnvironment processingEnvironment, 
+			Element element, 
+			BeanSocketQualifiedName qname, 
+			TypeMirror listenerType, 
+			TypeMirror eventType, 
+			ExecutableElement socketElement,
+			boolean optional) {
+		super(processingEnvironment, element, qname, listenerType, socketElement, null, optional, false);
+		this.eventType = eventType;
+		this.listenerInfos = new EventListenerInfo[0];
+	}
+	
+	@Override
+	public TypeMirror getEventType() {
+		return this.eventType;
+	}
+	
+	@Override
+	public boolean isResolved() {
+		// A publisher without listeners is injected when no listener was found
+		return true;
+	}
+	
+	@Override
+	public void setBeans(BeanInfo[] beanInfos) {
+		this.listenerInfos = beanInfos != null ? Arrays.stream(beanInfos).map(beanInfo -> (EventListenerInfo)beanInfo).toArray(EventListenerInfo[]::new) : new EventListenerInfo[0];
+	}
+
+	@Override
+	public BeanInfo[] getBeans() {
+		return this.listenerInfos;
+	}
+	
+	@Override
+	public EventListenerInfo[] getListeners() {
+		return this.listenerInfos;
+	}
+
+	@Override
+	public MultiSocketType getMultiType() {
+		// Listeners are invoked from an array
+		return MultiSocketType.ARRAY;
+	}
+}
@@ -27,6 +27,7 @@ import javax.lang.model.type.TypeMirror;
 import io.inverno.core.annotation.Bean;
 import io.inverno.core.compiler.common.AbstractBeanInfo;
 import io.inverno.core.compiler.spi.BeanQualifiedName;
+import io.inverno.core.compiler.spi.EventListenerInfo;
 import io.inverno.core.compiler.spi.ModuleBeanInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
 import io.inverno.core.compiler.spi.NestedBeanInfo;
@@ -45,9 +46,13 @@ class CommonModuleBeanInfo extends AbstractBeanInfo implements ModuleBeanInfo {
 	
 	private Bean.Strategy strategy;
 	
+	private boolean lazy;
+	
 	private List<ExecutableElement> initElements;
 	
 	private List<ExecutableElement> destroyElements;
+	
+	private List<? extends EventListenerInfo> eventListenerInfos;
 
 	private List<? extends NestedBeanInfo> nestedBeanInfos;
 	
@@ -83,6 +88,7 @@ class CommonModuleBeanInfo extends AbstractBeanInfo implements ModuleBeanInfo {
 		this.strategy = strategy != null ? strategy : Bean.Strategy.SINGLETON;
 		this.initElements = initElements != null ? Collections.unmodifiableList(initElements) : Collections.emptyList();
 		this.destroyElements = destroyElements != null ? Collections.unmodifiableList(destroyElements) : Collections.emptyList();
+		this.eventListenerInfos = Collections.emptyList();
 		this.nestedBeanInfos = Collections.emptyList();
 		this.socketInfos = beanSocketInfos != null ? Collections.unmodifiableList(beanSocketInfos) : Collections.emptyList();
 	}
@@ -97,6 +103,22 @@ class CommonModuleBeanInfo extends AbstractBeanInfo implements ModuleBeanInfo {
 		return this.strategy;
 	}
 
+	/**
+	 * <p>
+	 * Sets whether the bean is instantiated on first request.
+	 * </p>
+	 * 
+	 * @param lazy true to instantiate the bean on first request, false otherwise
+	 */
+	void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+	
+	@Override
+	public boolean isLazy() {
+		return this.lazy;
+	}
+
 	@Override
 	public Bean.Visibility getVisibility() {
 		return this.visibility;
@@ -112,6 +134,15 @@ class CommonModuleBeanInfo extends AbstractBeanInfo implements ModuleBeanInfo {
 		return this.destroyElements.stream().toArray(ExecutableElement[]::new);
 	}
 
+	void setEventListeners(List<? extends EventListenerInfo> eventListenerInfos) {
+		this.eventListenerInfos = eventListenerInfos != null ? Collections.unmodifiableList(eventListenerInfos) : Collections.emptyList();
+	}
+	
+	@Override
+	public EventListenerInfo[] getEventListeners() {
+		return this.eventListenerInfos.stream().toArray(EventListenerInfo[]::new);
+	}
+
 	@Override
 	public ModuleBeanSocketInfo[] getSockets() {
 		return this.socketInfos.stream().toArray(ModuleBeanSocketInfo[]::new);
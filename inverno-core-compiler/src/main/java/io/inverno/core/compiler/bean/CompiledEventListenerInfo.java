@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.bean;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+import io.inverno.core.compiler.common.AbstractBeanInfo;
+import io.inverno.core.compiler.spi.EventListenerInfo;
+import io.inverno.core.compiler.spi.ModuleBeanInfo;
+import io.inverno.core.compiler.spi.NestedBeanInfo;
+
+/**
+ * <p>
+ * Represents an event listener method defined on a compiled bean.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ */
+class CompiledEventListenerInfo extends AbstractBeanInfo implements EventListenerInfo {
+
+	private ModuleBeanInfo beanInfo;
+	
+	private ExecutableElement listenerElement;
+	
+	private TypeMirror eventType;
+	
+	public CompiledEventListenerInfo(ProcessingEnvironment processingEnvironment, ModuleBeanInfo beanInfo, ExecutableElement listenerElement, TypeMirror listenerType, TypeMirror eventType) {
+		super(processingEnvironment, listenerElement, beanInfo.getQualifiedName(), listenerType);
+		this.beanInfo = beanInfo;
+		this.listenerElement = listenerElement;
+		this.eventType = eventType;
+	}
+
+	@Override
+	public ModuleBeanInfo getBean() {
+		return this.beanInfo;
+	}
+
+	@Override
+	public ExecutableElement getListenerElement() {
+		return this.listenerElement;
+	}
+
+	@Override
+	public TypeMirror getEventType() {
+		return this.eventType;
+	}
+
+	@Override
+	public NestedBeanInfo[] getNestedBeans() {
+		return new NestedBeanInfo[0];
+	}
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -36,15 +37,19 @@ import javax.lang.model.element.ModuleElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic.Kind;
 
 import io.inverno.core.annotation.Bean;
 import io.inverno.core.annotation.BeanSocket;
 import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.EventListener;
 import io.inverno.core.annotation.Init;
 import io.inverno.core.annotation.Overridable;
+import io.inverno.core.annotation.Pooled;
 import io.inverno.core.annotation.Provide;
+import io.inverno.core.annotation.Striped;
 import io.inverno.core.annotation.Wrapper;
 import io.inverno.core.compiler.InvernoCompiler;
 import io.inverno.core.compiler.TypeErrorException;
@@ -67,10 +72,16 @@ import io.inverno.core.compiler.spi.ReporterInfo;
  */
 class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 
+	private static final String POOL_CLASS = "io.inverno.core.v1.Pool";
+	
+	private static final String EVENT_LISTENER_CLASS = "io.inverno.core.v1.EventPublisher.Listener";
+
 	private TypeMirror beanAnnotationType;
 	private TypeMirror provideAnnotationType;
 	private TypeMirror wrapperAnnotationType;
 	private TypeMirror overridableAnnotationType;
+	private TypeMirror pooledAnnotationType;
+	private TypeMirror stripedAnnotationType;
 	private TypeMirror supplierType;
 	
 	private NestedBeanInfoFactory nestedBeanFactory;
@@ -86,6 +97,8 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 		this.provideAnnotationType = this.processingEnvironment.getElementUtils().getTypeElement(Provide.class.getCanonicalName()).asType();
 		this.wrapperAnnotationType = this.processingEnvironment.getElementUtils().getTypeElement(Wrapper.class.getCanonicalName()).asType();
 		this.overridableAnnotationType = this.processingEnvironment.getElementUtils().getTypeElement(Overridable.class.getCanonicalName()).asType();
+		this.pooledAnnotationType = this.processingEnvironment.getElementUtils().getTypeElement(Pooled.class.getCanonicalName()).asType();
+		this.stripedAnnotationType = this.processingEnvironment.getElementUtils().getTypeElement(Striped.class.getCanonicalName()).asType();
 		this.supplierType = this.processingEnvironment.getTypeUtils().erasure(this.processingEnvironment.getElementUtils().getTypeElement(Supplier.class.getCanonicalName()).asType());
 		
 		this.nestedBeanFactory = new NestedBeanInfoFactory(this.processingEnvironment);
@@ -127,6 +140,7 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 		String name = null;
 		Bean.Visibility visibility = null;
 		Bean.Strategy strategy = null;
+		boolean lazy = false;
 		for(Entry<? extends ExecutableElement, ? extends AnnotationValue> value : this.processingEnvironment.getElementUtils().getElementValuesWithDefaults(beanAnnotation.get()).entrySet()) {
 			switch(value.getKey().getSimpleName().toString()) {
 				case "name" : name = (String)value.getValue().getValue();
@@ -135,6 +149,8 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 					break;
 				case "strategy" : strategy = Bean.Strategy.valueOf(value.getValue().getValue().toString());
 					break;
+				case "lazy" : lazy = (boolean)value.getValue().getValue();
+					break;
 			}
 		}
 		
@@ -182,6 +198,7 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 		}
 		
 		// Get Init
+		TypeMirror completionStageType = this.processingEnvironment.getTypeUtils().erasure(this.processingEnvironment.getElementUtils().getTypeElement(CompletionStage.class.getCanonicalName()).asType());
 		List<ExecutableElement> initElements = typeElement.getEnclosedElements().stream()
 			.filter(e -> e.getAnnotation(Init.class) != null)
 			.map(e -> (ExecutableElement)e)
@@ -190,6 +207,9 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 					this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Invalid " + Init.class.getSimpleName() + " method which should be a no-argument method, it will be ignored", e);
 					return false;
 				}
+				if(e.getReturnType().getKind() != TypeKind.VOID && !this.processingEnvironment.getTypeUtils().isAssignable(e.getReturnType(), completionStageType)) {
+					this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Invalid " + Init.class.getSimpleName() + " method which should return void or a " + CompletionStage.class.getSimpleName() + ", its result will be ignored", e);
+				}
 				return true;
 			}).collect(Collectors.toList());
 		
@@ -205,6 +225,18 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 				return true;
 			}).collect(Collectors.toList());
 		
+		// Get EventListener
+		List<ExecutableElement> eventListenerElements = typeElement.getEnclosedElements().stream()
+			.filter(e -> e.getAnnotation(EventListener.class) != null)
+			.map(e -> (ExecutableElement)e)
+			.filter(e -> {
+				if(!e.getModifiers().contains(Modifier.PUBLIC) || e.getModifiers().contains(Modifier.STATIC) || e.getParameters().size() != 1 || !e.getTypeParameters().isEmpty() || e.getParameters().get(0).asType().getKind().isPrimitive()) {
+					this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Invalid " + EventListener.class.getSimpleName() + " method which should be a public single-argument method accepting an event object, it will be ignored", e);
+					return false;
+				}
+				return true;
+			}).collect(Collectors.toList());
+		
 		// Get sockets...
 		List<ModuleBeanSocketInfo> beanSocketInfos = new ArrayList<>();
 		Map<String, ModuleBeanSocketInfo> requiredSocketByName = new HashMap<>();
@@ -331,7 +363,74 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 				beanReporter.error("A wrapper bean element must extend " + Supplier.class.getCanonicalName());
 			}
 			
-			moduleBeanInfo = new CompiledWrapperBeanInfo(this.processingEnvironment, typeElement, beanAnnotation.get(), beanQName, wrapperType, beanType, providedType, visibility, strategy, initElements, destroyElements, beanSocketInfos);
+			boolean destroyOnReclaim = false;
+			for(Entry<? extends ExecutableElement, ? extends AnnotationValue> value : this.processingEnvironment.getElementUtils().getElementValuesWithDefaults(wrapperAnnotation.get()).entrySet()) {
+				switch(value.getKey().getSimpleName().toString()) {
+					case "destroyOnReclaim" : destroyOnReclaim = (boolean)value.getValue().getValue();
+						break;
+				}
+			}
+			if(destroyOnReclaim && !Bean.Strategy.PROTOTYPE.equals(strategy)) {
+				this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Destroy on reclaim is only supported for prototype beans, it will be ignored", typeElement, wrapperAnnotation.get());
+				destroyOnReclaim = false;
+			}
+			
+			CompiledWrapperBeanInfo wrapperBeanInfo = new CompiledWrapperBeanInfo(this.processingEnvironment, typeElement, beanAnnotation.get(), beanQName, wrapperType, beanType, providedType, visibility, strategy, initElements, destroyElements, beanSocketInfos);
+			wrapperBeanInfo.setDestroyOnReclaim(destroyOnReclaim);
+			moduleBeanInfo = wrapperBeanInfo;
+			
+			if(Bean.Strategy.POOLED.equals(strategy)) {
+				beanReporter.error("A wrapper bean can't be pooled");
+			}
+			else if(Bean.Strategy.THREAD.equals(strategy) || Bean.Strategy.STRIPED.equals(strategy)) {
+				beanReporter.error("A wrapper bean can't be a thread or a striped bean");
+			}
+		}
+		else if(Bean.Strategy.POOLED.equals(strategy)) {
+			if(providedType != null) {
+				beanReporter.error("A pooled bean can't provide a type");
+			}
+			TypeElement poolElement = this.processingEnvironment.getElementUtils().getTypeElement(POOL_CLASS);
+			if(poolElement == null) {
+				beanReporter.error("Pooled bean requires " + POOL_CLASS + " which could not be resolved");
+				throw new BeanCompilationException();
+			}
+			
+			int maxSize = 8;
+			long maxIdleTime = 60000;
+			long timeout = -1;
+			Optional<? extends AnnotationMirror> pooledAnnotation = typeElement.getAnnotationMirrors().stream().filter(a -> this.processingEnvironment.getTypeUtils().isSameType(a.getAnnotationType(), this.pooledAnnotationType)).findFirst();
+			if(pooledAnnotation.isPresent()) {
+				for(Entry<? extends ExecutableElement, ? extends AnnotationValue> value : this.processingEnvironment.getElementUtils().getElementValuesWithDefaults(pooledAnnotation.get()).entrySet()) {
+					switch(value.getKey().getSimpleName().toString()) {
+						case "maxSize" : maxSize = (int)value.getValue().getValue();
+							break;
+						case "maxIdleTime" : maxIdleTime = (long)value.getValue().getValue();
+							break;
+						case "timeout" : timeout = (long)value.getValue().getValue();
+							break;
+					}
+				}
+				if(maxSize <= 0) {
+					this.processingEnvironment.getMessager().printMessage(Kind.ERROR, "Pool maximum size must be positive", typeElement, pooledAnnotation.get());
+				}
+			}
+			
+			TypeMirror poolType = this.processingEnvironment.getTypeUtils().getDeclaredType(poolElement, beanType);
+			moduleBeanInfo = new CompiledPooledBeanInfo(this.processingEnvironment, typeElement, beanAnnotation.get(), beanQName, poolType, beanType, visibility, maxSize, maxIdleTime, timeout, initElements, destroyElements, beanSocketInfos);
+		}
+		else if(Bean.Strategy.STRIPED.equals(strategy)) {
+			int stripes = 0;
+			Optional<? extends AnnotationMirror> stripedAnnotation = typeElement.getAnnotationMirrors().stream().filter(a -> this.processingEnvironment.getTypeUtils().isSameType(a.getAnnotationType(), this.stripedAnnotationType)).findFirst();
+			if(stripedAnnotation.isPresent()) {
+				for(Entry<? extends ExecutableElement, ? extends AnnotationValue> value : this.processingEnvironment.getElementUtils().getElementValuesWithDefaults(stripedAnnotation.get()).entrySet()) {
+					switch(value.getKey().getSimpleName().toString()) {
+						case "stripes" : stripes = (int)value.getValue().getValue();
+							break;
+					}
+				}
+			}
+			moduleBeanInfo = new CompiledStripedBeanInfo(this.processingEnvironment, typeElement, beanAnnotation.get(), beanQName, beanType, providedType, visibility, stripes, initElements, destroyElements, beanSocketInfos);
 		}
 		else {
 			moduleBeanInfo = new CommonModuleBeanInfo(this.processingEnvironment, typeElement, beanAnnotation.get(), beanQName, beanType, providedType, visibility, strategy, initElements, destroyElements, beanSocketInfos);
@@ -342,6 +441,37 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 			throw new BeanCompilationException();
 		}
 		
+		if(!Bean.Strategy.POOLED.equals(strategy) && typeElement.getAnnotationMirrors().stream().anyMatch(a -> this.processingEnvironment.getTypeUtils().isSameType(a.getAnnotationType(), this.pooledAnnotationType))) {
+			this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, Pooled.class.getSimpleName() + " is only supported for pooled beans, it will be ignored", typeElement);
+		}
+		
+		if(!Bean.Strategy.STRIPED.equals(strategy) && typeElement.getAnnotationMirrors().stream().anyMatch(a -> this.processingEnvironment.getTypeUtils().isSameType(a.getAnnotationType(), this.stripedAnnotationType))) {
+			this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, Striped.class.getSimpleName() + " is only supported for striped beans, it will be ignored", typeElement);
+		}
+		
+		if(lazy) {
+			if(strategy == null || Bean.Strategy.SINGLETON.equals(strategy)) {
+				moduleBeanInfo.setLazy(true);
+			}
+			else {
+				this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Lazy is only supported for singleton beans, it will be ignored", typeElement, beanAnnotation.get());
+			}
+		}
+		
+		if(!eventListenerElements.isEmpty() && (wrapperAnnotation.isPresent() || (strategy != null && !Bean.Strategy.SINGLETON.equals(strategy)))) {
+			eventListenerElements.forEach(e -> this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, EventListener.class.getSimpleName() + " is only supported for singleton beans which are not wrapper beans, it will be ignored", e));
+			eventListenerElements.clear();
+		}
+		
+		TypeElement eventListenerElement = null;
+		if(!eventListenerElements.isEmpty()) {
+			eventListenerElement = this.processingEnvironment.getElementUtils().getTypeElement(EVENT_LISTENER_CLASS);
+			if(eventListenerElement == null) {
+				beanReporter.error("Event listeners require " + EVENT_LISTENER_CLASS + " which could not be resolved");
+				throw new BeanCompilationException();
+			}
+		}
+		
 		ModuleBeanInfo resultModuleBeanInfo = moduleBeanInfo;
 		
 		Optional<? extends AnnotationMirror> overridableAnnotation = this.processingEnvironment.getElementUtils().getAllAnnotationMirrors(typeElement).stream().filter(a -> this.processingEnvironment.getTypeUtils().isSameType(a.getAnnotationType(), this.overridableAnnotationType)).findFirst();
@@ -350,6 +480,17 @@ class CompiledModuleBeanInfoFactory extends ModuleBeanInfoFactory {
 			resultModuleBeanInfo = new CompiledOverridableBeanInfo(moduleBeanInfo, socketInfo);
 		}
 		
+		// Get Event listeners
+		final TypeElement listenerElement = eventListenerElement;
+		final ModuleBeanInfo listeningBeanInfo = resultModuleBeanInfo;
+		moduleBeanInfo.setEventListeners(eventListenerElements.stream()
+			.map(e -> {
+				TypeMirror eventType = e.getParameters().get(0).asType();
+				return new CompiledEventListenerInfo(this.processingEnvironment, listeningBeanInfo, e, this.processingEnvironment.getTypeUtils().getDeclaredType(listenerElement, eventType), eventType);
+			})
+			.collect(Collectors.toList())
+		);
+		
 		// Get Nested Beans
 		moduleBeanInfo.setNestedBeanInfos(this.nestedBeanFactory.create(resultModuleBeanInfo));
 		
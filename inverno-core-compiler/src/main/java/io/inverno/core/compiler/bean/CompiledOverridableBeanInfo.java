@@ -21,6 +21,7 @@ import javax.lang.model.type.TypeMirror;
 import io.inverno.core.annotation.Bean.Strategy;
 import io.inverno.core.annotation.Bean.Visibility;
 import io.inverno.core.compiler.spi.BeanQualifiedName;
+import io.inverno.core.compiler.spi.EventListenerInfo;
 import io.inverno.core.compiler.spi.ModuleBeanInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
 import io.inverno.core.compiler.spi.NestedBeanInfo;
@@ -76,6 +77,11 @@ class CompiledOverridableBeanInfo implements OverridableBeanInfo {
 		return this.overridableBeanInfo.getStrategy();
 	}
 
+	@Override
+	public boolean isLazy() {
+		return this.overridableBeanInfo.isLazy();
+	}
+
 	@Override
 	public Visibility getVisibility() {
 		return this.overridableBeanInfo.getVisibility();
@@ -90,6 +96,11 @@ class CompiledOverridableBeanInfo implements OverridableBeanInfo {
 	public ExecutableElement[] getDestroyElements() {
 		return this.overridableBeanInfo.getDestroyElements();
 	}
+	
+	@Override
+	public EventListenerInfo[] getEventListeners() {
+		return this.overridableBeanInfo.getEventListeners();
+	}
 
 	@Override
 	public ModuleBeanSocketInfo[] getSockets() {
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.bean;
+
+import java.util.List;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.compiler.spi.BeanQualifiedName;
+import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
+import io.inverno.core.compiler.spi.StripedBeanInfo;
+
+/**
+ * <p>
+ * Represents striped bean info.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+class CompiledStripedBeanInfo extends CommonModuleBeanInfo implements StripedBeanInfo {
+
+	private int stripes;
+	
+	public CompiledStripedBeanInfo(
+			ProcessingEnvironment processingEnvironment, 
+			Element element, 
+			AnnotationMirror annotation, 
+			BeanQualifiedName qname, 
+			TypeMirror type, 
+			TypeMirror providedType,
+			Bean.Visibility visibility, 
+			int stripes,
+			List<ExecutableElement> initElements, 
+			List<ExecutableElement> destroyElements, 
+			List<? extends ModuleBeanSocketInfo> beanSocketInfos) {
+		super(processingEnvironment, element, annotation, qname, type, providedType, visibility, Bean.Strategy.STRIPED, initElements, destroyElements, beanSocketInfos);
+		
+		this.stripes = stripes;
+	}
+
+	@Override
+	public int getStripes() {
+		return this.stripes;
+	}
+}
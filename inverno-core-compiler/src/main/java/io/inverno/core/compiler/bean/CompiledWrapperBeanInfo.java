@@ -42,6 +42,8 @@ class CompiledWrapperBeanInfo extends CommonModuleBeanInfo implements WrapperBea
 
 	private TypeMirror wrapperType;
 	
+	private boolean destroyOnReclaim;
+	
 	public CompiledWrapperBeanInfo(ProcessingEnvironment processingEnvironment, 
 			Element element, 
 			AnnotationMirror annotation, 
@@ -75,4 +77,22 @@ class CompiledWrapperBeanInfo extends CommonModuleBeanInfo implements WrapperBea
 	public TypeMirror getWrapperType() {
 		return this.wrapperType;
 	}
+	
+	/**
+	 * <p>
+	 * Sets whether the wrapper of a prototype bean instance should be destroyed as
+	 * soon as the instance is reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * @param destroyOnReclaim true to destroy the wrapper when the instance is
+	 *                         reclaimed, false otherwise
+	 */
+	public void setDestroyOnReclaim(boolean destroyOnReclaim) {
+		this.destroyOnReclaim = destroyOnReclaim;
+	}
+	
+	@Override
+	public boolean isDestroyOnReclaim() {
+		return this.destroyOnReclaim;
+	}
 }
@@ -15,6 +15,7 @@
  */
 package io.inverno.core.compiler.bean;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -24,8 +25,10 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic.Kind;
 
@@ -50,10 +53,18 @@ import io.inverno.core.compiler.spi.SocketBeanInfo;
  */
 class ModuleBeanSocketInfoFactory extends AbstractSocketInfoFactory {
 
+	private static final String EVENT_PUBLISHER_CLASS = "io.inverno.core.v1.EventPublisher";
+	
+	private static final String EVENT_LISTENER_CLASS = "io.inverno.core.v1.EventPublisher.Listener";
+
 	private BeanQualifiedName beanQName;
 	
 	private TypeMirror supplierType;
 	
+	private TypeElement eventPublisherElement;
+	
+	private TypeElement eventListenerElement;
+	
 	/**
 	 * 
 	 */
@@ -62,6 +73,8 @@ class ModuleBeanSocketInfoFactory extends AbstractSocketInfoFactory {
 		
 		this.beanQName = beanQName;
 		this.supplierType = this.processingEnvironment.getTypeUtils().erasure(this.processingEnvironment.getElementUtils().getTypeElement(Supplier.class.getCanonicalName()).asType());
+		this.eventPublisherElement = this.processingEnvironment.getElementUtils().getTypeElement(EVENT_PUBLISHER_CLASS);
+		this.eventListenerElement = this.processingEnvironment.getElementUtils().getTypeElement(EVENT_LISTENER_CLASS);
 	}
 
 	public static ModuleBeanSocketInfoFactory create(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, BeanQualifiedName beanQName) {
@@ -94,7 +107,12 @@ class ModuleBeanSocketInfoFactory extends AbstractSocketInfoFactory {
 			optional = true;
 		}
 		
-		boolean lazy = variableElement.getAnnotation(Lazy.class) != null;
+		Lazy lazyAnnotation = variableElement.getAnnotation(Lazy.class);
+		boolean lazy = lazyAnnotation != null;
+		
+		if(this.eventPublisherElement != null && this.processingEnvironment.getTypeUtils().isSameType(this.processingEnvironment.getTypeUtils().erasure(variableElement.asType()), this.processingEnvironment.getTypeUtils().erasure(this.eventPublisherElement.asType()))) {
+			return this.createEventSocket(variableElement, socketElement, socketName, optional, lazy);
+		}
 		
 		final TypeMirror socketType;
 		if(lazy) {
@@ -121,22 +139,53 @@ class ModuleBeanSocketInfoFactory extends AbstractSocketInfoFactory {
 		// This should never throw a QualifiedNameFormatException as a Java variable is a valid qualified name part
 		BeanSocketQualifiedName socketQName = new BeanSocketQualifiedName(this.beanQName, socketName);
 		MultiSocketType multiType = this.getMultiType(socketType);
+		AbstractModuleBeanSocketInfo beanSocketInfo;
 		if(multiType != null) {
 			if(optional) {
-				return Optional.of(new CommonModuleBeanMultiSocketInfo(this.processingEnvironment, socketElement, socketQName, this.getComponentType(socketType), socketElement, selectors, optional, lazy, multiType));
+				beanSocketInfo = new CommonModuleBeanMultiSocketInfo(this.processingEnvironment, socketElement, socketQName, this.getComponentType(socketType), socketElement, selectors, optional, lazy, multiType);
 			}
 			else {
-				return Optional.of(new CommonModuleBeanMultiSocketInfo(this.processingEnvironment, variableElement, socketQName, this.getComponentType(socketType), socketElement, selectors, optional, lazy, multiType));
+				beanSocketInfo = new CommonModuleBeanMultiSocketInfo(this.processingEnvironment, variableElement, socketQName, this.getComponentType(socketType), socketElement, selectors, optional, lazy, multiType);
 			}
 		}
 		else {
 			if(optional) {
-				return Optional.of(new CommonModuleBeanSingleSocketInfo(this.processingEnvironment, socketElement, socketQName, socketType, socketElement, selectors, optional, lazy));
+				beanSocketInfo = new CommonModuleBeanSingleSocketInfo(this.processingEnvironment, socketElement, socketQName, socketType, socketElement, selectors, optional, lazy);
 			}
 			else {
-				return Optional.of(new CommonModuleBeanSingleSocketInfo(this.processingEnvironment, variableElement, socketQName, socketType, socketElement, selectors, optional, lazy));
+				beanSocketInfo = new CommonModuleBeanSingleSocketInfo(this.processingEnvironment, variableElement, socketQName, socketType, socketElement, selectors, optional, lazy);
 			}
 		}
+		beanSocketInfo.setMemoized(lazy && lazyAnnotation.memoized());
+		return Optional.of(beanSocketInfo);
+	}
+	
+	private Optional<ModuleBeanSocketInfo> createEventSocket(VariableElement variableElement, ExecutableElement socketElement, String socketName, boolean optional, boolean lazy) throws TypeErrorException {
+		if(lazy) {
+			this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Lazy is not supported on event publisher sockets, it will be ignored", variableElement);
+		}
+		
+		final TypeMirror eventType;
+		List<? extends TypeMirror> typeArguments = ((DeclaredType)variableElement.asType()).getTypeArguments();
+		if(typeArguments.size() == 0) {
+			eventType = this.processingEnvironment.getElementUtils().getTypeElement(Object.class.getCanonicalName()).asType();
+		}
+		else if(typeArguments.get(0).getKind().equals(TypeKind.WILDCARD)) {
+			this.processingEnvironment.getMessager().printMessage(Kind.ERROR, "Invalid event publisher socket which should specify the type of events", variableElement);
+			return Optional.empty();
+		}
+		else {
+			eventType = typeArguments.get(0);
+		}
+		
+		// Check if event type can be resolved otherwise event listeners might be missing
+		this.validateType(eventType);
+		
+		// Listeners accepting a super type of the published events
+		TypeMirror listenerType = this.processingEnvironment.getTypeUtils().getDeclaredType(this.eventListenerElement, this.processingEnvironment.getTypeUtils().getWildcardType(null, eventType));
+		
+		BeanSocketQualifiedName socketQName = new BeanSocketQualifiedName(this.beanQName, socketName);
+		return Optional.of(new CommonModuleBeanEventSocketInfo(this.processingEnvironment, optional ? socketElement : variableElement, socketQName, listenerType, eventType, socketElement, optional));
 	}
 	
 	// Binary
@@ -18,9 +18,12 @@ package io.inverno.core.compiler.module;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,6 +35,7 @@ import javax.lang.model.element.ModuleElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 
+import io.inverno.core.annotation.Bean;
 import io.inverno.core.annotation.Wire;
 import io.inverno.core.annotation.Wires;
 import io.inverno.core.compiler.common.MutableMultiSocketInfo;
@@ -41,6 +45,7 @@ import io.inverno.core.compiler.cycle.BeanCycleDetector;
 import io.inverno.core.compiler.cycle.BeanCycleDetector.CycleInfo;
 import io.inverno.core.compiler.socket.WirableSocketBeanInfo;
 import io.inverno.core.compiler.spi.BeanInfo;
+import io.inverno.core.compiler.spi.ModuleBeanEventSocketInfo;
 import io.inverno.core.compiler.spi.ModuleBeanInfo;
 import io.inverno.core.compiler.spi.ModuleBeanSocketInfo;
 import io.inverno.core.compiler.spi.ModuleInfo;
@@ -118,6 +123,9 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 		moduleInfo.setFaulty(hasNameConflicts || hasBeanCycles || !socketsResolved);
 		if(!hasBeanCycles) {
 			moduleInfo.accept(this.moduleSocketWiredBeansResolver, null);
+			if(socketsResolved) {
+				this.checkEagerLazyBeans();
+			}
 		}
 		this.checkUnwiredSockets();
 		
@@ -230,9 +238,15 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 			}
 		};
 
+		// Event sockets are resolved to the event listeners of the module beans
+		SocketResolver eventListenerResolver = new SocketResolver(this.processingEnvironment, this.moduleQName, Arrays.stream(this.beans).flatMap(beanInfo -> Arrays.stream(beanInfo.getEventListeners())).collect(Collectors.toList()));
+		
 		for(ModuleBeanInfo beanInfo : this.beans) {
 			for(ModuleBeanSocketInfo socket : beanInfo.getSockets()) {
-				if(MultiSocketInfo.class.isAssignableFrom(socket.getClass())) {
+				if(ModuleBeanEventSocketInfo.class.isAssignableFrom(socket.getClass())) {
+					((MutableMultiSocketInfo)socket).setBeans(eventListenerResolver.resolveAll((MultiSocketInfo)socket));
+				}
+				else if(MultiSocketInfo.class.isAssignableFrom(socket.getClass())) {
 					BeanInfo[] resolvedBeans = socketResolver.resolve((MultiSocketInfo)socket, wiresByBeanQName.get(socket.getQualifiedName()));
 					((MutableMultiSocketInfo)socket).setBeans(resolvedBeans);
 					
@@ -297,6 +311,69 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 			});
 	}
 	
+	private void checkEagerLazyBeans() {
+		// A lazy bean required by a bean created on startup is created on startup as well
+		Map<ModuleBeanInfo, ModuleBeanInfo> eagerLazyBeans = new LinkedHashMap<>();
+		for(ModuleBeanInfo beanInfo : this.beans) {
+			if(Bean.Strategy.SINGLETON.equals(beanInfo.getStrategy()) && !beanInfo.isLazy()) {
+				this.visitEagerDependencies(beanInfo, beanInfo, new HashSet<>(), eagerLazyBeans);
+			}
+		}
+		eagerLazyBeans.forEach((lazyBeanInfo, eagerBeanInfo) -> lazyBeanInfo.warning("Lazy bean " + lazyBeanInfo.getQualifiedName() + " is created when the module starts since it is required by bean " + eagerBeanInfo.getQualifiedName()));
+	}
+	
+	private void visitEagerDependencies(ModuleBeanInfo eagerBeanInfo, ModuleBeanInfo beanInfo, Set<ModuleBeanInfo> visitedBeanInfos, Map<ModuleBeanInfo, ModuleBeanInfo> eagerLazyBeans) {
+		if(!visitedBeanInfos.add(beanInfo)) {
+			return;
+		}
+		for(ModuleBeanSocketInfo socketInfo : beanInfo.getSockets()) {
+			if(socketInfo.isLazy()) {
+				// the dependency is retrieved on demand
+				continue;
+			}
+			BeanInfo[] dependencies;
+			if(socketInfo instanceof MultiSocketInfo) {
+				dependencies = ((MultiSocketInfo)socketInfo).getBeans();
+			}
+			else if(socketInfo instanceof SingleSocketInfo) {
+				dependencies = new BeanInfo[] { ((SingleSocketInfo)socketInfo).getBean() };
+			}
+			else {
+				continue;
+			}
+			if(dependencies == null) {
+				continue;
+			}
+			for(BeanInfo dependency : dependencies) {
+				// Requesting a nested bean requires the bean providing it
+				while(dependency instanceof NestedBeanInfo) {
+					dependency = ((NestedBeanInfo)dependency).getProvidingBean();
+				}
+				if(!(dependency instanceof ModuleBeanInfo) || !dependency.getQualifiedName().getModuleQName().equals(this.moduleQName)) {
+					continue;
+				}
+				ModuleBeanInfo dependencyBeanInfo = (ModuleBeanInfo)dependency;
+				switch(dependencyBeanInfo.getStrategy()) {
+					case SINGLETON:
+						if(dependencyBeanInfo.isLazy()) {
+							eagerLazyBeans.putIfAbsent(dependencyBeanInfo, eagerBeanInfo);
+							this.visitEagerDependencies(eagerBeanInfo, dependencyBeanInfo, visitedBeanInfos, eagerLazyBeans);
+						}
+						break;
+					case PROTOTYPE:
+					case THREAD:
+					case STRIPED:
+						// an instance is created when injected
+						this.visitEagerDependencies(eagerBeanInfo, dependencyBeanInfo, visitedBeanInfos, eagerLazyBeans);
+						break;
+					default:
+						// a pool is injected, instances are leased on demand
+						break;
+				}
+			}
+		}
+	}
+	
 	private boolean checkBeanCycles() {
 		BeanCycleDetector detector = new BeanCycleDetector(this.moduleQName, Stream.concat(Arrays.stream(this.beans), Arrays.stream(this.sockets)).collect(Collectors.toList()));
 		List<List<CycleInfo>> beanCycles = detector.findCycles();
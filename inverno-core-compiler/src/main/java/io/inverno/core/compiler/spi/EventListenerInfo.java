@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.spi;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * <p>
+ * An event listener info represents an event listener method defined on a
+ * singleton bean.
+ * </p>
+ * 
+ * <p>
+ * Its type is the listener type {@code EventPublisher.Listener<E>} where
+ * {@code E} is the type of the method parameter, this allows to resolve the
+ * listeners of an event socket like the beans of a multiple socket.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ */
+public interface EventListenerInfo extends BeanInfo {
+
+	/**
+	 * <p>
+	 * Returns the bean defining the event listener method.
+	 * </p>
+	 * 
+	 * @return a module bean info
+	 */
+	ModuleBeanInfo getBean();
+	
+	/**
+	 * <p>
+	 * Returns the event listener method.
+	 * </p>
+	 * 
+	 * @return an executable element
+	 */
+	ExecutableElement getListenerElement();
+	
+	/**
+	 * <p>
+	 * Returns the type of events accepted by the event listener method.
+	 * </p>
+	 * 
+	 * @return a type
+	 */
+	TypeMirror getEventType();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.spi;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * <p>
+ * An event socket info represents an event publisher injection point on a
+ * bean.
+ * </p>
+ * 
+ * <p>
+ * An event socket of type {@code EventPublisher<E>} is resolved like a
+ * multiple socket of type {@code EventPublisher.Listener<? super E>} to the
+ * {@link EventListenerInfo event listeners} accepting events of type
+ * {@code E}. Unlike other sockets, it is always resolved since a publisher
+ * without listeners is injected when no listener was found.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ */
+public interface ModuleBeanEventSocketInfo extends ModuleBeanSocketInfo, MultiSocketInfo {
+
+	/**
+	 * <p>
+	 * Returns the type of events published through the socket.
+	 * </p>
+	 * 
+	 * @return a type
+	 */
+	TypeMirror getEventType();
+	
+	/**
+	 * <p>
+	 * Returns the event listeners resolved for the socket.
+	 * </p>
+	 * 
+	 * @return an array of event listener info
+	 */
+	EventListenerInfo[] getListeners();
+}
@@ -49,6 +49,20 @@ public interface ModuleBeanInfo extends BeanInfo {
 	 */
 	Bean.Strategy getStrategy();
 
+	/**
+	 * <p>
+	 * Determines whether the bean is instantiated the first time it is requested
+	 * instead of when the module is started.
+	 * </p>
+	 * 
+	 * <p>
+	 * This is only relevant for singleton beans.
+	 * </p>
+	 * 
+	 * @return true if the bean is lazy, false otherwise
+	 */
+	boolean isLazy();
+
 	/**
 	 * <p>
 	 * Returns the visibility of the bean.
@@ -81,6 +95,17 @@ public interface ModuleBeanInfo extends BeanInfo {
 	 */
 	ExecutableElement[] getDestroyElements();
 
+	/**
+	 * <p>
+	 * Returns the event listener methods defined on the bean.
+	 * </p>
+	 * 
+	 * @return an array of event listener info
+	 * 
+	 * @since 1.3
+	 */
+	EventListenerInfo[] getEventListeners();
+
 	/**
 	 * <p>
 	 * Returns the list of sockets specified by the bean.
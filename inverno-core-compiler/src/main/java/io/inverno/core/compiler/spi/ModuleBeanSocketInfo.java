@@ -46,4 +46,14 @@ public interface ModuleBeanSocketInfo extends SocketInfo {
 	 * @return true if the socket is a lazy socket, false otherwise
 	 */
 	boolean isLazy();
+	
+	/**
+	 * <p>
+	 * Determines whether the supplier injected in a lazy socket must memoize
+	 * singleton beans.
+	 * </p>
+	 * 
+	 * @return true if the socket is a memoized lazy socket, false otherwise
+	 */
+	boolean isMemoized();
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.spi;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * <p>
+ * A pooled bean info holds the data required to process a pooled bean in a
+ * module.
+ * </p>
+ * 
+ * <p>
+ * A pooled bean is exposed in a module as a pool of instances, the type of the
+ * bean given by {@link BeanInfo#getType()} is then the type of the pool whereas
+ * the type of the pooled instances is given by {@link #getPooledType()}.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public interface PooledBeanInfo extends ModuleBeanInfo {
+
+	/**
+	 * <p>
+	 * Returns the type of the pooled instances.
+	 * </p>
+	 * 
+	 * @return a type
+	 */
+	TypeMirror getPooledType();
+	
+	/**
+	 * <p>
+	 * Returns the maximum number of instances in the pool.
+	 * </p>
+	 * 
+	 * @return the maximum number of instances
+	 */
+	int getMaxSize();
+	
+	/**
+	 * <p>
+	 * Returns the time in milliseconds after which an idle instance is evicted
+	 * from the pool.
+	 * </p>
+	 * 
+	 * @return a time in milliseconds
+	 */
+	long getMaxIdleTime();
+	
+	/**
+	 * <p>
+	 * Returns the time in milliseconds to wait for an instance when the pool is
+	 * exhausted.
+	 * </p>
+	 * 
+	 * @return a time in milliseconds
+	 */
+	long getTimeout();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.compiler.spi;
+
+/**
+ * <p>
+ * A striped bean info holds the data required to process a striped bean in a
+ * module.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public interface StripedBeanInfo extends ModuleBeanInfo {
+
+	/**
+	 * <p>
+	 * Returns the number of stripes.
+	 * </p>
+	 * 
+	 * @return the number of stripes, zero or a negative value to use the number
+	 *         of available processors
+	 */
+	int getStripes();
+}
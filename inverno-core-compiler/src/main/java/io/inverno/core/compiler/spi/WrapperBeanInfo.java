@@ -37,4 +37,15 @@ public interface WrapperBeanInfo extends ModuleBeanInfo {
 	 * @return a type
 	 */
 	TypeMirror getWrapperType();
+	
+	/**
+	 * <p>
+	 * Determines whether the wrapper of a prototype bean instance should be
+	 * destroyed as soon as the instance is reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * @return true to destroy the wrapper when the instance is reclaimed, false
+	 *         otherwise
+	 */
+	boolean isDestroyOnReclaim();
 }
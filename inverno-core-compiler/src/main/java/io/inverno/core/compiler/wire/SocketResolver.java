@@ -126,9 +126,7 @@ public class SocketResolver {
 		
 		if(result == null) {
 			// Autowiring for a multi socket
-			List<BeanInfo> matchingBeans = beans.stream()
-				.filter(beanInfo -> this.isWirable(beanInfo, socket))
-				.collect(Collectors.toList());
+			List<BeanInfo> matchingBeans = Arrays.asList(this.resolveAll(socket));
 			
 			if(matchingBeans.size() == 0) {
 				if(!socket.isOptional()) {
@@ -151,6 +149,13 @@ public class SocketResolver {
 		return result;
 	}
 	
+	public BeanInfo[] resolveAll(MultiSocketInfo socket) {
+		// Autowiring only, the socket is left empty when no bean matches
+		return this.beans.stream()
+			.filter(beanInfo -> this.isWirable(beanInfo, socket))
+			.toArray(BeanInfo[]::new);
+	}
+	
 	public BeanInfo resolve(SingleSocketInfo socket, List<? extends WireInfo<?>> socketWires) {
 		BeanInfo result = null;
 		if(socketWires != null) {
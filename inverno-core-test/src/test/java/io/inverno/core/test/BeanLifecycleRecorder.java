@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * <p>
+ * Records the names of the beans created, initialized and destroyed in a module
+ * using a bean listener.
+ * </p>
+ * 
+ * <p>
+ * The recorder also keeps the timeline of all lifecycle events in the form
+ * {@code <beanName>:<create|init|destroy>}.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class BeanLifecycleRecorder {
+
+	private final List<String> created;
+	
+	private final List<String> initialized;
+	
+	private final List<String> destroyed;
+	
+	private final List<String> events;
+	
+	private BeanLifecycleRecorder() {
+		this.created = new CopyOnWriteArrayList<>();
+		this.initialized = new CopyOnWriteArrayList<>();
+		this.destroyed = new CopyOnWriteArrayList<>();
+		this.events = new CopyOnWriteArrayList<>();
+	}
+	
+	/**
+	 * <p>
+	 * Registers a recorder to the specified module.
+	 * </p>
+	 * 
+	 * @param moduleLoader the loader of the module
+	 * @param moduleName   the name of the module
+	 * @param module       the module
+	 * 
+	 * @return a bean lifecycle recorder
+	 * 
+	 * @throws ClassNotFoundException if the bean listener class can't be loaded
+	 */
+	public static BeanLifecycleRecorder register(InvernoModuleLoader moduleLoader, String moduleName, InvernoModuleProxy module) throws ClassNotFoundException {
+		BeanLifecycleRecorder recorder = new BeanLifecycleRecorder();
+		Class<?> beanListenerClass = moduleLoader.loadClass(moduleName, "io.inverno.core.v1.BeanListener");
+		Object beanListener = Proxy.newProxyInstance(beanListenerClass.getClassLoader(), new Class<?>[] { beanListenerClass }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "getSampling": return 0;
+				case "onCreate": recorder.record(recorder.created, beanName(args[0]), "create");
+					return null;
+				case "onInit": recorder.record(recorder.initialized, beanName(args[0]), "init");
+					return null;
+				case "onDestroy": recorder.record(recorder.destroyed, beanName(args[0]), "destroy");
+					return null;
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				default: return null;
+			}
+		});
+		module.addBeanListener(beanListener);
+		return recorder;
+	}
+	
+	private synchronized void record(List<String> beanNames, String beanName, String event) {
+		beanNames.add(beanName);
+		this.events.add(beanName + ":" + event);
+	}
+	
+	private static String beanName(Object event) throws ReflectiveOperationException {
+		return (String)event.getClass().getMethod("getBeanName").invoke(event);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the names of the created beans in creation order.
+	 * </p>
+	 * 
+	 * @return a list of bean names
+	 */
+	public List<String> getCreated() {
+		return this.created;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the names of the initialized beans in initialization order.
+	 * </p>
+	 * 
+	 * @return a list of bean names
+	 */
+	public List<String> getInitialized() {
+		return this.initialized;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the names of the destroyed beans in destruction order.
+	 * </p>
+	 * 
+	 * @return a list of bean names
+	 */
+	public List<String> getDestroyed() {
+		return this.destroyed;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the timeline of the lifecycle events.
+	 * </p>
+	 * 
+	 * @return a list of events
+	 */
+	public List<String> getEvents() {
+		return this.events;
+	}
+	
+	/**
+	 * <p>
+	 * Clears all recorded events.
+	 * </p>
+	 */
+	public void clear() {
+		this.created.clear();
+		this.initialized.clear();
+		this.destroyed.clear();
+		this.events.clear();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestAsyncInit extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.asyncinit";
+	
+	@Test
+	public void testAsyncInit() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> events = recorder.getEvents();
+		Class<?> failingBeanClass = moduleLoader.loadClass(MODULE, "io.inverno.core.test.asyncinit.FailingBean");
+		
+		module.start();
+		try {
+			// independent initializations overlap and dependent beans receive initialized instances
+			Assertions.assertTrue(events.indexOf("storeBean:create") < events.indexOf("indexBean:init"));
+			Assertions.assertTrue(events.indexOf("indexBean:create") < events.indexOf("storeBean:init"));
+			Assertions.assertTrue(events.indexOf("storeBean:init") < events.indexOf("dependentBean:create"));
+			Object dependentBean = module.getBean("dependentBean");
+			Assertions.assertTrue((boolean)dependentBean.getClass().getField("storeLoaded").get(dependentBean));
+		}
+		finally {
+			module.stop();
+		}
+		Assertions.assertTrue(events.containsAll(List.of("storeBean:destroy", "indexBean:destroy")));
+		
+		recorder.clear();
+		failingBeanClass.getField("fail").set(null, true);
+		try {
+			InvernoModuleException e = Assertions.assertThrows(InvernoModuleException.class, () -> module.start());
+			Assertions.assertEquals("Error initializing bean failingBean", e.getCause().getMessage());
+		}
+		finally {
+			module.stop();
+			failingBeanClass.getField("fail").set(null, false);
+		}
+		// beans being initialized are destroyed once initialized
+		Assertions.assertTrue(events.containsAll(List.of("storeBean:init", "indexBean:init", "storeBean:destroy", "indexBean:destroy")));
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestBeanListener extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.strategy";
+	
+	@Test
+	public void testBeanListener() throws IOException, InvernoCompilationException, ClassNotFoundException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy moduleProxy = moduleLoader.load(MODULE).build();
+		
+		List<String> events = new CopyOnWriteArrayList<>();
+		Class<?> beanListenerClass = moduleLoader.loadClass(MODULE, "io.inverno.core.v1.BeanListener");
+		Object beanListener = Proxy.newProxyInstance(beanListenerClass.getClassLoader(), new Class<?>[] { beanListenerClass }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "getSampling": return 1;
+				case "onCreate":
+				case "onInit":
+				case "onDestroy":
+				case "onGet": {
+					Object event = args[0];
+					events.add(method.getName() + ":" + event.getClass().getMethod("getBeanName").invoke(event) + ":" + event.getClass().getMethod("getStrategy").invoke(event));
+					return null;
+				}
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				default: return null;
+			}
+		});
+		moduleProxy.addBeanListener(beanListener);
+		
+		try {
+			moduleProxy.start();
+			Assertions.assertTrue(events.contains("onCreate:singletonStrategyBean:SINGLETON"));
+			Assertions.assertTrue(events.contains("onInit:singletonStrategyBean:SINGLETON"));
+			
+			events.clear();
+			moduleProxy.getBean("prototypeStrategyBean");
+			Assertions.assertEquals(List.of("onCreate:prototypeStrategyBean:PROTOTYPE", "onInit:prototypeStrategyBean:PROTOTYPE", "onGet:prototypeStrategyBean:PROTOTYPE"), events);
+		}
+		finally {
+			moduleProxy.stop();
+		}
+		Assertions.assertTrue(events.contains("onDestroy:singletonStrategyBean:SINGLETON"));
+	}
+}
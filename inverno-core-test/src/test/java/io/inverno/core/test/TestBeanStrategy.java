@@ -16,12 +16,19 @@
 package io.inverno.core.test;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
 import io.inverno.test.InvernoModuleProxy;
 
 /**
@@ -33,12 +40,15 @@ public class TestBeanStrategy extends AbstractCoreInvernoTest {
 
 	private static final String MODULE = "io.inverno.core.test.strategy";
 	
+	private InvernoModuleLoader strategyModuleLoader;
+	
 	private InvernoModuleProxy strategyModuleProxy;
 	
 	@BeforeEach
 	public void init() throws IOException, InvernoCompilationException {
 		if(this.strategyModuleProxy == null) {
-			this.strategyModuleProxy = this.getInvernoCompiler().compile(MODULE).load(MODULE).build();
+			this.strategyModuleLoader = this.getInvernoCompiler().compile(MODULE);
+			this.strategyModuleProxy = this.strategyModuleLoader.load(MODULE).build();
 		}
 	}
 	
@@ -77,4 +87,111 @@ public class TestBeanStrategy extends AbstractCoreInvernoTest {
 			this.strategyModuleProxy.stop();
 		}
 	}
+	
+	@Test
+	public void testThreadStrategy() throws ReflectiveOperationException, InterruptedException, ExecutionException {
+		AtomicInteger globalDestroyCount = (AtomicInteger)this.strategyModuleLoader.loadClass(MODULE, "io.inverno.core.test.strategy.ThreadStrategyBean").getField("globalDestroyCount").get(null);
+		// Virtual threads are available since Java 21
+		Method newVirtualThreadPerTaskExecutor = null;
+		try {
+			newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		}
+		catch(NoSuchMethodException e) {
+			// Virtual threads are not supported
+		}
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor != null ? (ExecutorService)newVirtualThreadPerTaskExecutor.invoke(null) : null;
+		try {
+			this.strategyModuleProxy.start();
+			Object threadBean = this.strategyModuleProxy.getBean("threadStrategyBean");
+			Assertions.assertNotNull(threadBean);
+			Assertions.assertEquals(threadBean, this.strategyModuleProxy.getBean("threadStrategyBean"));
+			
+			Future<Object> otherThreadBean = executor.submit(() -> this.strategyModuleProxy.getBean("threadStrategyBean"));
+			Assertions.assertNotEquals(threadBean, otherThreadBean.get());
+			Assertions.assertEquals(otherThreadBean.get(), executor.submit(() -> this.strategyModuleProxy.getBean("threadStrategyBean")).get());
+			
+			if(virtualExecutor != null) {
+				// Each task runs in a new virtual thread which is bound its own instance
+				Future<Object> virtualThreadBean = virtualExecutor.submit(() -> {
+					Object bean = this.strategyModuleProxy.getBean("threadStrategyBean");
+					Assertions.assertEquals(bean, this.strategyModuleProxy.getBean("threadStrategyBean"));
+					return bean;
+				});
+				Future<Object> otherVirtualThreadBean = virtualExecutor.submit(() -> this.strategyModuleProxy.getBean("threadStrategyBean"));
+				Assertions.assertNotEquals(threadBean, virtualThreadBean.get());
+				Assertions.assertNotEquals(otherThreadBean.get(), virtualThreadBean.get());
+				Assertions.assertNotEquals(virtualThreadBean.get(), otherVirtualThreadBean.get());
+			}
+		}
+		finally {
+			this.strategyModuleProxy.stop();
+			executor.shutdown();
+			if(virtualExecutor != null) {
+				virtualExecutor.shutdown();
+			}
+		}
+		Assertions.assertEquals(virtualExecutor != null ? 4 : 2, globalDestroyCount.get());
+	}
+	
+	@Test
+	public void testThreadStrategyDestroyOnReclaim() throws ReflectiveOperationException, InterruptedException, ExecutionException {
+		AtomicInteger globalDestroyCount = (AtomicInteger)this.strategyModuleLoader.loadClass(MODULE, "io.inverno.core.test.strategy.ThreadStrategyBean").getField("globalDestroyCount").get(null);
+		// Virtual threads are available since Java 21
+		Method newVirtualThreadPerTaskExecutor = null;
+		try {
+			newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		}
+		catch(NoSuchMethodException e) {
+			// Virtual threads are not supported
+		}
+		try {
+			this.strategyModuleProxy.start();
+			
+			Thread thread = new Thread(() -> this.strategyModuleProxy.getBean("threadStrategyBean"));
+			thread.start();
+			thread.join();
+			thread = null;
+			
+			if(newVirtualThreadPerTaskExecutor != null) {
+				ExecutorService virtualExecutor = (ExecutorService)newVirtualThreadPerTaskExecutor.invoke(null);
+				virtualExecutor.submit(() -> this.strategyModuleProxy.getBean("threadStrategyBean")).get();
+				virtualExecutor.shutdown();
+				virtualExecutor = null;
+			}
+			
+			int expectedDestroyCount = newVirtualThreadPerTaskExecutor != null ? 2 : 1;
+			for(int i = 0;i < 100 && globalDestroyCount.get() < expectedDestroyCount;i++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			// The instances bound to terminated threads are destroyed once the threads have been reclaimed
+			Assertions.assertEquals(expectedDestroyCount, globalDestroyCount.get());
+		}
+		finally {
+			this.strategyModuleProxy.stop();
+		}
+		Assertions.assertEquals(newVirtualThreadPerTaskExecutor != null ? 2 : 1, globalDestroyCount.get());
+	}
+	
+	@Test
+	public void testStripedStrategy() throws InterruptedException, ExecutionException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, ClassNotFoundException {
+		AtomicInteger globalDestroyCount = (AtomicInteger)this.strategyModuleLoader.loadClass(MODULE, "io.inverno.core.test.strategy.StripedStrategyBean").getField("globalDestroyCount").get(null);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			this.strategyModuleProxy.start();
+			Assertions.assertNotNull(this.strategyModuleProxy.getBean("stripedStrategyBean"));
+			Assertions.assertEquals(this.strategyModuleProxy.getBean("stripedStrategyBean"), this.strategyModuleProxy.getBean("stripedStrategyBean"));
+			
+			for(int i = 0;i < 64;i++) {
+				executor.submit(() -> this.strategyModuleProxy.getBean("stripedStrategyBean")).get();
+			}
+		}
+		finally {
+			this.strategyModuleProxy.stop();
+			executor.shutdown();
+		}
+		// 3 stripes are rounded up to 4 instances at most
+		Assertions.assertTrue(globalDestroyCount.get() > 0 && globalDestroyCount.get() <= 4);
+	}
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestConcurrentLazyBean extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.concurrent";
+	
+	private static final Map<String, List<String>> DEPENDENCIES = Map.of(
+		"configBean", List.of(),
+		"repositoryBean", List.of("configBean"),
+		"cacheBean", List.of("configBean"),
+		"metricsBean", List.of("configBean"),
+		"serviceBean", List.of("repositoryBean", "cacheBean"),
+		"reportBean", List.of("metricsBean", "repositoryBean"),
+		"controllerBean", List.of("serviceBean", "reportBean")
+	);
+	
+	private static final int ROUNDS = 50;
+	
+	private static final int THREADS = 16;
+	
+	@Test
+	public void testConcurrentFirstAccess() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException, ExecutionException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> created = recorder.getCreated();
+		List<String> destroyed = recorder.getDestroyed();
+		
+		List<String> beanNames = DEPENDENCIES.keySet().stream().sorted().collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for(int round = 0;round < ROUNDS;round++) {
+				recorder.clear();
+				
+				module.start();
+				try {
+					// All threads request the lazy beans in a different order at the same time
+					CountDownLatch startLatch = new CountDownLatch(1);
+					List<Future<?>> accesses = new ArrayList<>(THREADS);
+					for(int i = 0;i < THREADS;i++) {
+						List<String> accessOrder = new ArrayList<>(beanNames);
+						Collections.shuffle(accessOrder);
+						accesses.add(executor.submit(() -> {
+							startLatch.await();
+							for(String beanName : accessOrder) {
+								Assertions.assertSame(module.getBean(beanName), module.getBean(beanName));
+							}
+							return null;
+						}));
+					}
+					startLatch.countDown();
+					for(Future<?> access : accesses) {
+						access.get();
+					}
+				}
+				finally {
+					if(round % 2 == 0) {
+						module.stop();
+					}
+					else {
+						module.stop(executor, null, null);
+					}
+				}
+				
+				// Every bean is created once and destroyed once
+				Assertions.assertEquals(beanNames, created.stream().sorted().collect(Collectors.toList()));
+				Assertions.assertEquals(beanNames, destroyed.stream().sorted().collect(Collectors.toList()));
+				
+				// A bean is destroyed before the beans it depends on
+				for(Map.Entry<String, List<String>> dependencies : DEPENDENCIES.entrySet()) {
+					for(String dependency : dependencies.getValue()) {
+						Assertions.assertTrue(destroyed.indexOf(dependencies.getKey()) < destroyed.indexOf(dependency), () -> "Bean " + dependencies.getKey() + " should be destroyed before " + dependency + ": " + destroyed);
+					}
+				}
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+}
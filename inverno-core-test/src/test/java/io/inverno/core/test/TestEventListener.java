@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestEventListener extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.event";
+	
+	private static final String EVENT_PUBLISHER_CLASS = "io.inverno.core.v1.EventPublisher";
+	
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPublish() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		module.start();
+		try {
+			Object configLoader = module.getBean("configLoader");
+			Object eventLog = module.getBean("eventLog");
+			List<String> received = (List<String>)eventLog.getClass().getMethod("getReceived").invoke(eventLog);
+			
+			// Listeners accepting the event type or one of its super types are invoked in the calling thread
+			configLoader.getClass().getMethod("reload", String.class).invoke(configLoader, "sync");
+			Assertions.assertEquals(List.of("cacheBean:sync", "auditBean:sync"), received);
+			
+			received.clear();
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			try {
+				configLoader.getClass().getMethod("reload", String.class, Executor.class).invoke(configLoader, "async", executor);
+			}
+			finally {
+				executor.shutdown();
+			}
+			Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+			Assertions.assertEquals(List.of("cacheBean:async", "auditBean:async"), received);
+		}
+		finally {
+			module.stop();
+		}
+	}
+	
+	@Test
+	public void testListeners() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		Class<?> eventPublisherClass = moduleLoader.loadClass(MODULE, EVENT_PUBLISHER_CLASS);
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> created = recorder.getCreated();
+		
+		module.start();
+		try {
+			Object configLoader = module.getBean("configLoader");
+			Object reloadedPublisher = configLoader.getClass().getMethod("getReloadedPublisher").invoke(configLoader);
+			Object countPublisher = configLoader.getClass().getMethod("getCountPublisher").invoke(configLoader);
+			
+			Assertions.assertEquals(2, eventPublisherClass.getMethod("getListenerCount").invoke(reloadedPublisher));
+			// A publisher without listeners is injected when no listener accepts the event type
+			Assertions.assertNotNull(countPublisher);
+			Assertions.assertEquals(0, eventPublisherClass.getMethod("getListenerCount").invoke(countPublisher));
+			
+			// The lazy listener is only created when an event is published
+			Assertions.assertFalse(created.contains("auditBean"));
+			eventPublisherClass.getMethod("publish", Object.class).invoke(countPublisher, 1);
+			Assertions.assertFalse(created.contains("auditBean"));
+			configLoader.getClass().getMethod("reload", String.class).invoke(configLoader, "lazy");
+			configLoader.getClass().getMethod("reload", String.class).invoke(configLoader, "lazy");
+			Assertions.assertEquals(1, created.stream().filter("auditBean"::equals).count());
+		}
+		finally {
+			module.stop();
+		}
+	}
+}
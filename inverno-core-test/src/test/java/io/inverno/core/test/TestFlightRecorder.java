@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleProxy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestFlightRecorder extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.lifecycle.moduleA";
+	
+	private static final String BEAN_CREATE_EVENT = "io.inverno.core.BeanCreate";
+	
+	private static final String BEAN_INIT_EVENT = "io.inverno.core.BeanInit";
+	
+	private static final String PROTOTYPE_INSTANTIATION_EVENT = "io.inverno.core.PrototypeInstantiation";
+	
+	@Test
+	public void testLifecycleEvents() throws IOException, InvernoCompilationException {
+		InvernoModuleProxy module = this.getInvernoCompiler().compile(MODULE).load(MODULE).build();
+		
+		Path recordingPath = Files.createTempFile("inverno-lifecycle", ".jfr");
+		try(Recording recording = new Recording()) {
+			recording.enable(BEAN_CREATE_EVENT);
+			recording.enable(BEAN_INIT_EVENT);
+			// Prototype instantiation events are disabled by default
+			recording.enable(PROTOTYPE_INSTANTIATION_EVENT);
+			recording.start();
+			
+			module.start();
+			try {
+				module.getBean("singletonStrategyBean");
+				module.getBean("prototypeStrategyBean");
+				module.getBean("prototypeStrategyBean");
+			}
+			finally {
+				module.stop();
+			}
+			
+			recording.stop();
+			recording.dump(recordingPath);
+			
+			List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath).stream()
+				.filter(event -> event.getEventType().getName().startsWith("io.inverno.core."))
+				.filter(event -> MODULE.equals(event.getString("moduleName")))
+				.collect(Collectors.toList());
+			
+			Assertions.assertEquals(Set.of("injectedBean", "singletonStrategyBean"), beanNames(events, BEAN_CREATE_EVENT));
+			Assertions.assertEquals(Set.of("injectedBean", "singletonStrategyBean"), beanNames(events, BEAN_INIT_EVENT));
+			Assertions.assertEquals(Set.of("prototypeStrategyBean"), beanNames(events, PROTOTYPE_INSTANTIATION_EVENT));
+			Assertions.assertTrue(events.stream().filter(event -> event.getEventType().getName().equals(PROTOTYPE_INSTANTIATION_EVENT)).count() >= 2);
+			Assertions.assertTrue(events.stream().filter(event -> event.getEventType().getName().equals(BEAN_CREATE_EVENT)).allMatch(event -> "SINGLETON".equals(event.getString("strategy"))));
+		}
+		finally {
+			Files.deleteIfExists(recordingPath);
+		}
+	}
+	
+	private static Set<String> beanNames(List<RecordedEvent> events, String eventName) {
+		return events.stream()
+			.filter(event -> event.getEventType().getName().equals(eventName))
+			.map(event -> event.getString("beanName"))
+			.collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestLazyBean extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.lazybean";
+	
+	@Test
+	public void testLazyBean() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, NoSuchMethodException, InvocationTargetException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		
+		String eagerLazyBean = "Lazy bean io.inverno.core.test.lazybean:pulledLazyBean is created when the module starts since it is required by bean io.inverno.core.test.lazybean:eagerBean";
+		Assertions.assertTrue(this.getInvernoCompiler().getDiagnostics().stream().anyMatch(d -> d.getMessage(Locale.getDefault()).equals(eagerLazyBean)));
+		
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> created = recorder.getCreated();
+		List<String> destroyed = recorder.getDestroyed();
+		
+		module.start();
+		try {
+			// lazy beans are not created on startup unless an eager bean depends on them
+			Assertions.assertEquals(List.of("pulledLazyBean", "eagerBean", "lazySocketBean"), created);
+			
+			Object lazySocketBean = module.getBean("lazySocketBean");
+			Object lazyBean = ((Supplier<?>)lazySocketBean.getClass().getField("lazyBean").get(lazySocketBean)).get();
+			Assertions.assertEquals(List.of("pulledLazyBean", "eagerBean", "lazySocketBean", "lazyBean"), created);
+			Assertions.assertSame(lazyBean, module.getBean("lazyBean"));
+		}
+		finally {
+			module.stop();
+		}
+		// beans are destroyed in the reverse order of their actual creation
+		Assertions.assertEquals(List.of("lazyBean", "lazySocketBean", "eagerBean", "pulledLazyBean"), destroyed);
+		
+		recorder.clear();
+		module.start();
+		module.stop();
+		Assertions.assertEquals(List.of("pulledLazyBean", "eagerBean", "lazySocketBean"), created);
+		Assertions.assertEquals(List.of("lazySocketBean", "eagerBean", "pulledLazyBean"), destroyed);
+	}
+	
+	@Test
+	public void testWarmUp() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> created = recorder.getCreated();
+		List<String> destroyed = recorder.getDestroyed();
+		
+		Assertions.assertThrows(InvernoModuleException.class, () -> module.warmUp(2));
+		
+		module.start();
+		try {
+			Assertions.assertFalse(module.isWarmedUp());
+			module.warmUp(2).join();
+			Assertions.assertTrue(module.isWarmedUp());
+			Assertions.assertEquals(List.of("pulledLazyBean", "eagerBean", "lazySocketBean", "lazyBean"), created);
+			
+			Assertions.assertThrows(InvernoModuleException.class, () -> module.warmUp(2));
+		}
+		finally {
+			module.stop();
+		}
+		Assertions.assertFalse(module.isWarmedUp());
+		Assertions.assertEquals(List.of("lazyBean", "lazySocketBean", "eagerBean", "pulledLazyBean"), destroyed);
+	}
+	
+	@Test
+	public void testWarmUpCancelledBeforeStart() throws IOException, InvernoCompilationException, ClassNotFoundException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> created = recorder.getCreated();
+		
+		CompletableFuture<Void> warmUp;
+		module.start();
+		try {
+			// The executor never runs the workers
+			warmUp = module.warmUp(task -> {}, 2);
+		}
+		finally {
+			Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> module.stop());
+		}
+		Assertions.assertTrue(warmUp.isCompletedExceptionally());
+		CompletionException e = Assertions.assertThrows(CompletionException.class, () -> warmUp.join());
+		Assertions.assertTrue(e.getCause() instanceof CancellationException);
+		Assertions.assertEquals(List.of("pulledLazyBean", "eagerBean", "lazySocketBean"), created);
+	}
+}
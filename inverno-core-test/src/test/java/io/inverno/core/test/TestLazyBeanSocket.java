@@ -18,6 +18,7 @@ package io.inverno.core.test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,7 @@ public class TestLazyBeanSocket extends AbstractCoreInvernoTest {
 	private static final String MODULEB = "io.inverno.core.test.lazy.moduleB";
 	private static final String MODULEC = "io.inverno.core.test.lazy.moduleC";
 	private static final String MODULED = "io.inverno.core.test.lazy.moduleD";
+	private static final String MODULEE = "io.inverno.core.test.lazy.moduleE";
 	
 	@Test
 	public void testSingleBeanInModule() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
@@ -71,6 +73,38 @@ public class TestLazyBeanSocket extends AbstractCoreInvernoTest {
 		moduleProxy.stop();
 	}
 	
+	@Test
+	public void testMemoizedSingleBeanInModule() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleProxy moduleProxy = this.getInvernoCompiler().compile(MODULEE).load(MODULEE).build();
+		
+		moduleProxy.start();
+		
+		Object beanA = moduleProxy.getBean("beanA");
+		Object beanB = moduleProxy.getBean("beanB");
+		
+		Supplier<?> beanA_service = (Supplier<?>)beanA.getClass().getField("service").get(beanA);
+		Supplier<?> beanA_beanB = (Supplier<?>)beanA.getClass().getField("beanB").get(beanA);
+		Supplier<?> beanA_beanC = (Supplier<?>)beanA.getClass().getField("beanC").get(beanA);
+		
+		Assertions.assertNotNull(beanA_service);
+		Assertions.assertNotNull(beanA_beanB);
+		Assertions.assertNotNull(beanA_beanC);
+		
+		Assertions.assertEquals(beanB, beanA_service.get());
+		Assertions.assertEquals(beanB, beanA_service.get());
+		Assertions.assertEquals(beanB, beanA_beanB.get());
+		Assertions.assertEquals(beanB, beanA_beanB.get());
+		
+		Object beanA_beanC1 = beanA_beanC.get();
+		Object beanA_beanC2 = beanA_beanC.get();
+		
+		Assertions.assertNotNull(beanA_beanC1);
+		Assertions.assertNotNull(beanA_beanC2);
+		Assertions.assertNotEquals(beanA_beanC1, beanA_beanC2);
+		
+		moduleProxy.stop();
+	}
+	
 	@Test
 	public void testSingleBeanInComponentModule() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
 		InvernoModuleProxy moduleProxy = this.getInvernoCompiler().compile(MODULEA, MODULEB).load(MODULEB).build();
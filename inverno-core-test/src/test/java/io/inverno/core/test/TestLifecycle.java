@@ -16,11 +16,18 @@
 package io.inverno.core.test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
 import io.inverno.test.InvernoModuleProxy;
 
 /**
@@ -33,6 +40,7 @@ public class TestLifecycle extends AbstractCoreInvernoTest {
 	private static final String MODULEA = "io.inverno.core.test.lifecycle.moduleA";
 	private static final String MODULEB = "io.inverno.core.test.lifecycle.moduleB";
 	private static final String MODULEC = "io.inverno.core.test.lifecycle.moduleC";
+	private static final String MODULED = "io.inverno.core.test.lifecycle.moduleD";
 	
 	@Test
 	public void testInitDestroy() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, InvernoCompilationException, InterruptedException {
@@ -156,4 +164,126 @@ public class TestLifecycle extends AbstractCoreInvernoTest {
 			Assertions.assertTrue(beanE.getClass().getField("destroyed").getBoolean(beanE));
 		}
 	}
+	
+	@Test
+	public void testConcurrentPrototypeDestroy() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, InvernoCompilationException, InterruptedException {
+		InvernoModuleProxy moduleA = this.getInvernoCompiler().compile(MODULEA).load(MODULEA).build();
+		
+		Queue<Object> prototypeBeans = new ConcurrentLinkedQueue<>();
+		try {
+			moduleA.start();
+			
+			List<Thread> threads = new ArrayList<>();
+			for(int i = 0;i < 8;i++) {
+				threads.add(new Thread(() -> {
+					for(int j = 0;j < 1000;j++) {
+						prototypeBeans.add(moduleA.getBean("prototypeStrategyBean"));
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for(Thread thread : threads) {
+				thread.join();
+			}
+			Assertions.assertEquals(8000, prototypeBeans.size());
+		} 
+		finally {
+			moduleA.stop();
+		}
+		for(Object prototypeBean : prototypeBeans) {
+			Assertions.assertEquals(1, prototypeBean.getClass().getField("initCount").get(prototypeBean));
+			Assertions.assertEquals(1, prototypeBean.getClass().getField("destroyCount").get(prototypeBean));
+		}
+	}
+	
+	@Test
+	public void testPrototypeGetRacingStop() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, InvernoCompilationException, InterruptedException {
+		InvernoModuleProxy moduleA = this.getInvernoCompiler().compile(MODULEA).load(MODULEA).build();
+		
+		Queue<Object> prototypeBeans = new ConcurrentLinkedQueue<>();
+		CountDownLatch started = new CountDownLatch(8);
+		List<Thread> threads = new ArrayList<>();
+		try {
+			moduleA.start();
+			
+			for(int i = 0;i < 8;i++) {
+				threads.add(new Thread(() -> {
+					started.countDown();
+					try {
+						for(;;) {
+							prototypeBeans.add(moduleA.getBean("prototypeStrategyBean"));
+						}
+					}
+					catch(RuntimeException e) {
+						// The module has been stopped
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			started.await();
+			Thread.sleep(20);
+		} 
+		finally {
+			moduleA.stop();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		Assertions.assertFalse(prototypeBeans.isEmpty());
+		// Instances issued while the module was stopping are destroyed as well
+		for(Object prototypeBean : prototypeBeans) {
+			Assertions.assertEquals(1, prototypeBean.getClass().getField("destroyCount").get(prototypeBean));
+		}
+	}
+	
+	@Test
+	public void testDestroyOnReclaim() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, InvernoCompilationException, InterruptedException, ClassNotFoundException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULED);
+		InvernoModuleProxy moduleD = moduleLoader.load(MODULED).build();
+		
+		AtomicInteger globalDestroyCount = (AtomicInteger)moduleLoader.loadClass(MODULED, "io.inverno.core.test.lifecycle.moduleD.ReclaimableWrapperBean").getField("globalDestroyCount").get(null);
+		
+		Object prototypeBean = null;
+		try {
+			moduleD.start();
+			
+			prototypeBean = moduleD.getBean("reclaimableWrapperBean");
+			for(int i = 0;i < 10;i++) {
+				moduleD.getBean("reclaimableWrapperBean");
+			}
+			
+			for(int i = 0;i < 100 && globalDestroyCount.get() < 10;i++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			// Unreferenced instances are destroyed once reclaimed by the garbage collector
+			Assertions.assertEquals(10, globalDestroyCount.get());
+		} 
+		finally {
+			moduleD.stop();
+		}
+		Assertions.assertNotNull(prototypeBean);
+		// The remaining instance is destroyed when the module is stopped
+		Assertions.assertEquals(11, globalDestroyCount.get());
+	}
+	
+	@Test
+	public void testDestroyOnReclaimNullInstance() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, InvernoCompilationException, ClassNotFoundException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULED);
+		InvernoModuleProxy moduleD = moduleLoader.load(MODULED).build();
+		
+		AtomicInteger globalDestroyCount = (AtomicInteger)moduleLoader.loadClass(MODULED, "io.inverno.core.test.lifecycle.moduleD.NullReclaimableWrapperBean").getField("globalDestroyCount").get(null);
+		
+		try {
+			moduleD.start();
+			
+			Assertions.assertNull(moduleD.getBean("nullReclaimableWrapperBean"));
+			// A wrapper supplying no instance is destroyed right away
+			Assertions.assertEquals(1, globalDestroyCount.get());
+		} 
+		finally {
+			moduleD.stop();
+		}
+		Assertions.assertEquals(1, globalDestroyCount.get());
+	}
 }
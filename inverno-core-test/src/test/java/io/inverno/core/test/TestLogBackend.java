@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestLogBackend extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.logbackend";
+	
+	private static final String PROPERTY_LOG_BACKEND = "inverno.core.log_backend";
+	
+	private List<String> systemMessages;
+	
+	private Handler systemHandler;
+	
+	private String logBackend;
+	
+	@BeforeEach
+	public void registerSystemHandler() {
+		// The log4j backend is selected for all tests by AbstractInvernoTest
+		this.logBackend = System.getProperty(PROPERTY_LOG_BACKEND);
+		System.clearProperty(PROPERTY_LOG_BACKEND);
+		
+		// The System.Logger backend logs to java.util.logging by default
+		this.systemMessages = new CopyOnWriteArrayList<>();
+		this.systemHandler = new Handler() {
+			
+			@Override
+			public void publish(LogRecord record) {
+				systemMessages.add(record.getLevel() + " " + record.getMessage());
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() throws SecurityException {
+			}
+		};
+		Logger.getLogger("").addHandler(this.systemHandler);
+	}
+	
+	@AfterEach
+	public void unregisterSystemHandler() {
+		Logger.getLogger("").removeHandler(this.systemHandler);
+		if(this.logBackend != null) {
+			System.setProperty(PROPERTY_LOG_BACKEND, this.logBackend);
+		}
+		else {
+			System.clearProperty(PROPERTY_LOG_BACKEND);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Starts and stops the test module, the log backend being resolved in the new
+	 * module layer.
+	 * </p>
+	 * 
+	 * @return the messages logged by the custom backend
+	 */
+	@SuppressWarnings("unchecked")
+	private List<String> runModule() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		List<String> customMessages = (List<String>)moduleLoader.loadClass(MODULE, "io.inverno.core.test.logbackend.RecordingLogBackend").getField("MESSAGES").get(null);
+		
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		module.start();
+		module.stop();
+		return customMessages;
+	}
+	
+	private boolean isModuleStartLogged(List<String> messages) {
+		return messages.stream().anyMatch(message -> message.contains("Starting Module " + MODULE));
+	}
+	
+	@Test
+	public void testCustomBackend() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		// A custom backend is preferred over the built-in backends
+		List<String> customMessages = this.runModule();
+		Assertions.assertTrue(this.isModuleStartLogged(customMessages));
+		Assertions.assertFalse(this.isModuleStartLogged(this.systemMessages));
+	}
+	
+	@Test
+	public void testExplicitProvider() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		System.setProperty(PROPERTY_LOG_BACKEND, "recording");
+		List<String> customMessages = this.runModule();
+		Assertions.assertTrue(this.isModuleStartLogged(customMessages));
+		Assertions.assertFalse(this.isModuleStartLogged(this.systemMessages));
+	}
+	
+	@Test
+	public void testSystemBackend() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		// The built-in backend is selected over the custom backend
+		System.setProperty(PROPERTY_LOG_BACKEND, "system");
+		List<String> customMessages = this.runModule();
+		Assertions.assertFalse(this.isModuleStartLogged(customMessages));
+		Assertions.assertTrue(this.isModuleStartLogged(this.systemMessages));
+	}
+	
+	@Test
+	public void testLog4jAbsent() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		// Log4j is an optional dependency of the core runtime which is not resolved in the test module layer
+		System.setProperty(PROPERTY_LOG_BACKEND, "log4j");
+		List<String> customMessages = this.runModule();
+		Assertions.assertFalse(this.isModuleStartLogged(customMessages));
+		Assertions.assertTrue(this.systemMessages.contains("WARNING Log backend log4j is not available, using system"));
+		Assertions.assertTrue(this.isModuleStartLogged(this.systemMessages));
+	}
+	
+	@Test
+	public void testNoOpBackend() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		System.setProperty(PROPERTY_LOG_BACKEND, "noop");
+		List<String> customMessages = this.runModule();
+		Assertions.assertEquals(List.of(), customMessages);
+		Assertions.assertFalse(this.isModuleStartLogged(this.systemMessages));
+	}
+}
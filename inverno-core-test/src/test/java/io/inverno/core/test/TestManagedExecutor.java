@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestManagedExecutor extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.executor";
+	
+	private static final String MODULE_MANAGEDEXECUTOR = "io.inverno.core.test.managedexecutor";
+	
+	private static final String MANAGED_EXECUTOR_CLASS = "io.inverno.core.v1.ManagedExecutor";
+	
+	@Test
+	public void testDrainOnStop() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		Class<?> managedExecutorClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS);
+		
+		module.start();
+		ExecutorService executor;
+		Object jobBean;
+		try {
+			executor = (ExecutorService)module.getBean("workerExecutor");
+			jobBean = module.getBean("jobBean");
+			jobBean.getClass().getMethod("submit", int.class, long.class).invoke(jobBean, 10, 50L);
+			
+			// 2 threads executing 10 tasks
+			Assertions.assertEquals(10L, managedExecutorClass.getMethod("getSubmittedTaskCount").invoke(executor));
+			Assertions.assertTrue((long)managedExecutorClass.getMethod("getQueueDepth").invoke(executor) > 0);
+			Assertions.assertTrue((long)managedExecutorClass.getMethod("getActiveCount").invoke(executor) <= 2);
+		}
+		finally {
+			module.stop();
+		}
+		
+		// The executor is drained once the beans using it have been destroyed
+		Assertions.assertEquals(List.of("jobBean", "workerExecutor"), recorder.getDestroyed());
+		Assertions.assertTrue(executor.isTerminated());
+		Assertions.assertEquals(10, jobBean.getClass().getMethod("getCompletedCount").invoke(jobBean));
+		Assertions.assertEquals(10L, managedExecutorClass.getMethod("getCompletedTaskCount").invoke(executor));
+		Assertions.assertEquals(0L, managedExecutorClass.getMethod("getQueueDepth").invoke(executor));
+		Assertions.assertEquals(0L, managedExecutorClass.getMethod("getActiveCount").invoke(executor));
+		Assertions.assertTrue((long)managedExecutorClass.getMethod("getAverageWaitTime").invoke(executor) > 0);
+		Assertions.assertTrue((long)managedExecutorClass.getMethod("getAverageExecutionTime").invoke(executor) >= TimeUnit.MILLISECONDS.toNanos(50));
+	}
+	
+	@Test
+	public void testDestroyManagedExecutors() throws IOException, InvernoCompilationException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE_MANAGEDEXECUTOR);
+		InvernoModuleProxy module = moduleLoader.load(MODULE_MANAGEDEXECUTOR).build();
+		
+		module.start();
+		ExecutorService prototypeExecutor;
+		ExecutorService wrappedExecutor;
+		try {
+			prototypeExecutor = (ExecutorService)module.getBean("prototypeExecutor");
+			wrappedExecutor = (ExecutorService)module.getBean("wrappedExecutor");
+			Assertions.assertFalse(prototypeExecutor.isShutdown());
+			Assertions.assertFalse(wrappedExecutor.isShutdown());
+		}
+		finally {
+			module.stop();
+		}
+		
+		// Managed executors are shut down without destroy methods, including prototype and wrapper beans
+		Assertions.assertTrue(prototypeExecutor.isTerminated());
+		Assertions.assertTrue(wrappedExecutor.isTerminated());
+	}
+	
+	@Test
+	public void testQueueDepthOnShutdownNow() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		Class<?> managedExecutorClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS);
+		Class<?> typeClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS + "$Type");
+		Constructor<?> constructor = managedExecutorClass.getConstructor(String.class, typeClass, int.class);
+		
+		ExecutorService executor = (ExecutorService)constructor.newInstance("platform", typeClass.getField("PLATFORM").get(null), 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+		for(int i = 0;i < 3;i++) {
+			executor.execute(() -> {});
+		}
+		Assertions.assertEquals(3L, managedExecutorClass.getMethod("getQueueDepth").invoke(executor));
+		
+		// Tasks discarded by shutdownNow() are no longer waiting to be executed
+		Assertions.assertEquals(3, executor.shutdownNow().size());
+		Assertions.assertEquals(0L, managedExecutorClass.getMethod("getQueueDepth").invoke(executor));
+		Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void testDrainTimeout() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		Class<?> managedExecutorClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS);
+		Class<?> typeClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS + "$Type");
+		Constructor<?> constructor = managedExecutorClass.getConstructor(String.class, typeClass, int.class, Duration.class);
+		
+		ExecutorService executor = (ExecutorService)constructor.newInstance("forkjoin", typeClass.getField("FORK_JOIN").get(null), 2, Duration.ofMillis(100));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+		
+		Assertions.assertFalse((boolean)managedExecutorClass.getMethod("shutdownGracefully").invoke(executor));
+		Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void testVirtualThreads() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException, ExecutionException {
+		// Virtual threads are available since Java 21
+		Method isVirtual = null;
+		try {
+			isVirtual = Thread.class.getMethod("isVirtual");
+		}
+		catch(NoSuchMethodException e) {
+			// not supported
+		}
+		Assumptions.assumeTrue(isVirtual != null, "Virtual threads are not supported");
+		
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		Class<?> managedExecutorClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS);
+		Class<?> typeClass = moduleLoader.loadClass(MODULE, MANAGED_EXECUTOR_CLASS + "$Type");
+		Constructor<?> constructor = managedExecutorClass.getConstructor(String.class, typeClass);
+		
+		ExecutorService executor = (ExecutorService)constructor.newInstance("virtual", typeClass.getField("VIRTUAL").get(null));
+		Method threadIsVirtual = isVirtual;
+		Future<Boolean> virtual = executor.submit(() -> (boolean)threadIsVirtual.invoke(Thread.currentThread()));
+		Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+		
+		Assertions.assertTrue(virtual.get());
+		Assertions.assertTrue(name.get().startsWith("virtual-"));
+		Assertions.assertTrue((boolean)managedExecutorClass.getMethod("shutdownGracefully").invoke(executor));
+		Assertions.assertEquals(2L, managedExecutorClass.getMethod("getCompletedTaskCount").invoke(executor));
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleException;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestParallel extends AbstractCoreInvernoTest {
+
+	private static final String MODULEA = "io.inverno.core.test.parallel.moduleA";
+	private static final String MODULEB = "io.inverno.core.test.parallel.moduleB";
+	private static final String MODULEC = "io.inverno.core.test.parallel.moduleC";
+	
+	@Test
+	public void testParallelStart() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleProxy moduleA = this.getInvernoCompiler().compile(MODULEA).load(MODULEA).build();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			moduleA.start(executor);
+			
+			Object concurrentBeanA = moduleA.getBean("concurrentBeanA");
+			Object concurrentBeanB = moduleA.getBean("concurrentBeanB");
+			Object concurrentBeanC = moduleA.getBean("concurrentBeanC");
+			Object dependentBean = moduleA.getBean("dependentBean");
+			
+			Assertions.assertTrue(concurrentBeanA.getClass().getField("concurrent").getBoolean(concurrentBeanA));
+			Assertions.assertTrue(concurrentBeanB.getClass().getField("concurrent").getBoolean(concurrentBeanB));
+			Assertions.assertTrue(concurrentBeanC.getClass().getField("concurrent").getBoolean(concurrentBeanC));
+			Assertions.assertTrue(dependentBean.getClass().getField("dependenciesInitialized").getBoolean(dependentBean));
+		}
+		finally {
+			moduleA.stop();
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testParallelStartFailure() throws IOException, InvernoCompilationException {
+		InvernoModuleProxy moduleB = this.getInvernoCompiler().compile(MODULEB).load(MODULEB).build();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			InvernoModuleException e = Assertions.assertThrows(InvernoModuleException.class, () -> moduleB.start(executor));
+			Assertions.assertEquals("Error initializing bean failingBean", e.getCause().getMessage());
+			Assertions.assertEquals("Failing bean", e.getCause().getCause().getMessage());
+		}
+		finally {
+			moduleB.stop();
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testParallelStop() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleProxy moduleC = this.getInvernoCompiler().compile(MODULEC).load(MODULEC).build();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			moduleC.start();
+			
+			Object stoppableBeanA = moduleC.getBean("stoppableBeanA");
+			Object stoppableBeanB = moduleC.getBean("stoppableBeanB");
+			Object stoppableBeanC = moduleC.getBean("stoppableBeanC");
+			Object dependentBean = moduleC.getBean("dependentBean");
+			Object releasedBean = moduleC.getBean("releasedBean");
+			
+			long t0 = System.nanoTime();
+			moduleC.stop(executor, Duration.ofMillis(500), Duration.ofSeconds(5));
+			Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - t0).compareTo(Duration.ofSeconds(5)) < 0);
+			
+			Assertions.assertTrue(dependentBean.getClass().getField("destroyed").getBoolean(dependentBean));
+			Assertions.assertFalse(dependentBean.getClass().getField("dependenciesDestroyed").getBoolean(dependentBean));
+			
+			Assertions.assertTrue(stoppableBeanA.getClass().getField("destroyed").getBoolean(stoppableBeanA));
+			Assertions.assertTrue(stoppableBeanA.getClass().getField("concurrent").getBoolean(stoppableBeanA));
+			Assertions.assertTrue(stoppableBeanB.getClass().getField("destroyed").getBoolean(stoppableBeanB));
+			Assertions.assertTrue(stoppableBeanB.getClass().getField("concurrent").getBoolean(stoppableBeanB));
+			Assertions.assertTrue(stoppableBeanC.getClass().getField("destroyed").getBoolean(stoppableBeanC));
+			Assertions.assertTrue(stoppableBeanC.getClass().getField("concurrent").getBoolean(stoppableBeanC));
+			
+			// The blocking bean is abandoned after 500ms which releases its dependencies
+			Assertions.assertTrue(releasedBean.getClass().getField("destroyed").getBoolean(releasedBean));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void testParallelStopRejected() throws IOException, InvernoCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleProxy moduleC = this.getInvernoCompiler().compile(MODULEC).load(MODULEC).build();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		executor.shutdown();
+		
+		moduleC.start();
+		
+		Object stoppableBeanA = moduleC.getBean("stoppableBeanA");
+		Object releasedBean = moduleC.getBean("releasedBean");
+		
+		// The executor rejects all destroy tasks which must still be bounded by the timeouts
+		long t0 = System.nanoTime();
+		moduleC.stop(executor, Duration.ofMillis(500), Duration.ofSeconds(5));
+		Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - t0).compareTo(Duration.ofSeconds(5)) < 0);
+		
+		Assertions.assertTrue(stoppableBeanA.getClass().getField("destroyed").getBoolean(stoppableBeanA));
+		Assertions.assertTrue(releasedBean.getClass().getField("destroyed").getBoolean(releasedBean));
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestPinning extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.pinning";
+	
+	private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+	
+	private static final int ACCESS_COUNT = 1000;
+	
+	@Test
+	public void testLazyBeanFromVirtualThreads() throws IOException, InvernoCompilationException, ReflectiveOperationException, InterruptedException, ExecutionException {
+		// Virtual threads are available since Java 21
+		Method newVirtualThreadPerTaskExecutor = null;
+		try {
+			newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		}
+		catch(NoSuchMethodException e) {
+			// not supported
+		}
+		Assumptions.assumeTrue(newVirtualThreadPerTaskExecutor != null, "Virtual threads are not supported");
+		
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		InvernoModuleProxy module = moduleLoader.load(MODULE).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULE, module);
+		List<String> initialized = recorder.getInitialized();
+		List<String> destroyed = recorder.getDestroyed();
+		
+		Path recordingPath = Files.createTempFile("inverno-pinning", ".jfr");
+		try(Recording recording = new Recording()) {
+			recording.enable(VIRTUAL_THREAD_PINNED_EVENT).withThreshold(Duration.ofMillis(10)).withStackTrace();
+			recording.start();
+			
+			module.start();
+			try {
+				// Lazy beans are created on first access by one virtual thread, the others wait for them
+				ExecutorService executor = (ExecutorService)newVirtualThreadPerTaskExecutor.invoke(null);
+				List<Future<Object>> beans = new ArrayList<>(ACCESS_COUNT);
+				try {
+					for(int i = 0;i < ACCESS_COUNT;i++) {
+						beans.add(executor.submit(() -> module.getBean("serviceBean")));
+					}
+					Map<Object, Boolean> instances = new IdentityHashMap<>();
+					for(Future<Object> bean : beans) {
+						instances.put(bean.get(), true);
+					}
+					Assertions.assertEquals(1, instances.size());
+				}
+				finally {
+					executor.shutdown();
+					executor.awaitTermination(10, TimeUnit.SECONDS);
+				}
+				Assertions.assertEquals(List.of("storeBean", "serviceBean"), initialized);
+			}
+			finally {
+				module.stop();
+			}
+			Assertions.assertEquals(List.of("serviceBean", "storeBean"), destroyed);
+			
+			recording.stop();
+			recording.dump(recordingPath);
+			
+			// Carrier threads must not be pinned while creating beans
+			List<RecordedEvent> pinnedEvents = RecordingFile.readAllEvents(recordingPath).stream()
+				.filter(event -> event.getEventType().getName().equals(VIRTUAL_THREAD_PINNED_EVENT))
+				.filter(event -> event.getStackTrace() != null && event.getStackTrace().getFrames().stream().anyMatch(frame -> frame.getMethod().getType().getName().startsWith("io.inverno.core")))
+				.collect(Collectors.toList());
+			Assertions.assertEquals(List.of(), pinnedEvents);
+		}
+		finally {
+			Files.deleteIfExists(recordingPath);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestPooled extends AbstractCoreInvernoTest {
+
+	private static final String MODULEA = "io.inverno.core.test.pooled.moduleA";
+	
+	@Test
+	public void testPooled() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, NoSuchMethodException, InvocationTargetException, InterruptedException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULEA);
+		InvernoModuleProxy moduleA = moduleLoader.load(MODULEA).build();
+		
+		Class<?> poolClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.v1.Pool");
+		Method lease = poolClass.getMethod("lease");
+		Method release = poolClass.getMethod("release", Object.class);
+		Method size = poolClass.getMethod("size");
+		Method idleCount = poolClass.getMethod("idleCount");
+		
+		Class<?> pooledBeanClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.test.pooled.moduleA.PooledBean");
+		AtomicInteger globalInitCount = (AtomicInteger)pooledBeanClass.getField("globalInitCount").get(null);
+		AtomicInteger globalDestroyCount = (AtomicInteger)pooledBeanClass.getField("globalDestroyCount").get(null);
+		
+		Object lastInstance = null;
+		try {
+			moduleA.start();
+			
+			Object poolUserBean = moduleA.getBean("poolUserBean");
+			Object pool = poolUserBean.getClass().getField("pool").get(poolUserBean);
+			Assertions.assertNotNull(pool);
+			Assertions.assertEquals(0, size.invoke(pool));
+			
+			Object instance1 = lease.invoke(pool);
+			Object instance2 = lease.invoke(pool);
+			Assertions.assertNotSame(instance1, instance2);
+			Assertions.assertEquals(2, globalInitCount.get());
+			Assertions.assertTrue((boolean)pooledBeanClass.getField("initialized").get(instance1));
+			
+			// Pool is exhausted and configured to fail fast
+			InvocationTargetException e = Assertions.assertThrows(InvocationTargetException.class, () -> lease.invoke(pool));
+			Assertions.assertEquals(IllegalStateException.class, e.getCause().getClass());
+			
+			// Released instances are reused
+			release.invoke(pool, instance1);
+			Assertions.assertSame(instance1, lease.invoke(pool));
+			Assertions.assertEquals(2, globalInitCount.get());
+			
+			e = Assertions.assertThrows(InvocationTargetException.class, () -> release.invoke(pool, new Object()));
+			Assertions.assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+			
+			release.invoke(pool, instance1);
+			release.invoke(pool, instance2);
+			Assertions.assertEquals(2, idleCount.invoke(pool));
+			
+			// Idle instances are evicted and destroyed once they exceed the max idle time
+			Thread.sleep(300);
+			lastInstance = lease.invoke(pool);
+			Assertions.assertNotSame(instance1, lastInstance);
+			Assertions.assertNotSame(instance2, lastInstance);
+			Assertions.assertEquals(2, globalDestroyCount.get());
+			Assertions.assertEquals(1, size.invoke(pool));
+		}
+		finally {
+			moduleA.stop();
+		}
+		// Leased instances are destroyed when the module is stopped
+		Assertions.assertEquals(3, globalInitCount.get());
+		Assertions.assertEquals(3, globalDestroyCount.get());
+		Assertions.assertTrue((boolean)pooledBeanClass.getField("destroyed").get(lastInstance));
+	}
+	
+	@Test
+	public void testPooledDestroyFailure() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, NoSuchMethodException, InvocationTargetException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULEA);
+		InvernoModuleProxy moduleA = moduleLoader.load(MODULEA).build();
+		
+		Class<?> poolClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.v1.Pool");
+		Method lease = poolClass.getMethod("lease");
+		
+		Class<?> pooledBeanClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.test.pooled.moduleA.PooledBean");
+		AtomicInteger globalDestroyCount = (AtomicInteger)pooledBeanClass.getField("globalDestroyCount").get(null);
+		
+		Object instance1 = null;
+		Object instance2 = null;
+		try {
+			moduleA.start();
+			
+			Object poolUserBean = moduleA.getBean("poolUserBean");
+			Object pool = poolUserBean.getClass().getField("pool").get(poolUserBean);
+			
+			instance1 = lease.invoke(pool);
+			instance2 = lease.invoke(pool);
+			pooledBeanClass.getField("failOnDestroy").set(instance1, true);
+			pooledBeanClass.getField("failOnDestroy").set(instance2, true);
+		}
+		finally {
+			moduleA.stop();
+		}
+		// All instances are destroyed even though their destruction fails
+		Assertions.assertEquals(2, globalDestroyCount.get());
+		Assertions.assertTrue((boolean)pooledBeanClass.getField("destroyed").get(instance1));
+		Assertions.assertTrue((boolean)pooledBeanClass.getField("destroyed").get(instance2));
+	}
+}
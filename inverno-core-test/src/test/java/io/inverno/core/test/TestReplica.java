@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestReplica extends AbstractCoreInvernoTest {
+
+	private static final String MODULEA = "io.inverno.core.test.replica.moduleA";
+	private static final String MODULEB = "io.inverno.core.test.replica.moduleB";
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void testReplicate() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, InvocationTargetException, NoSuchMethodException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULEA, MODULEB);
+		InvernoModuleProxy module = moduleLoader.load(MODULEB).build();
+		
+		Class moduleAClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.test.replica.moduleA.ModuleA");
+		
+		Assertions.assertThrows(InvernoModuleException.class, () -> module.replicate(moduleAClass, 2));
+		
+		module.start();
+		Set<Object> codecs = new HashSet<>();
+		try {
+			List<?> replicas = module.replicate(moduleAClass, 3);
+			Assertions.assertEquals(3, replicas.size());
+			
+			Object counterBean = module.getBean("counterBean");
+			for(int i = 0;i < replicas.size();i++) {
+				Object replica = replicas.get(i);
+				Assertions.assertEquals(MODULEA + "#" + i, replica.getClass().getMethod("getName").invoke(replica));
+				
+				Object parserBean = replica.getClass().getMethod("parserBean").invoke(replica);
+				Assertions.assertSame(parserBean, replica.getClass().getMethod("parserBean").invoke(replica));
+				// singletons of the including module are shared
+				Assertions.assertSame(counterBean, parserBean.getClass().getField("counter").get(parserBean));
+				codecs.add(parserBean.getClass().getField("codec").get(parserBean));
+			}
+			// each replica has its own copies of the component module beans
+			Assertions.assertEquals(3, codecs.size());
+		}
+		finally {
+			module.stop();
+		}
+		
+		List<Object> destroyedCodecs = (List<Object>)moduleLoader.loadClass(MODULEA, "io.inverno.core.test.replica.moduleA.CodecBean").getField("DESTROYED").get(null);
+		Assertions.assertTrue(destroyedCodecs.containsAll(codecs));
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void testRestartReplicatedModule() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, InvocationTargetException, NoSuchMethodException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULEA, MODULEB);
+		InvernoModuleProxy module = moduleLoader.load(MODULEB).build();
+		
+		Class moduleAClass = moduleLoader.loadClass(MODULEA, "io.inverno.core.test.replica.moduleA.ModuleA");
+		List<Object> destroyedCodecs = (List<Object>)moduleLoader.loadClass(MODULEA, "io.inverno.core.test.replica.moduleA.CodecBean").getField("DESTROYED").get(null);
+		
+		module.start();
+		try {
+			Set<Object> codecs = new HashSet<>();
+			for(Object replica : module.replicate(moduleAClass, 2)) {
+				Object parserBean = replica.getClass().getMethod("parserBean").invoke(replica);
+				codecs.add(parserBean.getClass().getField("codec").get(parserBean));
+			}
+			Assertions.assertEquals(2, codecs.size());
+			
+			module.restartModule(MODULEA);
+			// the beans of the replicas are destroyed when the replicated module is restarted
+			Assertions.assertTrue(destroyedCodecs.containsAll(codecs));
+			
+			// replicas are created again from index 0
+			List<?> replicas = module.replicate(moduleAClass, 1);
+			Object replica = replicas.get(0);
+			Assertions.assertEquals(MODULEA + "#0", replica.getClass().getMethod("getName").invoke(replica));
+			Object parserBean = replica.getClass().getMethod("parserBean").invoke(replica);
+			Assertions.assertFalse(codecs.contains(parserBean.getClass().getField("codec").get(parserBean)));
+		}
+		finally {
+			module.stop();
+		}
+	}
+}
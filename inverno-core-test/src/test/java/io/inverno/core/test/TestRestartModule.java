@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleException;
+import io.inverno.test.InvernoModuleLoader;
+import io.inverno.test.InvernoModuleProxy;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestRestartModule extends AbstractCoreInvernoTest {
+
+	private static final String MODULEA = "io.inverno.core.test.restart.moduleA";
+	private static final String MODULEB = "io.inverno.core.test.restart.moduleB";
+	
+	@Test
+	public void testRestartModule() throws IOException, InvernoCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULEA, MODULEB);
+		InvernoModuleProxy module = moduleLoader.load(MODULEB).build();
+		
+		BeanLifecycleRecorder recorder = BeanLifecycleRecorder.register(moduleLoader, MODULEB, module);
+		List<String> created = recorder.getCreated();
+		List<String> destroyed = recorder.getDestroyed();
+		
+		Assertions.assertThrows(InvernoModuleException.class, () -> module.restartModule(MODULEA));
+		
+		module.start();
+		try {
+			Object routerBean = module.getBean("routerBean");
+			Supplier<?> rules = (Supplier<?>)routerBean.getClass().getField("rules").get(routerBean);
+			Object rulesBean = rules.get();
+			Assertions.assertEquals(List.of("rulesBean", "routerBean", "holderBean"), created);
+			
+			Assertions.assertThrows(InvernoModuleException.class, () -> module.restartModule("io.inverno.core.test.restart.unknown"));
+			
+			module.restartModule(MODULEA);
+			
+			// only the beans of the component module are recreated
+			Assertions.assertEquals(List.of("rulesBean", "routerBean", "holderBean", "rulesBean"), created);
+			Assertions.assertEquals(List.of("rulesBean"), destroyed);
+			Assertions.assertSame(routerBean, module.getBean("routerBean"));
+			
+			// lazy sockets provide the new instance, regular sockets keep the previous one
+			Assertions.assertNotSame(rulesBean, rules.get());
+			Object holderBean = module.getBean("holderBean");
+			Assertions.assertSame(rulesBean, holderBean.getClass().getField("rules").get(holderBean));
+		}
+		finally {
+			module.stop();
+		}
+		Assertions.assertEquals(List.of("rulesBean", "rulesBean", "holderBean", "routerBean"), destroyed);
+	}
+}
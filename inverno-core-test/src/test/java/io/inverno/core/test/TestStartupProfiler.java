@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+import io.inverno.test.InvernoModuleLoader;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestStartupProfiler extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.profiler";
+	
+	@Test
+	public void testStartupReport() throws IOException, InvernoCompilationException, ReflectiveOperationException {
+		InvernoModuleLoader moduleLoader = this.getInvernoCompiler().compile(MODULE);
+		
+		Class<?> moduleBuilderClass = moduleLoader.loadClass(MODULE, "io.inverno.core.test.profiler.Profiler$Builder");
+		Class<?> applicationClass = moduleLoader.loadClass(MODULE, "io.inverno.core.v1.Application");
+		Class<?> bannerClass = moduleLoader.loadClass(MODULE, "io.inverno.core.v1.Banner");
+		
+		Path reportDirectory = Files.createTempDirectory("inverno-startup");
+		try {
+			Object application = applicationClass.getMethod("with", moduleLoader.loadClass(MODULE, "io.inverno.core.v1.Module$ModuleBuilder")).invoke(null, moduleBuilderClass.getConstructor().newInstance());
+			applicationClass.getMethod("banner", bannerClass).invoke(application, (Object)null);
+			applicationClass.getMethod("startupReport", Path.class).invoke(application, reportDirectory);
+			Object module = applicationClass.getMethod("run").invoke(application);
+			Method stop = module.getClass().getMethod("stop");
+			stop.invoke(module);
+			
+			String report = new String(Files.readAllBytes(reportDirectory.resolve("startup-report.txt")), StandardCharsets.UTF_8);
+			String trace = new String(Files.readAllBytes(reportDirectory.resolve("startup-trace.json")), StandardCharsets.UTF_8);
+			
+			// The critical path is the chain of dependent beans with the longest cumulated time
+			List<String> criticalPath = new ArrayList<>();
+			Matcher criticalPathMatcher = Pattern.compile("(?s)Critical path \\([0-9.]+ms\\):\\R(.*?)\\R\\R").matcher(report);
+			Assertions.assertTrue(criticalPathMatcher.find(), report);
+			for(String line : criticalPathMatcher.group(1).split("\\R")) {
+				criticalPath.add(line.trim().split("\\s+")[1]);
+			}
+			Assertions.assertEquals(List.of(MODULE + ":beanA", MODULE + ":beanB", MODULE + ":beanC"), criticalPath, report);
+			
+			// The bean created after the failed creation is triggered by the bean that created it
+			Assertions.assertTrue(report.contains(MODULE + ":prototypeBean <- " + MODULE + ":beanC"), report);
+			Assertions.assertFalse(report.contains(MODULE + ":failingBean"), report);
+			
+			Assertions.assertTrue(trace.startsWith("{\"traceEvents\":["), trace);
+			Assertions.assertTrue(trace.contains("\"name\":\"" + MODULE + ":prototypeBean\""), trace);
+			Assertions.assertTrue(trace.contains("\"trigger\":\"" + MODULE + ":beanC\""), trace);
+			Assertions.assertFalse(trace.contains("failingBean"), trace);
+			Matcher traceCriticalPathMatcher = Pattern.compile("\"criticalPath\":\\{\"duration\":[0-9]+,\"beans\":\\[\\s*\\{\"name\":\"([^\"]+)\".*?\\{\"name\":\"([^\"]+)\".*?\\{\"name\":\"([^\"]+)\".*?\\]\\}\\}\\s*$", Pattern.DOTALL).matcher(trace);
+			Assertions.assertTrue(traceCriticalPathMatcher.find(), trace);
+			Assertions.assertEquals(criticalPath, List.of(traceCriticalPathMatcher.group(1), traceCriticalPathMatcher.group(2), traceCriticalPathMatcher.group(3)));
+			Assertions.assertEquals(countOccurrences(trace, '{'), countOccurrences(trace, '}'));
+			Assertions.assertEquals(countOccurrences(trace, '['), countOccurrences(trace, ']'));
+		}
+		finally {
+			try(Stream<Path> paths = Files.walk(reportDirectory)) {
+				paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+	
+	private static long countOccurrences(String value, char c) {
+		return value.chars().filter(ch -> ch == c).count();
+	}
+}
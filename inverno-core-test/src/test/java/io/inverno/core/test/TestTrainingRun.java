@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.inverno.test.InvernoCompilationException;
+
+/**
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ *
+ */
+public class TestTrainingRun extends AbstractCoreInvernoTest {
+
+	private static final String MODULE = "io.inverno.core.test.trainingrun";
+	
+	@Test
+	public void testTrainingRun() throws IOException, InvernoCompilationException, InterruptedException {
+		this.getInvernoCompiler().compile(MODULE);
+		
+		String modulePath = Stream.concat(Stream.of(this.getInvernoCompiler().getModuleOutputPath()), this.getInvernoCompiler().getModulePaths().stream())
+			.map(File::getAbsolutePath)
+			.collect(Collectors.joining(File.pathSeparator));
+		
+		Path pidfile = Files.createTempDirectory("inverno-training").resolve("application.pid");
+		try {
+			// A training run exits the virtual machine, it must then be executed in a separate process
+			Process process = new ProcessBuilder(
+					Paths.get(System.getProperty("java.home"), "bin", "java").toString(), 
+					"-Dinverno.application.training_run=true",
+					"-Dinverno.application.pid_file=" + pidfile,
+					"--module-path", modulePath, 
+					"--module", MODULE + "/" + MODULE + ".Main"
+				)
+				.redirectErrorStream(true)
+				.start();
+			
+			String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+			Assertions.assertTrue(process.waitFor(60, TimeUnit.SECONDS), output);
+			Assertions.assertEquals(0, process.exitValue(), output);
+			
+			List<String> lines = Arrays.stream(output.split("\\R"))
+				.map(line -> line.contains("Training run of Application " + MODULE + " completed") ? "completed" : line)
+				.filter(line -> line.startsWith("init ") || line.startsWith("destroy ") || line.equals("completed") || line.equals("application running"))
+				.collect(Collectors.toList());
+			
+			// The module is started, warmed up and then stopped by the shutdown hook, run() never returns
+			Assertions.assertEquals(List.of("init eagerBean", "init lazyBean", "completed", "destroy lazyBean", "destroy eagerBean"), lines, output);
+			Assertions.assertFalse(Files.exists(pidfile), output);
+		}
+		finally {
+			Files.deleteIfExists(pidfile);
+			Files.deleteIfExists(pidfile.getParent());
+		}
+	}
+}
@@ -27,6 +27,7 @@ module io.inverno.core.test {
 	
 	requires java.sql;
 	requires jdk.httpserver;
+	requires jdk.jfr;
 	requires io.inverno.test;
 	requires io.inverno.core;
 	requires io.inverno.core.compiler;
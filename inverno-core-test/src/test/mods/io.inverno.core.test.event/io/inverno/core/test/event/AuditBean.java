@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.event;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.EventListener;
+
+@Bean(lazy = true)
+public class AuditBean {
+
+	private final EventLog eventLog;
+	
+	public AuditBean(EventLog eventLog) {
+		this.eventLog = eventLog;
+	}
+	
+	@EventListener
+	public void onConfigEvent(ConfigEvent event) {
+		this.eventLog.record("auditBean:" + event.getSource());
+	}
+	
+	@EventListener
+	public void onMessage(String message) {
+		this.eventLog.record("auditBean:" + message);
+	}
+}
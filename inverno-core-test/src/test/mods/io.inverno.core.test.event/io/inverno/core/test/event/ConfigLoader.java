@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.event;
+
+import java.util.concurrent.Executor;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.v1.EventPublisher;
+
+@Bean
+public class ConfigLoader {
+
+	private final EventPublisher<ConfigReloaded> reloadedPublisher;
+	
+	private EventPublisher<Integer> countPublisher;
+	
+	public ConfigLoader(EventPublisher<ConfigReloaded> reloadedPublisher) {
+		this.reloadedPublisher = reloadedPublisher;
+	}
+	
+	public void setCountPublisher(EventPublisher<Integer> countPublisher) {
+		this.countPublisher = countPublisher;
+	}
+	
+	public EventPublisher<ConfigReloaded> getReloadedPublisher() {
+		return reloadedPublisher;
+	}
+	
+	public EventPublisher<Integer> getCountPublisher() {
+		return countPublisher;
+	}
+	
+	public void reload(String source) {
+		this.reloadedPublisher.publish(new ConfigReloaded(source));
+	}
+	
+	public void reload(String source, Executor executor) {
+		this.reloadedPublisher.publish(new ConfigReloaded(source), executor);
+	}
+}
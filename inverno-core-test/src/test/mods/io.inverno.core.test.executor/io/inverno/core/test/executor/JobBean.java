@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.inverno.core.annotation.Bean;
+
+@Bean
+public class JobBean {
+
+	private final ExecutorService executor;
+	
+	private final AtomicInteger completedCount;
+	
+	public JobBean(ExecutorService executor) {
+		this.executor = executor;
+		this.completedCount = new AtomicInteger();
+	}
+	
+	public void submit(int count, long duration) {
+		for(int i = 0;i < count;i++) {
+			this.executor.execute(() -> {
+				try {
+					Thread.sleep(duration);
+					this.completedCount.incrementAndGet();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+	}
+	
+	public int getCompletedCount() {
+		return this.completedCount.get();
+	}
+}
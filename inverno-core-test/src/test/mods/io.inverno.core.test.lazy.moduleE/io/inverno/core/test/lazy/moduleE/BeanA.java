@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.lazy.moduleE;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Lazy;
+
+import java.util.function.Supplier;
+
+@Bean
+public class BeanA {
+	
+	public Supplier<Service> service;
+	
+	public Supplier<BeanC> beanC;
+	
+	public Supplier<BeanB> beanB;
+	
+	public BeanA(@Lazy(memoized = true) Supplier<Service> service, @Lazy(memoized = true) Supplier<BeanC> beanC) {
+		this.service = service;
+		this.beanC = beanC;
+	}
+	
+	public void setBeanB(@Lazy(memoized = true) Supplier<BeanB> beanB) {
+		this.beanB = beanB;
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.lifecycle.moduleD;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Bean.Strategy;
+import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.Wrapper;
+
+@Bean(strategy=Strategy.PROTOTYPE)
+@Wrapper(destroyOnReclaim = true)
+public class ReclaimableWrapperBean implements Supplier<BeanA> {
+
+	public static final AtomicInteger globalDestroyCount = new AtomicInteger();
+	
+	private final WeakReference<BeanA> instance;
+	
+	public ReclaimableWrapperBean() {
+		this.instance = new WeakReference<>(new BeanA());
+	}
+	
+	public BeanA get() {
+		return this.instance.get();
+	}
+	
+	@Destroy
+	public void destroy() {
+		globalDestroyCount.incrementAndGet();
+	}
+}
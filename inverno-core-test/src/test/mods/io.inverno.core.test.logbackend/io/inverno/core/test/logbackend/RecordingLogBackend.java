@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.logbackend;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.inverno.core.v1.LogBackend;
+
+public class RecordingLogBackend implements LogBackend {
+
+	public static final List<String> MESSAGES = new CopyOnWriteArrayList<>();
+	
+	@Override
+	public String getName() {
+		return "recording";
+	}
+	
+	@Override
+	public LogBackend.Logger getLogger(String name) {
+		return new LogBackend.Logger() {
+			
+			@Override
+			public boolean isEnabled(LogBackend.Level level) {
+				return true;
+			}
+			
+			@Override
+			public void log(LogBackend.Level level, String message, Throwable error) {
+				MESSAGES.add(level + " " + message);
+			}
+		};
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.parallel.moduleC;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Destroy;
+
+@Bean
+public class DependentBean {
+
+	private StoppableBeanA beanA;
+	
+	private StoppableBeanB beanB;
+	
+	private StoppableBeanC beanC;
+	
+	public volatile boolean dependenciesDestroyed;
+	
+	public volatile boolean destroyed;
+	
+	public DependentBean(StoppableBeanA beanA, StoppableBeanB beanB, StoppableBeanC beanC) {
+		this.beanA = beanA;
+		this.beanB = beanB;
+		this.beanC = beanC;
+	}
+	
+	@Destroy
+	public void destroy() {
+		this.dependenciesDestroyed = this.beanA.destroyed || this.beanB.destroyed || this.beanC.destroyed;
+		this.destroyed = true;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.pinning;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Init;
+
+@Bean(lazy = true)
+public class ServiceBean {
+
+	private final StoreBean store;
+	
+	public ServiceBean(StoreBean store) {
+		this.store = store;
+	}
+	
+	@Init
+	public void init() throws InterruptedException {
+		Thread.sleep(50);
+	}
+	
+	public StoreBean getStore() {
+		return this.store;
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.pooled.moduleA;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Bean.Strategy;
+import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.Init;
+import io.inverno.core.annotation.Pooled;
+
+@Bean(strategy = Strategy.POOLED, visibility = Bean.Visibility.PRIVATE)
+@Pooled(maxSize = 2, maxIdleTime = 200, timeout = 0)
+public class PooledBean {
+
+	public static final AtomicInteger globalInitCount = new AtomicInteger();
+	
+	public static final AtomicInteger globalDestroyCount = new AtomicInteger();
+	
+	public boolean initialized;
+	
+	public boolean destroyed;
+	
+	public boolean failOnDestroy;
+	
+	@Init
+	public void init() {
+		this.initialized = true;
+		globalInitCount.incrementAndGet();
+	}
+	
+	@Destroy
+	public void destroy() {
+		this.destroyed = true;
+		globalDestroyCount.incrementAndGet();
+		if(this.failOnDestroy) {
+			throw new IllegalStateException("Failed to destroy pooled bean");
+		}
+	}
+}
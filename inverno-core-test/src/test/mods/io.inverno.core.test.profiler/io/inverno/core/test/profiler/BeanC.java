@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.profiler;
+
+import java.util.function.Supplier;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Lazy;
+
+@Bean
+public class BeanC {
+
+	public Object prototypeBean;
+	
+	public BeanC(BeanB beanB, @Lazy Supplier<FailingBean> failingBean, @Lazy Supplier<PrototypeBean> prototypeBean) {
+		try {
+			failingBean.get();
+		}
+		catch(RuntimeException e) {
+			// the failed creation must not affect the beans created next
+		}
+		this.prototypeBean = prototypeBean.get();
+	}
+}
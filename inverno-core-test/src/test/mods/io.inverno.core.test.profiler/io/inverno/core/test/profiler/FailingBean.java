@@ -0,0 +1,27 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.profiler;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Bean.Strategy;
+
+@Bean(strategy = Strategy.PROTOTYPE, visibility = Bean.Visibility.PRIVATE)
+public class FailingBean {
+
+	public FailingBean() {
+		throw new IllegalStateException("Failing bean");
+	}
+}
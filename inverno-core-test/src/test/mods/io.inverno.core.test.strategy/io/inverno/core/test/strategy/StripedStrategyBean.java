@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.test.strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.inverno.core.annotation.Bean.Strategy;
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.Striped;
+
+@Bean(strategy=Strategy.STRIPED)
+@Striped(stripes=3)
+public class StripedStrategyBean {
+
+	public static final AtomicInteger globalDestroyCount = new AtomicInteger();
+	
+	@Destroy
+	public void destroy() {
+		globalDestroyCount.incrementAndGet();
+	}
+}
@@ -17,6 +17,9 @@ package io.inverno.core.v1;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 import io.inverno.core.v1.Module.Bean;
@@ -53,6 +56,12 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	 * instance creation and dependency injection.
 	 */
 	protected List<FallibleConsumer<T>> inits;
+	
+	/**
+	 * The list of asynchronous bean initialization operations that must be
+	 * executed after the bean initialization operations.
+	 */
+	protected List<FallibleFunction<T, CompletionStage<?>>> asyncInits;
 
 	/**
 	 * The list of bean destructions operations that must be executed after a bean
@@ -72,8 +81,10 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 		this.beanName = beanName;
 		this.constructor = constructor;
 
-		this.inits = new ArrayList<>();
-		this.destroys = new ArrayList<>();
+		// Lists are allocated when the first operation is added since most beans have none or only a few of them
+		this.inits = List.of();
+		this.asyncInits = List.of();
+		this.destroys = List.of();
 	}
 
 	/**
@@ -82,17 +93,243 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	@SuppressWarnings("unchecked")
 	@Override
 	public B init(FallibleConsumer<T> init) {
+		if(this.inits.isEmpty()) {
+			this.inits = new ArrayList<>(1);
+		}
 		this.inits.add(init);
 		return (B)this;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public B asyncInit(FallibleFunction<T, CompletionStage<?>> init) {
+		if(this.asyncInits.isEmpty()) {
+			this.asyncInits = new ArrayList<>(1);
+		}
+		this.asyncInits.add(init);
+		return (B)this;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@SuppressWarnings("unchecked")
 	@Override
 	public B destroy(FallibleConsumer<T> destroy) {
+		if(this.destroys.isEmpty()) {
+			this.destroys = new ArrayList<>(1);
+		}
 		this.destroys.add(destroy);
 		return (B)this;
 	}
+	
+	/**
+	 * <p>
+	 * Creates and initializes a bean instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * Create and init events are emitted to the listeners of the specified bean
+	 * when at least one bean listener is registered and to the Flight Recorder
+	 * when a recording is running, the instantiation of a prototype bean being
+	 * recorded as a single event. Instances are also recorded in the startup
+	 * profile when one is recorded.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method waits for the asynchronous initialization operations to
+	 * complete.
+	 * </p>
+	 * 
+	 * @param bean   the bean creating the instance
+	 * @param logger the bean logger
+	 * 
+	 * @return a new initialized instance
+	 */
+	protected T newInstance(Bean<?> bean, CoreLogger logger) {
+		if(this.asyncInits.isEmpty() && !bean.isListened() && !FlightRecorderEvents.isRecording() && !StartupProfiler.isProfiling()) {
+			T instance = this.constructor.get();
+			this.initInstance(instance, logger);
+			return instance;
+		}
+		return await(this.newInstanceAsync(bean, logger));
+	}
+	
+	/**
+	 * <p>
+	 * Creates and initializes a bean instance asynchronously.
+	 * </p>
+	 * 
+	 * <p>
+	 * The instance is created and the initialization operations are executed in
+	 * the calling thread, the asynchronous initialization operations are then
+	 * executed in order, each one once the previous one has completed. Init events
+	 * are emitted once the returned future completes.
+	 * </p>
+	 * 
+	 * @param bean   the bean creating the instance
+	 * @param logger the bean logger
+	 * 
+	 * @return a future completed with the new instance once it has been
+	 *         initialized
+	 */
+	protected CompletableFuture<T> newInstanceAsync(Bean<?> bean, CoreLogger logger) {
+		if(!bean.isListened() && !FlightRecorderEvents.isRecording() && !StartupProfiler.isProfiling()) {
+			T instance = this.constructor.get();
+			this.initInstance(instance, logger);
+			return this.asyncInitInstance(instance, logger);
+		}
+		boolean prototype = bean.getStrategy() == BeanEvent.Strategy.PROTOTYPE;
+		Object instantiationEvent = prototype ? FlightRecorderEvents.begin(FlightRecorderEvents.Type.PROTOTYPE_INSTANTIATION) : null;
+		Object createEvent = prototype ? null : FlightRecorderEvents.begin(FlightRecorderEvents.Type.BEAN_CREATE);
+		StartupProfiler.Frame frame = StartupProfiler.begin(bean);
+		try {
+			long t0 = System.nanoTime();
+			T instance = this.constructor.get();
+			long t1 = System.nanoTime();
+			StartupProfiler.constructed(frame);
+			bean.commitRecordedEvent(createEvent);
+			bean.fireEvent(BeanListener::onCreate, t1 - t0);
+			
+			Object initEvent = prototype ? null : FlightRecorderEvents.begin(FlightRecorderEvents.Type.BEAN_INIT);
+			this.initInstance(instance, logger);
+			CompletableFuture<T> initializedInstance = this.asyncInitInstance(instance, logger);
+			StartupProfiler.end(frame);
+			return initializedInstance.thenApply(initialized -> {
+				bean.commitRecordedEvent(initEvent);
+				bean.commitRecordedEvent(instantiationEvent);
+				bean.fireEvent(BeanListener::onInit, System.nanoTime() - t1);
+				return initialized;
+			});
+		}
+		catch(RuntimeException | Error e) {
+			// The beans created next by the thread must not be attached to the failed bean
+			StartupProfiler.abort(frame);
+			throw e;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Invokes the init methods on the specified instance.
+	 * </p>
+	 * 
+	 * @param instance the instance to initialize
+	 * @param logger   the bean logger
+	 */
+	private void initInstance(T instance, CoreLogger logger) {
+		for(int i = 0;i < this.inits.size();i++) {
+			try {
+				this.inits.get(i).accept(instance);
+			} 
+			catch (Exception e) {
+				logger.fatal(() -> "Error initializing bean " + this.beanName, e);
+				throw new RuntimeException("Error initializing bean " + this.beanName, e);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Invokes the asynchronous init methods on the specified instance.
+	 * </p>
+	 * 
+	 * @param instance the instance to initialize
+	 * @param logger   the bean logger
+	 * 
+	 * @return a future completed with the instance once it has been initialized
+	 */
+	private CompletableFuture<T> asyncInitInstance(T instance, CoreLogger logger) {
+		if(this.asyncInits.isEmpty()) {
+			return CompletableFuture.completedFuture(instance);
+		}
+		CompletableFuture<?> initialized = CompletableFuture.completedFuture(null);
+		for(int i = 0;i < this.asyncInits.size();i++) {
+			FallibleFunction<T, CompletionStage<?>> asyncInit = this.asyncInits.get(i);
+			initialized = initialized.thenCompose(ign -> {
+				try {
+					CompletionStage<?> init = asyncInit.apply(instance);
+					return init != null ? init : CompletableFuture.completedFuture(null);
+				}
+				catch (Exception e) {
+					throw new CompletionException(e);
+				}
+			});
+		}
+		return initialized.handle((ign, e) -> {
+			if(e != null) {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				logger.fatal(() -> "Error initializing bean " + this.beanName, cause);
+				throw new RuntimeException("Error initializing bean " + this.beanName, cause);
+			}
+			return instance;
+		});
+	}
+	
+	/**
+	 * <p>
+	 * Waits for the specified future to complete and returns its result.
+	 * </p>
+	 * 
+	 * <p>
+	 * The error that completed the future exceptionally is rethrown as is when it
+	 * is unchecked.
+	 * </p>
+	 * 
+	 * @param <E>    the type of result
+	 * @param future a future
+	 * 
+	 * @return the result of the future
+	 */
+	static <E> E await(CompletableFuture<E> future) {
+		try {
+			return future.join();
+		}
+		catch(CompletionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			if(cause instanceof Error) {
+				throw (Error)cause;
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Invokes the destroy methods on the specified instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * A destroy event is emitted to the listeners of the specified bean when at
+	 * least one bean listener is registered and to the Flight Recorder when a
+	 * recording is running.
+	 * </p>
+	 * 
+	 * @param bean     the bean destroying the instance
+	 * @param instance the instance to destroy
+	 * @param logger   the bean logger
+	 */
+	protected void disposeInstance(Bean<?> bean, T instance, CoreLogger logger) {
+		boolean listened = bean.isListened();
+		long t0 = listened ? System.nanoTime() : 0;
+		Object destroyEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.BEAN_DESTROY);
+		for(int i = 0;i < this.destroys.size();i++) {
+			try {
+				this.destroys.get(i).accept(instance);
+			} 
+			catch (Exception e) {
+				logger.warn(() -> "Error destroying bean " + this.beanName, e);
+			}
+		}
+		bean.commitRecordedEvent(destroyEvent);
+		if(listened) {
+			bean.fireEvent(BeanListener::onDestroy, System.nanoTime() - t0);
+		}
+	}
 }
@@ -44,18 +44,23 @@ import io.inverno.core.v1.Module.ModuleBeanBuilder;
  */
 abstract class AbstractModuleBean<T> extends Bean<T> {
 
-	protected Optional<Supplier<T>> override;
+	/**
+	 * The override that, when not null, provides bean instances instead of the
+	 * bean.
+	 */
+	protected final Supplier<T> override;
 	
 	/**
 	 * <p>
 	 * Creates an abstract module bean with the specified name.
 	 * </p>
 	 * 
-	 * @param name the bean name
+	 * @param name     the bean name
+	 * @param override an optional override
 	 */
 	public AbstractModuleBean(String name, Optional<Supplier<T>> override) {
 		super(name);
-		this.override = override;
+		this.override = override.orElse(null);
 	}
 
 	/**
@@ -41,6 +41,11 @@ abstract class AbstractModuleBeanBuilder<T> extends AbstractBeanBuilder<T, Modul
 	 */
 	protected Optional<Supplier<T>> override = Optional.empty();
 	
+	/**
+	 * Indicates whether a singleton bean instance must be created on first request.
+	 */
+	protected boolean lazy;
+	
 	/**
 	 * <p>
 	 * Creates a module bean builder with the specified bean name and constructor.
@@ -61,4 +66,13 @@ abstract class AbstractModuleBeanBuilder<T> extends AbstractBeanBuilder<T, Modul
 		this.override = override != null ? override : Optional.empty();
 		return this;
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ModuleBeanBuilder<T> lazy() {
+		this.lazy = true;
+		return this;
+	}
 }
@@ -41,6 +41,17 @@ abstract class AbstractWrapperBeanBuilder<T, W extends Supplier<T>> extends Abst
 	 * The override that, when present, provides bean instances instead of the builder. 
 	 */
 	protected Optional<Supplier<T>> override = Optional.empty();
+	
+	/**
+	 * Indicates whether wrappers must be destroyed when the bean instances they
+	 * supply are reclaimed by the garbage collector.
+	 */
+	protected boolean destroyOnReclaim;
+	
+	/**
+	 * Indicates whether a singleton bean instance must be created on first request.
+	 */
+	protected boolean lazy;
 
 	/**
 	 * <p>
@@ -62,4 +73,22 @@ abstract class AbstractWrapperBeanBuilder<T, W extends Supplier<T>> extends Abst
 		this.override = override != null ? override : Optional.empty();
 		return this;
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public WrapperBeanBuilder<W, T> destroyOnReclaim() {
+		this.destroyOnReclaim = true;
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public WrapperBeanBuilder<W, T> lazy() {
+		this.lazy = true;
+		return this;
+	}
 }
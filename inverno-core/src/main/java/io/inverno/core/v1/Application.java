@@ -23,10 +23,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -53,6 +58,41 @@ import org.apache.logging.log4j.Logger;
  * designating a valid process already exists.
  * </p>
  * 
+ * <p>
+ * The module is started and stopped sequentially by default, executors can be
+ * specified to start it or stop it in parallel. Timeouts can also be specified
+ * when stopping the module in parallel in order to make sure the shutdown hook
+ * completes in a timely manner.
+ * </p>
+ * 
+ * <p>
+ * A startup report can be generated by specifying a report directory in the
+ * {@value Application#PROPERTY_STARTUP_REPORT} system property or with
+ * {@link #startupReport(Path)}. The wall time, the CPU time and the allocated
+ * bytes of the construction and the initialization of every bean created
+ * during startup are then recorded in order to determine the critical path
+ * through the bean graph. A text report and a trace in the Chrome trace event
+ * format are written to the report directory once the application has
+ * started.
+ * </p>
+ * 
+ * <p>
+ * The lazy beans of the module can be created in the background once the
+ * application has started by enabling the warm-up with
+ * {@link #warmUp(Executor, int)}.
+ * </p>
+ * 
+ * <p>
+ * An application can be run in training mode by setting the
+ * {@value Application#PROPERTY_TRAINING_RUN} system property to true or with
+ * {@link #trainingRun(boolean)}: the module is started, warmed up when the
+ * warm-up is enabled and the virtual machine then exits, the shutdown hook
+ * stopping the module. This exercises the startup and shutdown paths of the
+ * application in order to dump the loaded classes into a class list or a
+ * dynamic AppCDS archive (eg. {@code -XX:ArchiveClassesAtExit}) which is
+ * written once the shutdown hook has completed.
+ * </p>
+ * 
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.0
  * 
@@ -62,10 +102,14 @@ public class Application<T extends Module> {
 
 	private static final String PROPERTY_PID_FILE = "inverno.application.pid_file";
 	
+	private static final String PROPERTY_STARTUP_REPORT = "inverno.application.startup_report";
+	
+	private static final String PROPERTY_TRAINING_RUN = "inverno.application.training_run";
+	
 	/**
 	 * Application logger.
 	 */
-	private static Logger LOGGER = LogManager.getLogger(Application.class);
+	private static CoreLogger LOGGER = CoreLogger.getLogger(Application.class);
 
 	/**
 	 * The wrapped module builder.
@@ -86,6 +130,54 @@ public class Application<T extends Module> {
 	 * Path to the pidfile if one has been specified.
 	 */
 	private Optional<Path> pidfile;
+	
+	/**
+	 * The executor used to start the module in parallel.
+	 */
+	private Executor startExecutor;
+	
+	/**
+	 * The executor used to stop the module in parallel.
+	 */
+	private Executor stopExecutor;
+	
+	/**
+	 * The maximum time to wait for a bean to be destroyed when the module is
+	 * stopped in parallel.
+	 */
+	private Duration stopBeanTimeout;
+	
+	/**
+	 * The maximum time to wait for the module to stop when it is stopped in
+	 * parallel.
+	 */
+	private Duration stopTimeout;
+	
+	/**
+	 * The bean listeners to register in the module.
+	 */
+	private List<BeanListener> beanListeners;
+	
+	/**
+	 * Path to the startup report directory if one has been specified.
+	 */
+	private Optional<Path> startupReport;
+	
+	/**
+	 * The executor used to warm up the module.
+	 */
+	private Executor warmUpExecutor;
+	
+	/**
+	 * The maximum number of beans created concurrently when warming up the
+	 * module, 0 to disable the warm-up.
+	 */
+	private int warmUpConcurrency;
+	
+	/**
+	 * Indicates whether the application is run in training mode.
+	 */
+	private boolean trainingRun;
 
 	/**
 	 * <p>
@@ -98,6 +190,9 @@ public class Application<T extends Module> {
 		this.moduleBuilder = moduleBuilder;
 		this.banner = new StandardBanner();
 		this.pidfile = Optional.ofNullable(System.getProperty(PROPERTY_PID_FILE)).map(Paths::get);
+		this.beanListeners = new ArrayList<>();
+		this.startupReport = Optional.ofNullable(System.getProperty(PROPERTY_STARTUP_REPORT)).map(Paths::get);
+		this.trainingRun = Boolean.getBoolean(PROPERTY_TRAINING_RUN);
 	}
 
 	/**
@@ -147,16 +242,172 @@ public class Application<T extends Module> {
 		return this;
 	}
 
+	/**
+	 * <p>
+	 * Sets the executor used to start the module in parallel.
+	 * </p>
+	 * 
+	 * <p>
+	 * If null is specified the module is started sequentially.
+	 * </p>
+	 * 
+	 * @param executor the executor used to create beans or null to start the
+	 *                 module sequentially
+	 * 
+	 * @return this application.
+	 * 
+	 * @see Module#start(Executor)
+	 */
+	public Application<T> parallelStart(Executor executor) {
+		this.startExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Sets the executor and the timeouts used to stop the module in parallel when
+	 * the virtual machine shuts down.
+	 * </p>
+	 * 
+	 * <p>
+	 * If a null executor is specified the module is stopped sequentially.
+	 * </p>
+	 * 
+	 * @param executor    the executor used to destroy beans or null to stop the
+	 *                    module sequentially
+	 * @param beanTimeout the maximum time to wait for a bean to be destroyed or
+	 *                    null to wait indefinitely
+	 * @param timeout     the maximum time to wait for the module to stop or null to
+	 *                    wait indefinitely
+	 * 
+	 * @return this application.
+	 * 
+	 * @see Module#stop(Executor, Duration, Duration)
+	 */
+	public Application<T> parallelStop(Executor executor, Duration beanTimeout, Duration timeout) {
+		this.stopExecutor = executor;
+		this.stopBeanTimeout = beanTimeout;
+		this.stopTimeout = timeout;
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Adds a bean listener to register in the module before it is started.
+	 * </p>
+	 * 
+	 * @param listener the bean listener
+	 * 
+	 * @return this application.
+	 * 
+	 * @see Module#addBeanListener(BeanListener)
+	 */
+	public Application<T> beanListener(BeanListener listener) {
+		this.beanListeners.add(Objects.requireNonNull(listener, "listener"));
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Sets the directory where to write the startup report.
+	 * </p>
+	 * 
+	 * <p>
+	 * If null is specified no startup report is generated.
+	 * </p>
+	 * 
+	 * @param directory the startup report directory or null to generate no
+	 *                  startup report
+	 * 
+	 * @return this application.
+	 */
+	public Application<T> startupReport(Path directory) {
+		this.startupReport = Optional.ofNullable(directory);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Enables the warm-up of the module using low priority daemon threads.
+	 * </p>
+	 * 
+	 * @param concurrency the maximum number of beans created concurrently or 0 to
+	 *                    disable the warm-up
+	 * 
+	 * @return this application.
+	 * 
+	 * @see Module#warmUp(int)
+	 */
+	public Application<T> warmUp(int concurrency) {
+		return this.warmUp(null, concurrency);
+	}
+	
+	/**
+	 * <p>
+	 * Enables the warm-up of the module once the application has started.
+	 * </p>
+	 * 
+	 * @param executor    the executor used to create beans or null to use low
+	 *                    priority daemon threads
+	 * @param concurrency the maximum number of beans created concurrently or 0 to
+	 *                    disable the warm-up
+	 * 
+	 * @return this application.
+	 * 
+	 * @see Module#warmUp(Executor, int)
+	 */
+	public Application<T> warmUp(Executor executor, int concurrency) {
+		if(concurrency < 0) {
+			throw new IllegalArgumentException("Concurrency must be positive");
+		}
+		this.warmUpExecutor = executor;
+		this.warmUpConcurrency = concurrency;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Enables or disables the training mode.
+	 * </p>
+	 * 
+	 * <p>
+	 * In training mode, the application exits with status 0 as soon as the
+	 * module has started and, when the warm-up is enabled, all lazy beans have
+	 * been created. The module is then stopped by the shutdown hook before the
+	 * virtual machine dumps the class list or the AppCDS archive specified on the
+	 * command line. No pidfile is created.
+	 * </p>
+	 * 
+	 * @param trainingRun true to run the application in training mode, false
+	 *                    otherwise
+	 * 
+	 * @return this application.
+	 */
+	public Application<T> trainingRun(boolean trainingRun) {
+		this.trainingRun = trainingRun;
+		return this;
+	}
+
 	/**
 	 * <p>
 	 * Runs the application.
 	 * </p>
 	 * 
+	 * <p>
+	 * This method does not return when the application is run in training mode,
+	 * the virtual machine exits once the module has started and, if enabled, the
+	 * warm-up has completed.
+	 * </p>
+	 * 
 	 * @return the resulting module.
 	 * @throws IllegalStateException if the application is already running.
 	 */
 	public T run() throws IllegalStateException {
 		long t0 = System.nanoTime();
+		if(this.trainingRun) {
+			// A training run is typically executed when packaging the application and must not conflict with a running instance
+			this.pidfile = Optional.empty();
+		}
 		this.pidfile.filter(Files::exists).ifPresent(pidfile -> {
 			try {
 				if(ProcessHandle.of(Long.parseLong(new String(Files.readAllBytes(pidfile)))).isPresent()) {
@@ -174,9 +425,15 @@ public class Application<T extends Module> {
 			throw new IllegalStateException("Module " + this.module.getName() + " already started");
 		}
 		this.module = this.moduleBuilder.build();
+		this.beanListeners.forEach(this.module::addBeanListener);
 		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-			this.module.stop();
-			LogManager.shutdown();
+			if (this.stopExecutor != null) {
+				this.module.stop(this.stopExecutor, this.stopBeanTimeout, this.stopTimeout);
+			}
+			else {
+				this.module.stop();
+			}
+			CoreLogger.shutdown();
 			this.pidfile.ifPresent(pidfile -> {
 				try {
 					Files.deleteIfExists(pidfile);
@@ -194,7 +451,20 @@ public class Application<T extends Module> {
 				return bannerStream.toString();
 			});
 		}
-		this.module.start();
+		StartupProfiler startupProfiler = this.startupReport.isPresent() ? StartupProfiler.start() : null;
+		try {
+			if (this.startExecutor != null) {
+				this.module.start(this.startExecutor);
+			}
+			else {
+				this.module.start();
+			}
+		}
+		finally {
+			if(startupProfiler != null) {
+				startupProfiler.stop();
+			}
+		}
 
 		this.pidfile.ifPresent(pidfile -> {
 			try {
@@ -206,6 +476,33 @@ public class Application<T extends Module> {
 			}
 		});
 		LOGGER.info("Application {} started in {}ms", () -> this.module.getName(), () -> ((System.nanoTime() - t0) / 1000000));
+		if(startupProfiler != null) {
+			Path startupReportDirectory = this.startupReport.get();
+			try {
+				List<String> criticalPath = startupProfiler.report(startupReportDirectory, this.module.getName());
+				LOGGER.info("Startup critical path: {}", () -> String.join(" -> ", criticalPath));
+				LOGGER.info("Startup report written to {}", () -> startupReportDirectory.toAbsolutePath());
+			}
+			catch (IOException e) {
+				LOGGER.warn("Error writing startup report", e);
+			}
+		}
+		if(this.warmUpConcurrency > 0) {
+			CompletableFuture<Void> warmUp = this.module.warmUp(this.warmUpExecutor, this.warmUpConcurrency);
+			if(this.trainingRun) {
+				try {
+					warmUp.join();
+				}
+				catch(CompletionException | CancellationException e) {
+					// errors are logged by the warm-up
+				}
+			}
+		}
+		if(this.trainingRun) {
+			LOGGER.info("Training run of Application {} completed in {}ms, exiting", () -> this.module.getName(), () -> ((System.nanoTime() - t0) / 1000000));
+			// Exit normally: the shutdown hook stops the module and the virtual machine then dumps the class list or the AppCDS archive
+			System.exit(0);
+		}
 		
 		return this.module;
 	}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+/**
+ * <p>
+ * A bean event is emitted to the {@link BeanListener}s registered in a module
+ * when a bean is created, initialized, destroyed or requested.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see BeanListener
+ */
+public final class BeanEvent {
+
+	/**
+	 * The strategy of a bean.
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	public static enum Strategy {
+		/**
+		 * A single instance is created.
+		 */
+		SINGLETON,
+		/**
+		 * A new instance is created each time the bean is requested.
+		 */
+		PROTOTYPE,
+		/**
+		 * Instances are leased from and released to a bounded pool.
+		 */
+		POOLED,
+		/**
+		 * An instance is created per requesting thread.
+		 */
+		THREAD,
+		/**
+		 * A fixed number of instances is shared among requesting threads.
+		 */
+		STRIPED
+	}
+	
+	/**
+	 * The name of the module exposing the bean.
+	 */
+	private final String moduleName;
+	
+	/**
+	 * The bean name.
+	 */
+	private final String beanName;
+	
+	/**
+	 * The bean strategy.
+	 */
+	private final Strategy strategy;
+	
+	/**
+	 * The event duration in nanoseconds.
+	 */
+	private final long duration;
+	
+	/**
+	 * The thread that emitted the event.
+	 */
+	private final Thread thread;
+	
+	/**
+	 * <p>
+	 * Creates a bean event.
+	 * </p>
+	 * 
+	 * @param moduleName the name of the module exposing the bean
+	 * @param beanName   the bean name
+	 * @param strategy   the bean strategy
+	 * @param duration   the event duration in nanoseconds
+	 * @param thread     the thread that emitted the event
+	 */
+	BeanEvent(String moduleName, String beanName, Strategy strategy, long duration, Thread thread) {
+		this.moduleName = moduleName;
+		this.beanName = beanName;
+		this.strategy = strategy;
+		this.duration = duration;
+		this.thread = thread;
+	}
+
+	/**
+	 * <p>
+	 * Returns the name of the module exposing the bean.
+	 * </p>
+	 * 
+	 * @return a module name
+	 */
+	public String getModuleName() {
+		return this.moduleName;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the name of the bean.
+	 * </p>
+	 * 
+	 * @return a bean name
+	 */
+	public String getBeanName() {
+		return this.beanName;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the strategy of the bean.
+	 * </p>
+	 * 
+	 * @return a bean strategy
+	 */
+	public Strategy getStrategy() {
+		return this.strategy;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the duration of the operation that emitted the event.
+	 * </p>
+	 * 
+	 * @return a duration in nanoseconds
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the thread that emitted the event.
+	 * </p>
+	 * 
+	 * @return a thread
+	 */
+	public Thread getThread() {
+		return this.thread;
+	}
+	
+	@Override
+	public String toString() {
+		return "BeanEvent [moduleName=" + this.moduleName + ", beanName=" + this.beanName + ", strategy=" + this.strategy + ", duration=" + this.duration + ", thread=" + this.thread.getName() + "]";
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+/**
+ * <p>
+ * A bean listener receives callbacks when beans are created, initialized,
+ * destroyed and requested in a module.
+ * </p>
+ * 
+ * <p>
+ * A listener is registered on a module using
+ * {@link Module#addBeanListener(BeanListener)} or on an application using
+ * {@link Application#beanListener(BeanListener)}, it then receives the events
+ * of the beans of the module and of its component modules.
+ * </p>
+ * 
+ * <p>
+ * Callbacks are invoked synchronously by the thread creating, initializing,
+ * destroying or requesting the bean, they must then return quickly and must
+ * not request beans themselves. Events are only created when at least one
+ * listener is registered, there is no overhead otherwise.
+ * </p>
+ * 
+ * <p>
+ * Since beans are requested much more often than they are created, get
+ * callbacks are sampled: a listener is notified for one out of
+ * {@link #getSampling()} bean requests on average and is not notified at all
+ * when the sampling is lower or equal to zero, which is the default.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see BeanEvent
+ */
+public interface BeanListener {
+
+	/**
+	 * <p>
+	 * Invoked when a bean instance has been created, the event duration covers
+	 * the bean instantiation including the resolution of its dependencies.
+	 * </p>
+	 * 
+	 * @param event the bean event
+	 */
+	default void onCreate(BeanEvent event) {
+		
+	}
+	
+	/**
+	 * <p>
+	 * Invoked when a bean instance has been initialized, the event duration covers
+	 * the execution of the bean init methods.
+	 * </p>
+	 * 
+	 * @param event the bean event
+	 */
+	default void onInit(BeanEvent event) {
+		
+	}
+	
+	/**
+	 * <p>
+	 * Invoked when a bean instance has been destroyed, the event duration covers
+	 * the execution of the bean destroy methods.
+	 * </p>
+	 * 
+	 * @param event the bean event
+	 */
+	default void onDestroy(BeanEvent event) {
+		
+	}
+	
+	/**
+	 * <p>
+	 * Invoked when a bean instance has been requested, the event duration covers
+	 * the retrieval or the creation of the instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * This callback is sampled as defined by {@link #getSampling()}.
+	 * </p>
+	 * 
+	 * @param event the bean event
+	 */
+	default void onGet(BeanEvent event) {
+		
+	}
+	
+	/**
+	 * <p>
+	 * Returns the sampling of get callbacks.
+	 * </p>
+	 * 
+	 * <p>
+	 * A listener is notified for one out of N bean requests on average, get
+	 * callbacks are disabled when a value lower or equal to zero is returned.
+	 * </p>
+	 * 
+	 * @return the get sampling, defaults to 0
+	 */
+	default int getSampling() {
+		return 0;
+	}
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * The logger used by the core runtime.
+ * </p>
+ *
+ * <p>
+ * The logger delegates to a {@link LogBackend} which is only resolved when a
+ * message is first logged, creating a logger does not initialize any logging
+ * framework. Message parameters are suppliers which are only invoked, and the
+ * message only formatted, when the level of the message is enabled.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+final class CoreLogger {
+
+	/**
+	 * The system property specifying the name of the log backend.
+	 */
+	static final String PROPERTY_LOG_BACKEND = "inverno.core.log_backend";
+
+	/**
+	 * Indicates whether the backend has been resolved.
+	 */
+	private static volatile boolean backendResolved;
+
+	/**
+	 * The name of the logger.
+	 */
+	private final String name;
+
+	/**
+	 * The backend logger, resolved when a message is first logged.
+	 */
+	private volatile LogBackend.Logger logger;
+
+	/**
+	 * <p>
+	 * Creates a core logger.
+	 * </p>
+	 *
+	 * @param name the name of the logger
+	 */
+	private CoreLogger(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * <p>
+	 * Returns the logger of the specified class.
+	 * </p>
+	 *
+	 * @param type a class
+	 *
+	 * @return a logger
+	 */
+	static CoreLogger getLogger(Class<?> type) {
+		return new CoreLogger(type.getName());
+	}
+
+	/**
+	 * <p>
+	 * Shuts down the log backend if it has been resolved.
+	 * </p>
+	 */
+	static void shutdown() {
+		if(backendResolved) {
+			BackendHolder.BACKEND.shutdown();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Resolves the log backend.
+	 * </p>
+	 *
+	 * <p>
+	 * The backend named in the {@value #PROPERTY_LOG_BACKEND} system property is
+	 * selected when available, otherwise the first available custom backend is
+	 * selected and the {@link SystemLogBackend} is used by default.
+	 * </p>
+	 *
+	 * @return the log backend
+	 */
+	private static LogBackend resolveBackend() {
+		String backendName = System.getProperty(PROPERTY_LOG_BACKEND);
+		if(backendName != null) {
+			switch(backendName) {
+				case SystemLogBackend.NAME: return new SystemLogBackend();
+				case NoOpLogBackend.NAME: return new NoOpLogBackend();
+				case Log4jLogBackend.NAME: {
+					LogBackend backend = new Log4jLogBackend();
+					if(backend.isAvailable()) {
+						return backend;
+					}
+					break;
+				}
+			}
+		}
+		LogBackend customBackend = null;
+		try {
+			for(LogBackend backend : ServiceLoader.load(LogBackend.class, LogBackend.class.getClassLoader())) {
+				if(backend instanceof SystemLogBackend || backend instanceof NoOpLogBackend || backend instanceof Log4jLogBackend || !backend.isAvailable()) {
+					continue;
+				}
+				if(backendName == null || backendName.equals(backend.getName())) {
+					return backend;
+				}
+				if(customBackend == null) {
+					customBackend = backend;
+				}
+			}
+		}
+		catch(ServiceConfigurationError e) {
+			// ignore invalid backends and fall back to the default backend
+		}
+		if(backendName == null && customBackend != null) {
+			return customBackend;
+		}
+		LogBackend backend = new SystemLogBackend();
+		if(backendName != null) {
+			backend.getLogger(CoreLogger.class.getName()).log(LogBackend.Level.WARN, "Log backend " + backendName + " is not available, using " + backend.getName(), null);
+		}
+		return backend;
+	}
+
+	/**
+	 * <p>
+	 * Returns the backend logger.
+	 * </p>
+	 *
+	 * @return the backend logger
+	 */
+	private LogBackend.Logger backendLogger() {
+		LogBackend.Logger currentLogger = this.logger;
+		if(currentLogger == null) {
+			currentLogger = this.logger = BackendHolder.BACKEND.getLogger(this.name);
+		}
+		return currentLogger;
+	}
+
+	/**
+	 * <p>
+	 * Logs a message with parameters.
+	 * </p>
+	 *
+	 * @param level      the level of the message
+	 * @param message    the message where {@code {}} are replaced by parameters
+	 * @param parameters the message parameters
+	 */
+	private void log(LogBackend.Level level, String message, Supplier<?>[] parameters) {
+		LogBackend.Logger currentLogger = this.backendLogger();
+		if(currentLogger.isEnabled(level)) {
+			currentLogger.log(level, format(message, parameters), null);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Logs a message with an error.
+	 * </p>
+	 *
+	 * @param level   the level of the message
+	 * @param message the message supplier
+	 * @param error   the error or null
+	 */
+	private void log(LogBackend.Level level, Supplier<?> message, Throwable error) {
+		LogBackend.Logger currentLogger = this.backendLogger();
+		if(currentLogger.isEnabled(level)) {
+			currentLogger.log(level, String.valueOf(message.get()), error);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Replaces the {@code {}} placeholders in a message by the values of the
+	 * specified parameters.
+	 * </p>
+	 *
+	 * @param message    the message
+	 * @param parameters the message parameters
+	 *
+	 * @return the formatted message
+	 */
+	private static String format(String message, Supplier<?>[] parameters) {
+		if(parameters.length == 0) {
+			return message;
+		}
+		StringBuilder formattedMessage = new StringBuilder(message.length() + 16 * parameters.length);
+		int start = 0;
+		int parameterIndex = 0;
+		int placeholderIndex;
+		while(parameterIndex < parameters.length && (placeholderIndex = message.indexOf("{}", start)) >= 0) {
+			formattedMessage.append(message, start, placeholderIndex).append(parameters[parameterIndex++].get());
+			start = placeholderIndex + 2;
+		}
+		return formattedMessage.append(message, start, message.length()).toString();
+	}
+
+	/**
+	 * <p>
+	 * Logs a debug message.
+	 * </p>
+	 *
+	 * @param message    the message where {@code {}} are replaced by parameters
+	 * @param parameters the message parameters
+	 */
+	void debug(String message, Supplier<?>... parameters) {
+		this.log(LogBackend.Level.DEBUG, message, parameters);
+	}
+
+	/**
+	 * <p>
+	 * Logs a debug message with an error.
+	 * </p>
+	 *
+	 * @param message the message
+	 * @param error   the error
+	 */
+	void debug(String message, Throwable error) {
+		this.log(LogBackend.Level.DEBUG, () -> message, error);
+	}
+
+	/**
+	 * <p>
+	 * Logs a debug message with an error.
+	 * </p>
+	 *
+	 * @param message the message supplier
+	 * @param error   the error
+	 */
+	void debug(Supplier<?> message, Throwable error) {
+		this.log(LogBackend.Level.DEBUG, message, error);
+	}
+
+	/**
+	 * <p>
+	 * Logs an info message.
+	 * </p>
+	 *
+	 * @param message    the message where {@code {}} are replaced by parameters
+	 * @param parameters the message parameters
+	 */
+	void info(String message, Supplier<?>... parameters) {
+		this.log(LogBackend.Level.INFO, message, parameters);
+	}
+
+	/**
+	 * <p>
+	 * Logs an info message.
+	 * </p>
+	 *
+	 * @param message the message supplier
+	 */
+	void info(Supplier<?> message) {
+		this.log(LogBackend.Level.INFO, message, null);
+	}
+
+	/**
+	 * <p>
+	 * Logs a warning message.
+	 * </p>
+	 *
+	 * @param message    the message where {@code {}} are replaced by parameters
+	 * @param parameters the message parameters
+	 */
+	void warn(String message, Supplier<?>... parameters) {
+		this.log(LogBackend.Level.WARN, message, parameters);
+	}
+
+	/**
+	 * <p>
+	 * Logs a warning message with an error.
+	 * </p>
+	 *
+	 * @param message the message
+	 * @param error   the error
+	 */
+	void warn(String message, Throwable error) {
+		this.log(LogBackend.Level.WARN, () -> message, error);
+	}
+
+	/**
+	 * <p>
+	 * Logs a warning message with an error.
+	 * </p>
+	 *
+	 * @param message the message supplier
+	 * @param error   the error
+	 */
+	void warn(Supplier<?> message, Throwable error) {
+		this.log(LogBackend.Level.WARN, message, error);
+	}
+
+	/**
+	 * <p>
+	 * Logs a fatal message with an error.
+	 * </p>
+	 *
+	 * @param message the message supplier
+	 * @param error   the error
+	 */
+	void fatal(Supplier<?> message, Throwable error) {
+		this.log(LogBackend.Level.FATAL, message, error);
+	}
+
+	/**
+	 * <p>
+	 * Holds the log backend resolved when a message is first logged.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static final class BackendHolder {
+
+		/**
+		 * The log backend.
+		 */
+		static final LogBackend BACKEND = resolveBackend();
+
+		static {
+			backendResolved = true;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * Publishes events to the listeners defined in a module.
+ * </p>
+ *
+ * <p>
+ * A bean publishes events through a socket of type {@code EventPublisher<E>},
+ * the module injects a publisher which invokes the methods annotated with
+ * {@link io.inverno.core.annotation.EventListener @EventListener} defined on
+ * the singleton beans of the module and accepting an event of type {@code E}.
+ * Listeners are resolved at compile time: publishing an event comes down to a
+ * loop over the listeners invoking each method directly.
+ * </p>
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * &#64;Bean
+ * public class ConfigurationLoader {
+ *
+ *     private final EventPublisher&lt;ConfigurationReloaded&gt; reloadedPublisher;
+ *
+ *     public ConfigurationLoader(EventPublisher&lt;ConfigurationReloaded&gt; reloadedPublisher) {
+ *         this.reloadedPublisher = reloadedPublisher;
+ *     }
+ *
+ *     public void reload() {
+ *         ...
+ *         this.reloadedPublisher.publish(new ConfigurationReloaded());
+ *     }
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ * @param <E> the type of events
+ */
+public interface EventPublisher<E> {
+
+	/**
+	 * <p>
+	 * Publishes the specified event to the listeners in the calling thread.
+	 * </p>
+	 *
+	 * <p>
+	 * Listeners are invoked in sequence, an error raised by a listener is
+	 * propagated to the caller and the remaining listeners are not invoked.
+	 * </p>
+	 *
+	 * @param event the event to publish
+	 */
+	void publish(E event);
+
+	/**
+	 * <p>
+	 * Publishes the specified event to the listeners using the specified
+	 * executor.
+	 * </p>
+	 *
+	 * <p>
+	 * Each listener is invoked in a task submitted to the executor, an error
+	 * raised by a listener is handled by the executor and doesn't prevent other
+	 * listeners from being invoked.
+	 * </p>
+	 *
+	 * @param event    the event to publish
+	 * @param executor the executor used to invoke the listeners
+	 */
+	void publish(E event, Executor executor);
+
+	/**
+	 * <p>
+	 * Returns the number of listeners receiving the published events.
+	 * </p>
+	 *
+	 * @return the number of listeners
+	 */
+	int getListenerCount();
+
+	/**
+	 * <p>
+	 * A listener invoked when an event is published.
+	 * </p>
+	 *
+	 * <p>
+	 * Listeners are created by the module class to invoke the event listener
+	 * methods of its beans.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 *
+	 * @param <E> the type of events
+	 */
+	@FunctionalInterface
+	interface Listener<E> {
+
+		/**
+		 * <p>
+		 * Handles the specified event.
+		 * </p>
+		 *
+		 * @param event a published event
+		 */
+		void onEvent(E event);
+	}
+}
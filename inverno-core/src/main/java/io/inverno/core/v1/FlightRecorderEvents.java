@@ -0,0 +1,468 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Emits JDK Flight Recorder events for module and bean lifecycle operations.
+ * </p>
+ * 
+ * <p>
+ * The {@code jdk.jfr} API is accessed reflectively since it is not available
+ * with the Java version targeted by the module. Event types are defined using a
+ * {@code jdk.jfr.EventFactory} the first time an event is emitted while a
+ * recording is running. They are named {@code io.inverno.core.*} and
+ * categorized under {@code Inverno / Lifecycle} in recordings.
+ * </p>
+ * 
+ * <p>
+ * Recordings are tracked using a {@code jdk.jfr.FlightRecorderListener}, when
+ * no recording is running or when the {@code jdk.jfr} module is not present,
+ * {@link #begin(Type)} comes down to reading a volatile field and returns null.
+ * </p>
+ * 
+ * <p>
+ * Statistics of the {@link ManagedExecutor} instances are reported in
+ * {@code io.inverno.core.ExecutorStatistics} periodic events categorized under
+ * {@code Inverno / Executors}, the event type is registered once a recording
+ * is running and an executor has been created.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+final class FlightRecorderEvents {
+
+	/**
+	 * The logger.
+	 */
+	private static final CoreLogger LOGGER = CoreLogger.getLogger(FlightRecorderEvents.class);
+	
+	/**
+	 * The types of lifecycle events.
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	static enum Type {
+		/**
+		 * A module has been started.
+		 */
+		MODULE_START("ModuleStart", "Module Start", "A module has been started", true),
+		/**
+		 * A module has been stopped.
+		 */
+		MODULE_STOP("ModuleStop", "Module Stop", "A module has been stopped", true),
+		/**
+		 * A bean instance has been created.
+		 */
+		BEAN_CREATE("BeanCreate", "Bean Create", "A bean instance has been created", true),
+		/**
+		 * A bean instance has been initialized.
+		 */
+		BEAN_INIT("BeanInit", "Bean Init", "A bean instance has been initialized", true),
+		/**
+		 * A bean instance has been destroyed.
+		 */
+		BEAN_DESTROY("BeanDestroy", "Bean Destroy", "A bean instance has been destroyed", true),
+		/**
+		 * A prototype bean instance has been created and initialized, disabled by
+		 * default since prototype beans can be instantiated at a high rate.
+		 */
+		PROTOTYPE_INSTANTIATION("PrototypeInstantiation", "Prototype Instantiation", "A prototype bean instance has been created and initialized", false);
+		
+		private final String name;
+		private final String label;
+		private final String description;
+		private final boolean enabled;
+		
+		private Type(String name, String label, String description, boolean enabled) {
+			this.name = name;
+			this.label = label;
+			this.description = description;
+			this.enabled = enabled;
+		}
+	}
+	
+	/**
+	 * Indicates whether a recording is running.
+	 */
+	private static volatile boolean recording;
+	
+	/**
+	 * The event factories indexed by event type, created lazily.
+	 */
+	private static final AtomicReferenceArray<Object> FACTORIES = new AtomicReferenceArray<>(Type.values().length);
+	
+	/**
+	 * The lock guarding the registration of event types.
+	 */
+	private static final ReentrantLock FACTORIES_LOCK = new ReentrantLock();
+	
+	/**
+	 * Indicates whether executor statistics must be reported.
+	 */
+	private static volatile boolean executorStatistics;
+	
+	/**
+	 * Indicates whether the executor statistics event type has been registered,
+	 * guarded by {@link #EXECUTOR_STATISTICS_LOCK}.
+	 */
+	private static boolean executorStatisticsRegistered;
+	
+	/**
+	 * The lock guarding the registration of the executor statistics event type.
+	 */
+	private static final Object EXECUTOR_STATISTICS_LOCK = new Object();
+	
+	private static MethodHandle getFlightRecorder;
+	private static MethodHandle getRecordings;
+	private static MethodHandle getState;
+	private static MethodHandle newEventFactory;
+	private static MethodHandle newAnnotationElement;
+	private static MethodHandle newValueDescriptor;
+	private static MethodHandle newEvent;
+	private static MethodHandle getEventType;
+	private static MethodHandle isEnabled;
+	private static MethodHandle begin;
+	private static MethodHandle set;
+	private static MethodHandle commit;
+	private static MethodHandle addPeriodicEvent;
+	
+	private static Class<? extends Annotation> nameAnnotation;
+	private static Class<? extends Annotation> labelAnnotation;
+	private static Class<? extends Annotation> descriptionAnnotation;
+	private static Class<? extends Annotation> categoryAnnotation;
+	private static Class<? extends Annotation> enabledAnnotation;
+	private static Class<? extends Annotation> periodAnnotation;
+	private static Class<? extends Annotation> timespanAnnotation;
+	
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+			Class<?> flightRecorderListenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+			Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+			Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+			Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+			Class<?> eventClass = Class.forName("jdk.jfr.Event");
+			Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+			Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+			
+			nameAnnotation = Class.forName("jdk.jfr.Name").asSubclass(Annotation.class);
+			labelAnnotation = Class.forName("jdk.jfr.Label").asSubclass(Annotation.class);
+			descriptionAnnotation = Class.forName("jdk.jfr.Description").asSubclass(Annotation.class);
+			categoryAnnotation = Class.forName("jdk.jfr.Category").asSubclass(Annotation.class);
+			enabledAnnotation = Class.forName("jdk.jfr.Enabled").asSubclass(Annotation.class);
+			periodAnnotation = Class.forName("jdk.jfr.Period").asSubclass(Annotation.class);
+			timespanAnnotation = Class.forName("jdk.jfr.Timespan").asSubclass(Annotation.class);
+			
+			getFlightRecorder = lookup.findStatic(flightRecorderClass, "getFlightRecorder", MethodType.methodType(flightRecorderClass));
+			getRecordings = lookup.findVirtual(flightRecorderClass, "getRecordings", MethodType.methodType(List.class));
+			getState = lookup.findVirtual(recordingClass, "getState", MethodType.methodType(Class.forName("jdk.jfr.RecordingState")));
+			newEventFactory = lookup.findStatic(eventFactoryClass, "create", MethodType.methodType(eventFactoryClass, List.class, List.class));
+			newAnnotationElement = lookup.findConstructor(annotationElementClass, MethodType.methodType(void.class, Class.class, Object.class));
+			newValueDescriptor = lookup.findConstructor(valueDescriptorClass, MethodType.methodType(void.class, Class.class, String.class, List.class));
+			newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(eventClass));
+			getEventType = lookup.findVirtual(eventFactoryClass, "getEventType", MethodType.methodType(eventTypeClass));
+			isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class));
+			begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class));
+			set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class));
+			commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class));
+			addPeriodicEvent = lookup.findStatic(flightRecorderClass, "addPeriodicEvent", MethodType.methodType(void.class, Class.class, Runnable.class));
+			
+			Object listener = Proxy.newProxyInstance(FlightRecorderEvents.class.getClassLoader(), new Class<?>[] { flightRecorderListenerClass }, (proxy, method, args) -> {
+				switch(method.getName()) {
+					case "recorderInitialized":
+					case "recordingStateChanged": updateRecording();
+						return null;
+					case "hashCode": return System.identityHashCode(proxy);
+					case "equals": return proxy == args[0];
+					case "toString": return FlightRecorderEvents.class.getName() + "$Listener";
+					default: return null;
+				}
+			});
+			if((boolean)lookup.findStatic(flightRecorderClass, "isInitialized", MethodType.methodType(boolean.class)).invoke()) {
+				updateRecording();
+			}
+			lookup.findStatic(flightRecorderClass, "addListener", MethodType.methodType(void.class, flightRecorderListenerClass)).invoke(listener);
+		}
+		catch (Throwable e) {
+			// jdk.jfr is not available
+			LOGGER.debug("Flight Recorder events disabled: {}", () -> e.toString());
+			recording = false;
+		}
+	}
+	
+	private FlightRecorderEvents() {}
+	
+	/**
+	 * <p>
+	 * Updates the recording state from the state of the Flight Recorder
+	 * recordings.
+	 * </p>
+	 */
+	private static void updateRecording() {
+		try {
+			boolean running = false;
+			for(Object recording : (List<?>)getRecordings.invoke(getFlightRecorder.invoke())) {
+				if(((Enum<?>)getState.invoke(recording)).name().equals("RUNNING")) {
+					running = true;
+					break;
+				}
+			}
+			recording = running;
+			if(running && executorStatistics) {
+				// Registering an event type from a Flight Recorder listener might deadlock
+				ForkJoinPool.commonPool().execute(FlightRecorderEvents::registerExecutorStatistics);
+			}
+		}
+		catch (Throwable e) {
+			LOGGER.debug("Error reading Flight Recorder state", e);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether a recording is running.
+	 * </p>
+	 * 
+	 * @return true if a Flight Recorder recording is running, false otherwise
+	 */
+	static boolean isRecording() {
+		return recording;
+	}
+	
+	/**
+	 * <p>
+	 * Begins an event of the specified type.
+	 * </p>
+	 * 
+	 * @param type the event type
+	 * 
+	 * @return an event to commit with
+	 *         {@link #commit(Object, String, String, String, String)} or null if
+	 *         no recording is running or the event type is disabled
+	 */
+	static Object begin(Type type) {
+		if(!recording) {
+			return null;
+		}
+		try {
+			Object factory = factory(type);
+			if(!(boolean)isEnabled.invoke(getEventType.invoke(factory))) {
+				return null;
+			}
+			Object event = newEvent.invoke(factory);
+			begin.invoke(event);
+			return event;
+		}
+		catch (Throwable e) {
+			LOGGER.debug(() -> "Error emitting Flight Recorder event " + type.name, e);
+			return null;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Commits an event begun with {@link #begin(Type)}.
+	 * </p>
+	 * 
+	 * @param event        the event or null
+	 * @param moduleName   the module name
+	 * @param beanName     the bean name or null
+	 * @param strategy     the bean strategy or null
+	 * @param parentModule the name of the parent module or null
+	 */
+	static void commit(Object event, String moduleName, String beanName, String strategy, String parentModule) {
+		if(event == null) {
+			return;
+		}
+		try {
+			set.invoke(event, 0, moduleName);
+			set.invoke(event, 1, beanName);
+			set.invoke(event, 2, strategy);
+			set.invoke(event, 3, parentModule);
+			commit.invoke(event);
+		}
+		catch (Throwable e) {
+			LOGGER.debug("Error committing Flight Recorder event", e);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the event factory for the specified type, registering the event type
+	 * in the Flight Recorder the first time.
+	 * </p>
+	 * 
+	 * @param type the event type
+	 * 
+	 * @return an event factory
+	 * 
+	 * @throws Throwable if the event type could not be registered
+	 */
+	private static Object factory(Type type) throws Throwable {
+		Object factory = FACTORIES.get(type.ordinal());
+		return factory != null ? factory : createFactory(type);
+	}
+	
+	/**
+	 * <p>
+	 * Creates the event factory for the specified type while holding the
+	 * factories lock so that an event type is registered exactly once.
+	 * </p>
+	 * 
+	 * <p>
+	 * A lock is used rather than a synchronized method to prevent virtual threads
+	 * from pinning their carrier thread while the event type is registered.
+	 * </p>
+	 * 
+	 * @param type the event type
+	 * 
+	 * @return an event factory
+	 * 
+	 * @throws Throwable if the event type could not be registered
+	 */
+	private static Object createFactory(Type type) throws Throwable {
+		FACTORIES_LOCK.lock();
+		try {
+			Object factory = FACTORIES.get(type.ordinal());
+			if(factory == null) {
+				List<Object> annotations = new ArrayList<>();
+				annotations.add(newAnnotationElement.invoke(nameAnnotation, "io.inverno.core." + type.name));
+				annotations.add(newAnnotationElement.invoke(labelAnnotation, type.label));
+				annotations.add(newAnnotationElement.invoke(descriptionAnnotation, type.description));
+				annotations.add(newAnnotationElement.invoke(categoryAnnotation, new String[] { "Inverno", "Lifecycle" }));
+				if(!type.enabled) {
+					annotations.add(newAnnotationElement.invoke(enabledAnnotation, false));
+				}
+				List<Object> fields = Arrays.asList(
+					newValueDescriptor.invoke(String.class, "moduleName", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Module Name"))),
+					newValueDescriptor.invoke(String.class, "beanName", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Bean Name"))),
+					newValueDescriptor.invoke(String.class, "strategy", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Strategy"))),
+					newValueDescriptor.invoke(String.class, "parentModule", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Parent Module")))
+				);
+				factory = newEventFactory.invoke(annotations, fields);
+				FACTORIES.set(type.ordinal(), factory);
+			}
+			return factory;
+		}
+		finally {
+			FACTORIES_LOCK.unlock();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Enables the reporting of executor statistics, invoked when a managed
+	 * executor is created.
+	 * </p>
+	 */
+	static void enableExecutorStatistics() {
+		if(!executorStatistics) {
+			executorStatistics = true;
+			if(recording) {
+				registerExecutorStatistics();
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Registers the executor statistics periodic event type in the Flight
+	 * Recorder unless it has already been registered.
+	 * </p>
+	 */
+	private static void registerExecutorStatistics() {
+		synchronized(EXECUTOR_STATISTICS_LOCK) {
+			if(executorStatisticsRegistered || addPeriodicEvent == null) {
+				return;
+			}
+			executorStatisticsRegistered = true;
+			try {
+				List<Object> annotations = new ArrayList<>();
+				annotations.add(newAnnotationElement.invoke(nameAnnotation, "io.inverno.core.ExecutorStatistics"));
+				annotations.add(newAnnotationElement.invoke(labelAnnotation, "Executor Statistics"));
+				annotations.add(newAnnotationElement.invoke(descriptionAnnotation, "The statistics of a managed executor"));
+				annotations.add(newAnnotationElement.invoke(categoryAnnotation, new String[] { "Inverno", "Executors" }));
+				annotations.add(newAnnotationElement.invoke(periodAnnotation, "5 s"));
+				List<Object> fields = Arrays.asList(
+					newValueDescriptor.invoke(String.class, "executorName", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Executor Name"))),
+					newValueDescriptor.invoke(String.class, "type", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Type"))),
+					newValueDescriptor.invoke(int.class, "parallelism", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Parallelism"))),
+					newValueDescriptor.invoke(long.class, "activeCount", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Active Tasks"))),
+					newValueDescriptor.invoke(long.class, "queueDepth", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Queue Depth"))),
+					newValueDescriptor.invoke(long.class, "submittedTaskCount", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Submitted Tasks"))),
+					newValueDescriptor.invoke(long.class, "completedTaskCount", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Completed Tasks"))),
+					newValueDescriptor.invoke(long.class, "averageWaitTime", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Average Wait Time"), newAnnotationElement.invoke(timespanAnnotation, "NANOSECONDS"))),
+					newValueDescriptor.invoke(long.class, "averageExecutionTime", Arrays.asList(newAnnotationElement.invoke(labelAnnotation, "Average Execution Time"), newAnnotationElement.invoke(timespanAnnotation, "NANOSECONDS")))
+				);
+				Object factory = newEventFactory.invoke(annotations, fields);
+				Runnable hook = () -> emitExecutorStatistics(factory);
+				addPeriodicEvent.invoke(newEvent.invoke(factory).getClass(), hook);
+			}
+			catch (Throwable e) {
+				LOGGER.debug("Error registering Flight Recorder executor statistics", e);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Emits an executor statistics event for each managed executor which has not
+	 * terminated.
+	 * </p>
+	 * 
+	 * @param factory the executor statistics event factory
+	 */
+	private static void emitExecutorStatistics(Object factory) {
+		for(ManagedExecutor executor : ManagedExecutor.EXECUTORS) {
+			if(executor.isTerminated()) {
+				ManagedExecutor.EXECUTORS.remove(executor);
+				continue;
+			}
+			try {
+				Object event = newEvent.invoke(factory);
+				set.invoke(event, 0, executor.getName());
+				set.invoke(event, 1, executor.getType().name());
+				set.invoke(event, 2, executor.getParallelism());
+				set.invoke(event, 3, executor.getActiveCount());
+				set.invoke(event, 4, executor.getQueueDepth());
+				set.invoke(event, 5, executor.getSubmittedTaskCount());
+				set.invoke(event, 6, executor.getCompletedTaskCount());
+				set.invoke(event, 7, executor.getAverageWaitTime());
+				set.invoke(event, 8, executor.getAverageExecutionTime());
+				commit.invoke(event);
+			}
+			catch (Throwable e) {
+				LOGGER.debug("Error committing Flight Recorder event", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * An event publisher invoking an array of listeners resolved at compile time.
+ * </p>
+ *
+ * <p>
+ * Publishing an event synchronously doesn't allocate anything, publishing an
+ * event asynchronously allocates one task per listener.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ * @param <E> the type of events
+ */
+final class GenericEventPublisher<E> implements EventPublisher<E> {
+
+	/**
+	 * The listeners.
+	 */
+	private final EventPublisher.Listener<? super E>[] listeners;
+
+	/**
+	 * <p>
+	 * Creates an event publisher.
+	 * </p>
+	 *
+	 * @param listeners the listeners to invoke
+	 */
+	GenericEventPublisher(EventPublisher.Listener<? super E>[] listeners) {
+		this.listeners = listeners;
+	}
+
+	@Override
+	public void publish(E event) {
+		for(EventPublisher.Listener<? super E> listener : this.listeners) {
+			listener.onEvent(event);
+		}
+	}
+
+	@Override
+	public void publish(E event, Executor executor) {
+		for(EventPublisher.Listener<? super E> listener : this.listeners) {
+			executor.execute(() -> listener.onEvent(event));
+		}
+	}
+
+	@Override
+	public int getListenerCount() {
+		return this.listeners.length;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * <p>
+ * A logging backend logging to Log4j.
+ * </p>
+ *
+ * <p>
+ * Log4j is an optional dependency of the core runtime, this backend is only
+ * available when the Log4j API is present on the module path and Log4j is only
+ * loaded when the backend is selected.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public final class Log4jLogBackend implements LogBackend {
+
+	/**
+	 * The backend name.
+	 */
+	public static final String NAME = "log4j";
+
+	/**
+	 * <p>
+	 * Creates a log backend logging to Log4j.
+	 * </p>
+	 *
+	 * <p>
+	 * Log4j classes are not loaded when the backend is created, its availability
+	 * must be checked with {@link #isAvailable()} before getting loggers.
+	 * </p>
+	 */
+	public Log4jLogBackend() {
+
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean isAvailable() {
+		try {
+			Class.forName("org.apache.logging.log4j.LogManager", false, Log4jLogBackend.class.getClassLoader());
+			return true;
+		}
+		catch(ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	@Override
+	public LogBackend.Logger getLogger(String name) {
+		return new Log4jLogger(name);
+	}
+
+	@Override
+	public void shutdown() {
+		LogManager.shutdown();
+	}
+
+	/**
+	 * <p>
+	 * A logger delegating to a Log4j logger.
+	 * </p>
+	 *
+	 * <p>
+	 * Log4j types are only referenced in this class so that they are not loaded
+	 * when the backend is discovered.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static final class Log4jLogger implements LogBackend.Logger {
+
+		/**
+		 * The Log4j logger.
+		 */
+		private final org.apache.logging.log4j.Logger logger;
+
+		/**
+		 * <p>
+		 * Creates a Log4j logger.
+		 * </p>
+		 *
+		 * @param name the name of the logger
+		 */
+		Log4jLogger(String name) {
+			this.logger = LogManager.getLogger(name);
+		}
+
+		@Override
+		public boolean isEnabled(LogBackend.Level level) {
+			return this.logger.isEnabled(toLog4jLevel(level));
+		}
+
+		@Override
+		public void log(LogBackend.Level level, String message, Throwable error) {
+			this.logger.log(toLog4jLevel(level), message, error);
+		}
+
+		/**
+		 * <p>
+		 * Converts a level to a Log4j level.
+		 * </p>
+		 *
+		 * @param level a level
+		 *
+		 * @return a Log4j level
+		 */
+		private static org.apache.logging.log4j.Level toLog4jLevel(LogBackend.Level level) {
+			switch(level) {
+				case DEBUG: return org.apache.logging.log4j.Level.DEBUG;
+				case INFO: return org.apache.logging.log4j.Level.INFO;
+				case WARN: return org.apache.logging.log4j.Level.WARN;
+				case ERROR: return org.apache.logging.log4j.Level.ERROR;
+				default: return org.apache.logging.log4j.Level.FATAL;
+			}
+		}
+	}
+}
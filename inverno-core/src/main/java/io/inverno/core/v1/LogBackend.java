@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+/**
+ * <p>
+ * A logging backend used by the core runtime.
+ * </p>
+ *
+ * <p>
+ * The core runtime logs through a minimal facade, the backend is selected the
+ * first time a message is logged among the backends available through the
+ * {@link java.util.ServiceLoader}: the {@code inverno.core.log_backend} system
+ * property specifies the name of the backend to use, when it is not set a
+ * custom backend is preferred over the built-in backends and the
+ * {@link SystemLogBackend System.Logger backend} is used by default.
+ * </p>
+ *
+ * <p>
+ * The following backends are built in:
+ * </p>
+ *
+ * <ul>
+ * <li>{@code system} logs to the platform {@link java.lang.System.Logger}.</li>
+ * <li>{@code log4j} logs to Log4j which must then be present on the module
+ * path.</li>
+ * <li>{@code noop} discards messages.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public interface LogBackend {
+
+	/**
+	 * <p>
+	 * Returns the name of the backend.
+	 * </p>
+	 *
+	 * @return the backend name
+	 */
+	String getName();
+
+	/**
+	 * <p>
+	 * Determines whether the backend can be used in the current runtime.
+	 * </p>
+	 *
+	 * @return true if the backend is available, false otherwise
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Returns the logger with the specified name.
+	 * </p>
+	 *
+	 * @param name the name of the logger, usually a class name
+	 *
+	 * @return a logger
+	 */
+	Logger getLogger(String name);
+
+	/**
+	 * <p>
+	 * Releases the resources held by the backend when the application is
+	 * stopped.
+	 * </p>
+	 */
+	default void shutdown() {
+
+	}
+
+	/**
+	 * <p>
+	 * The levels of log messages.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	enum Level {
+		/**
+		 * Debugging messages.
+		 */
+		DEBUG,
+		/**
+		 * Informational messages.
+		 */
+		INFO,
+		/**
+		 * Messages reporting a potential problem.
+		 */
+		WARN,
+		/**
+		 * Messages reporting an error.
+		 */
+		ERROR,
+		/**
+		 * Messages reporting an error preventing the application from running.
+		 */
+		FATAL;
+	}
+
+	/**
+	 * <p>
+	 * A logger provided by a backend.
+	 * </p>
+	 *
+	 * <p>
+	 * Messages are formatted by the core runtime, they are only formatted when
+	 * the logger is enabled for the level of the message.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	interface Logger {
+
+		/**
+		 * <p>
+		 * Determines whether the logger logs messages of the specified level.
+		 * </p>
+		 *
+		 * @param level a level
+		 *
+		 * @return true if messages of the level are logged, false otherwise
+		 */
+		boolean isEnabled(Level level);
+
+		/**
+		 * <p>
+		 * Logs a message.
+		 * </p>
+		 *
+		 * @param level   the level of the message
+		 * @param message the formatted message
+		 * @param error   an error or null
+		 */
+		void log(Level level, String message, Throwable error);
+	}
+}
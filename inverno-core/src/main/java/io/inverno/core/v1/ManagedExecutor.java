@@ -0,0 +1,592 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * An executor service managed by the module lifecycle which exposes queue
+ * metrics.
+ * </p>
+ *
+ * <p>
+ * A managed executor runs tasks in a platform thread pool, in virtual threads
+ * or in a fork/join pool. A bean whose class extends {@code ManagedExecutor},
+ * or which is supplied by a wrapper bean, is shut down gracefully when it is
+ * destroyed, typically when the module is stopped: submitted tasks are drained
+ * for the drain timeout, remaining tasks are then interrupted. Since beans are
+ * destroyed in the reverse order of their creation, the beans using the
+ * executor are destroyed before it is shut down.
+ * </p>
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * &#64;Bean
+ * public class WorkerExecutor extends ManagedExecutor {
+ *
+ *     public WorkerExecutor() {
+ *         super("worker", ManagedExecutor.Type.PLATFORM, 8);
+ *     }
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * <p>
+ * The executor can then be injected in the sockets of type {@link Executor} or
+ * {@link ExecutorService} of the module or exposed to other modules in order to
+ * share the same threads instead of creating a pool per module.
+ * </p>
+ *
+ * <p>
+ * The number of tasks waiting to be executed, the number of tasks being
+ * executed, the average time tasks wait before being executed and their average
+ * execution time are available from the executor and are reported to the JDK
+ * Flight Recorder as {@code io.inverno.core.ExecutorStatistics} periodic
+ * events when a recording is running. Subtasks forked inside a fork/join pool
+ * are not accounted.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public class ManagedExecutor extends AbstractExecutorService {
+
+	/**
+	 * The logger.
+	 */
+	private static final CoreLogger LOGGER = CoreLogger.getLogger(ManagedExecutor.class);
+
+	/**
+	 * The default drain timeout.
+	 */
+	private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * The executors which have been used and which have not been shut down, used
+	 * to report statistics.
+	 */
+	static final Set<ManagedExecutor> EXECUTORS = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The types of managed executors.
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	public static enum Type {
+		/**
+		 * A fixed pool of platform threads.
+		 */
+		PLATFORM,
+		/**
+		 * A new virtual thread per task, requires a Java runtime supporting virtual
+		 * threads.
+		 */
+		VIRTUAL,
+		/**
+		 * A work-stealing fork/join pool.
+		 */
+		FORK_JOIN;
+	}
+
+	/**
+	 * The executor name.
+	 */
+	private final String name;
+
+	/**
+	 * The executor type.
+	 */
+	private final Type type;
+
+	/**
+	 * The number of threads of a platform pool or the parallelism of a fork/join
+	 * pool.
+	 */
+	private final int parallelism;
+
+	/**
+	 * The time given to submitted tasks to complete when the executor is shut
+	 * down gracefully.
+	 */
+	private final Duration drainTimeout;
+
+	/**
+	 * The underlying executor.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The number of submitted tasks.
+	 */
+	private final LongAdder submittedCount;
+
+	/**
+	 * The number of tasks which started to execute.
+	 */
+	private final LongAdder startedCount;
+
+	/**
+	 * The number of tasks which completed.
+	 */
+	private final LongAdder completedCount;
+
+	/**
+	 * The number of tasks which were discarded before they started when the
+	 * executor was shut down.
+	 */
+	private final LongAdder discardedCount;
+
+	/**
+	 * The cumulated time tasks waited before being executed in nanoseconds.
+	 */
+	private final LongAdder waitTime;
+
+	/**
+	 * The cumulated execution time of tasks in nanoseconds.
+	 */
+	private final LongAdder executionTime;
+
+	/**
+	 * Indicates whether the executor has been registered to report statistics.
+	 */
+	private volatile boolean registered;
+
+	/**
+	 * <p>
+	 * Creates a managed executor with as many threads as available processors.
+	 * </p>
+	 *
+	 * @param name the executor name used to name threads
+	 * @param type the executor type
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are not supported
+	 *                                       by the Java runtime
+	 */
+	public ManagedExecutor(String name, Type type) throws UnsupportedOperationException {
+		this(name, type, Runtime.getRuntime().availableProcessors(), DEFAULT_DRAIN_TIMEOUT);
+	}
+
+	/**
+	 * <p>
+	 * Creates a managed executor.
+	 * </p>
+	 *
+	 * @param name        the executor name used to name threads
+	 * @param type        the executor type
+	 * @param parallelism the number of threads of a platform pool or the
+	 *                    parallelism of a fork/join pool, ignored for virtual
+	 *                    threads
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are not supported
+	 *                                       by the Java runtime
+	 */
+	public ManagedExecutor(String name, Type type, int parallelism) throws UnsupportedOperationException {
+		this(name, type, parallelism, DEFAULT_DRAIN_TIMEOUT);
+	}
+
+	/**
+	 * <p>
+	 * Creates a managed executor.
+	 * </p>
+	 *
+	 * @param name         the executor name used to name threads
+	 * @param type         the executor type
+	 * @param parallelism  the number of threads of a platform pool or the
+	 *                     parallelism of a fork/join pool, ignored for virtual
+	 *                     threads
+	 * @param drainTimeout the time given to submitted tasks to complete when the
+	 *                     executor is shut down gracefully
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are not supported
+	 *                                       by the Java runtime
+	 */
+	public ManagedExecutor(String name, Type type, int parallelism, Duration drainTimeout) throws UnsupportedOperationException {
+		this.name = Objects.requireNonNull(name, "name");
+		this.type = Objects.requireNonNull(type, "type");
+		this.drainTimeout = Objects.requireNonNull(drainTimeout, "drainTimeout");
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		this.parallelism = parallelism;
+
+		this.submittedCount = new LongAdder();
+		this.startedCount = new LongAdder();
+		this.completedCount = new LongAdder();
+		this.discardedCount = new LongAdder();
+		this.waitTime = new LongAdder();
+		this.executionTime = new LongAdder();
+
+		AtomicInteger threadIndex = new AtomicInteger();
+		switch(type) {
+			case PLATFORM: {
+				ThreadFactory threadFactory = runnable -> new Thread(runnable, name + "-" + threadIndex.getAndIncrement());
+				this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+				break;
+			}
+			case VIRTUAL: {
+				this.executor = newVirtualThreadPerTaskExecutor(name);
+				break;
+			}
+			case FORK_JOIN: {
+				ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+					ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					thread.setName(name + "-" + threadIndex.getAndIncrement());
+					return thread;
+				};
+				this.executor = new ForkJoinPool(parallelism, threadFactory, null, false);
+				break;
+			}
+			default: throw new IllegalArgumentException("Unknown executor type: " + type);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Registers the executor to report statistics.
+	 * </p>
+	 *
+	 * <p>
+	 * The executor is registered when the first task is submitted rather than in
+	 * the constructor so that it is not published before the constructor of a
+	 * subclass has completed.
+	 * </p>
+	 */
+	private void register() {
+		if(!this.registered) {
+			this.registered = true;
+			EXECUTORS.add(this);
+			FlightRecorderEvents.enableExecutorStatistics();
+			if(this.executor.isShutdown()) {
+				// the executor was shut down concurrently
+				EXECUTORS.remove(this);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates an executor running each task in a new virtual thread.
+	 * </p>
+	 *
+	 * <p>
+	 * Virtual threads are created reflectively since they are not available with
+	 * the Java version targeted by the module.
+	 * </p>
+	 *
+	 * @param name the executor name used to name threads
+	 *
+	 * @return an executor service
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are not supported
+	 *                                       by the Java runtime
+	 */
+	private static ExecutorService newVirtualThreadPerTaskExecutor(String name) throws UnsupportedOperationException {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+			ThreadFactory threadFactory = (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+			return (ExecutorService)Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads are not supported by the Java runtime", e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the executor name.
+	 * </p>
+	 *
+	 * @return the executor name
+	 */
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>
+	 * Returns the executor type.
+	 * </p>
+	 *
+	 * @return the executor type
+	 */
+	public final Type getType() {
+		return this.type;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of threads of a platform pool or the parallelism of a
+	 * fork/join pool.
+	 * </p>
+	 *
+	 * @return the parallelism of the executor
+	 */
+	public final int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of tasks being executed.
+	 * </p>
+	 *
+	 * @return the number of active tasks
+	 */
+	public final long getActiveCount() {
+		long completed = this.completedCount.sum();
+		return Math.max(0, this.startedCount.sum() - completed);
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of tasks waiting to be executed.
+	 * </p>
+	 *
+	 * <p>
+	 * Tasks discarded when the executor is shut down are not accounted.
+	 * </p>
+	 *
+	 * @return the queue depth
+	 */
+	public final long getQueueDepth() {
+		if(this.executor.isTerminated()) {
+			return 0;
+		}
+		long started = this.startedCount.sum() + this.discardedCount.sum();
+		return Math.max(0, this.submittedCount.sum() - started);
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of tasks submitted to the executor.
+	 * </p>
+	 *
+	 * @return the number of submitted tasks
+	 */
+	public final long getSubmittedTaskCount() {
+		return this.submittedCount.sum();
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of tasks which completed.
+	 * </p>
+	 *
+	 * @return the number of completed tasks
+	 */
+	public final long getCompletedTaskCount() {
+		return this.completedCount.sum();
+	}
+
+	/**
+	 * <p>
+	 * Returns the average time tasks waited before being executed.
+	 * </p>
+	 *
+	 * @return the average wait time in nanoseconds
+	 */
+	public final long getAverageWaitTime() {
+		long started = this.startedCount.sum();
+		return started > 0 ? this.waitTime.sum() / started : 0;
+	}
+
+	/**
+	 * <p>
+	 * Returns the average execution time of completed tasks.
+	 * </p>
+	 *
+	 * @return the average execution time in nanoseconds
+	 */
+	public final long getAverageExecutionTime() {
+		long completed = this.completedCount.sum();
+		return completed > 0 ? this.executionTime.sum() / completed : 0;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		Objects.requireNonNull(command, "command");
+		this.register();
+		this.submittedCount.increment();
+		try {
+			this.executor.execute(new Task(command));
+		}
+		catch(RejectedExecutionException e) {
+			this.submittedCount.decrement();
+			throw e;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		this.executor.shutdown();
+		EXECUTORS.remove(this);
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return unwrap(this.discardTasks());
+	}
+
+	/**
+	 * <p>
+	 * Shuts down the underlying executor, interrupting active tasks and
+	 * discarding the tasks which did not start.
+	 * </p>
+	 *
+	 * @return the discarded tasks
+	 */
+	private List<Runnable> discardTasks() {
+		List<Runnable> discardedTasks = this.executor.shutdownNow();
+		this.discardedCount.add(discardedTasks.size());
+		EXECUTORS.remove(this);
+		return discardedTasks;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the tasks submitted to the executor from the tasks returned by the
+	 * underlying executor.
+	 * </p>
+	 * 
+	 * @param tasks the tasks returned by the underlying executor
+	 * 
+	 * @return the submitted tasks
+	 */
+	private static List<Runnable> unwrap(List<Runnable> tasks) {
+		return tasks.stream().map(task -> task instanceof Task ? ((Task)task).command : task).collect(Collectors.toList());
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.executor.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.executor.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * <p>
+	 * Shuts down the executor and waits for the submitted tasks to complete.
+	 * </p>
+	 *
+	 * <p>
+	 * Tasks which did not complete within the drain timeout are interrupted and
+	 * tasks which did not start are discarded.
+	 * </p>
+	 *
+	 * @return true if all submitted tasks completed within the drain timeout,
+	 *         false otherwise
+	 */
+	public boolean shutdownGracefully() {
+		long t0 = System.nanoTime();
+		this.executor.shutdown();
+		boolean drained = false;
+		try {
+			drained = this.executor.awaitTermination(this.drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(drained) {
+			LOGGER.debug("Executor {} drained in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
+		}
+		else {
+			long activeCount = this.getActiveCount();
+			List<Runnable> discardedTasks = this.discardTasks();
+			LOGGER.warn("Executor {} not drained within {}ms: {} active task(s) interrupted, {} task(s) discarded", () -> this.name, () -> this.drainTimeout.toMillis(), () -> activeCount, discardedTasks::size);
+		}
+		EXECUTORS.remove(this);
+		return drained;
+	}
+
+	/**
+	 * <p>
+	 * A submitted task recording queue metrics.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private final class Task implements Runnable {
+
+		/**
+		 * The task to execute.
+		 */
+		private final Runnable command;
+
+		/**
+		 * The time at which the task was submitted in nanoseconds.
+		 */
+		private final long submitted;
+
+		/**
+		 * <p>
+		 * Creates a task.
+		 * </p>
+		 *
+		 * @param command the task to execute
+		 */
+		Task(Runnable command) {
+			this.command = command;
+			this.submitted = System.nanoTime();
+		}
+
+		@Override
+		public void run() {
+			long started = System.nanoTime();
+			ManagedExecutor.this.waitTime.add(started - this.submitted);
+			ManagedExecutor.this.startedCount.increment();
+			try {
+				this.command.run();
+			}
+			finally {
+				ManagedExecutor.this.executionTime.add(System.nanoTime() - started);
+				ManagedExecutor.this.completedCount.increment();
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A supplier injected in a memoized lazy socket which requests a singleton bean
+ * once and then returns the same instance.
+ * </p>
+ *
+ * <p>
+ * The instance is published with release semantics and read with acquire
+ * semantics, once it has been resolved, a call comes down to a single acquire
+ * load without going through {@link Bean#get()}. Concurrent first calls might
+ * both request the bean which returns the same singleton anyway.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ * @param <T> the type of the socket
+ */
+final class MemoizedBeanSupplier<T> implements Supplier<T> {
+
+	/**
+	 * The instance VarHandle.
+	 */
+	private static final VarHandle INSTANCE;
+
+	static {
+		try {
+			INSTANCE = MethodHandles.lookup().findVarHandle(MemoizedBeanSupplier.class, "instance", Object.class);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The singleton bean.
+	 */
+	private final Bean<? extends T> bean;
+
+	/**
+	 * The resolved instance, only accessed through {@link #INSTANCE}.
+	 */
+	private T instance;
+
+	/**
+	 * <p>
+	 * Creates a memoized supplier of the specified singleton bean.
+	 * </p>
+	 *
+	 * @param bean a singleton bean
+	 */
+	MemoizedBeanSupplier(Bean<? extends T> bean) {
+		this.bean = bean;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		T currentInstance = (T)INSTANCE.getAcquire(this);
+		if(currentInstance == null) {
+			currentInstance = this.bean.get();
+			INSTANCE.setRelease(this, currentInstance);
+		}
+		return currentInstance;
+	}
+}
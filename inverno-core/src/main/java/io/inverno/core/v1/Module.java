@@ -20,24 +20,44 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * <p>
  * The Module base class.
@@ -64,6 +84,12 @@ import org.apache.logging.log4j.Logger;
  * </p>
  * 
  * <p>
+ * A module can also be started in parallel using an {@link Executor}, beans and
+ * component modules are then created concurrently, dependencies between beans
+ * still determining the order in which they are created.
+ * </p>
+ * 
+ * <p>
  * The following describes the module destroy steps:
  * </p>
  * <ol>
@@ -72,6 +98,12 @@ import org.apache.logging.log4j.Logger;
  * </ol>
  * 
  * <p>
+ * A module can also be stopped in parallel using an {@link Executor}, beans
+ * that do not depend on each other are then destroyed concurrently in the
+ * reverse dependency order within optional per-bean and overall timeouts.
+ * </p>
+ * 
+ * <p>
  * A module should always be built using a {@link ModuleBuilder}.
  * </p>
  * 
@@ -80,10 +112,15 @@ import org.apache.logging.log4j.Logger;
  */
 public abstract class Module {
 
+	/**
+	 * The bean listeners of a module with no bean listener.
+	 */
+	private static final BeanListener[] NO_BEAN_LISTENERS = new BeanListener[0];
+	
 	/**
 	 * The module logger.
 	 */
-	private Logger logger = LogManager.getLogger(this.getClass());
+	private CoreLogger logger = CoreLogger.getLogger(this.getClass());
 
 	/**
 	 * The module name.
@@ -106,14 +143,45 @@ public abstract class Module {
 	private List<Bean<?>> beans;
 
 	/**
-	 * The bean stack used to track bean creation order.
+	 * The bean stack used to track bean creation order, beans can be recorded
+	 * concurrently when they are created on first access.
 	 */
 	private Deque<Bean<?>> beansStack;
 
+	/**
+	 * The lock guarding the module lifecycle and the bean listeners.
+	 */
+	private final ReentrantLock lock;
+
 	/**
 	 * THe module's state
 	 */
-	private boolean active;
+	private volatile boolean active;
+	
+	/**
+	 * The bean listeners registered in the module.
+	 */
+	private volatile BeanListener[] beanListeners = NO_BEAN_LISTENERS;
+	
+	/**
+	 * The current warm-up of the module.
+	 */
+	private volatile WarmUp warmUp;
+	
+	/**
+	 * The asynchronous bean initializations pending since the module was started.
+	 */
+	private Queue<CompletableFuture<?>> pendingInits;
+	
+	/**
+	 * The linker used to create the module when it is a component module.
+	 */
+	private ModuleLinker<?> linker;
+	
+	/**
+	 * The replicas of the module, created when the module is first replicated.
+	 */
+	private List<Module> replicas;
 
 	/**
 	 * <p>
@@ -125,8 +193,10 @@ public abstract class Module {
 	protected Module(String moduleName) {
 		this.name = moduleName;
 		this.beans = new ArrayList<>();
-		this.beansStack = new ArrayDeque<>();
+		this.beansStack = new ConcurrentLinkedDeque<>();
+		this.lock = new ReentrantLock();
 		this.modules = new ArrayList<>();
+		this.pendingInits = new ConcurrentLinkedQueue<>();
 	}
 
 	/**
@@ -141,10 +211,58 @@ public abstract class Module {
 		if (this.parent != null) {
 			this.parent.recordBean(bean);
 		} else {
+			// Beans might be created concurrently when the module is started in parallel or on first access
 			this.beansStack.push(bean);
 		}
 	}
 
+	/**
+	 * <p>
+	 * Records a pending asynchronous bean initialization into the module.
+	 * </p>
+	 * 
+	 * @param init the pending initialization
+	 */
+	void recordPendingInit(CompletableFuture<?> init) {
+		this.pendingInits.add(init);
+	}
+	
+	/**
+	 * <p>
+	 * Waits for the pending asynchronous bean initializations of the specified
+	 * modules to complete.
+	 * </p>
+	 * 
+	 * <p>
+	 * The first initialization error is rethrown as soon as it is raised without
+	 * waiting for the other initializations to complete.
+	 * </p>
+	 * 
+	 * @param modules the modules being started
+	 */
+	private static void awaitPendingInits(List<Module> modules) {
+		List<CompletableFuture<?>> inits = new ArrayList<>();
+		for(Module module : modules) {
+			CompletableFuture<?> init;
+			while( (init = module.pendingInits.poll()) != null) {
+				inits.add(init);
+			}
+		}
+		if(inits.isEmpty()) {
+			return;
+		}
+		CompletableFuture<Void> initialized = new CompletableFuture<>();
+		for(CompletableFuture<?> init : inits) {
+			init.whenComplete((ign, e) -> {
+				if(e != null) {
+					initialized.completeExceptionally(e);
+				}
+			});
+		}
+		CompletableFuture.allOf(inits.toArray(new CompletableFuture<?>[inits.size()])).thenRun(() -> initialized.complete(null));
+		AbstractBeanBuilder.await(initialized);
+	}
+
 	/**
 	 * <p>
 	 * Creates a module with the specified module linker and register it in this
@@ -164,149 +282,1062 @@ public abstract class Module {
 		T module = moduleLinker.link();
 
 		((Module) module).parent = this;
+		((Module) module).linker = moduleLinker;
 		this.modules.add(module);
 
 		return module;
 	}
-
+
+	/**
+	 * <p>
+	 * Creates a module bean with the specified bean builder and registers it in
+	 * this module.
+	 * </p>
+	 * 
+	 * <p>
+	 * A bean can only be registered once to exactly one module.
+	 * </p>
+	 * 
+	 * @param <T>         the actual type of the bean
+	 * @param beanBuilder the bean builder to use to create the bean
+	 * 
+	 * @return the registered bean
+	 */
+	protected <T> Bean<T> with(ModuleBeanBuilder<T> beanBuilder) {
+		Bean<T> bean = beanBuilder.build();
+		bean.parent = this;
+		this.beans.add(bean);
+
+		return bean;
+	}
+	
+	/**
+	 * <p>
+	 * Creates a wrapper bean with the specified bean builder and registers it in
+	 * this module.
+	 * </p>
+	 * 
+	 * <p>
+	 * A bean can only be registered once to exactly one module.
+	 * </p>
+	 * 
+	 * @param <W>         the type of the wrapper bean
+	 * @param <T>         the actual type of the bean
+	 * @param beanBuilder the bean builder to use to create the bean
+	 * 
+	 * @return the registered bean
+	 */
+	protected <W extends Supplier<T>, T> Bean<T> with(WrapperBeanBuilder<W, T> beanBuilder) {
+		Bean<T> bean = beanBuilder.build();
+		bean.parent = this;
+		this.beans.add(bean);
+
+		return bean;
+	}
+	
+	/**
+	 * <p>
+	 * Creates a pooled bean with the specified bean builder and registers it in
+	 * this module.
+	 * </p>
+	 * 
+	 * <p>
+	 * A bean can only be registered once to exactly one module.
+	 * </p>
+	 * 
+	 * @param <T>         the actual type of the pooled instances
+	 * @param beanBuilder the bean builder to use to create the bean
+	 * 
+	 * @return the registered bean
+	 */
+	protected <T> Bean<Pool<T>> with(PoolBeanBuilder<T> beanBuilder) {
+		Bean<Pool<T>> bean = beanBuilder.build();
+		bean.parent = this;
+		this.beans.add(bean);
+
+		return bean;
+	}
+
+	/**
+	 * <p>
+	 * Returns a supplier to inject in a memoized lazy socket.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned supplier requests a singleton bean once and then returns the
+	 * same instance, any other bean is returned as is and requested on each
+	 * call.
+	 * </p>
+	 *
+	 * @param <T>  the type of the socket
+	 * @param bean a bean registered in this module
+	 *
+	 * @return a supplier of bean instances
+	 *
+	 * @since 1.3
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> Supplier<T> memoize(Bean<? extends T> bean) {
+		if(bean.getStrategy() == BeanEvent.Strategy.SINGLETON) {
+			return new MemoizedBeanSupplier<>(bean);
+		}
+		// A supplier only produces values
+		return (Supplier<T>)bean;
+	}
+
+	/**
+	 * <p>
+	 * Returns a publisher to inject in an event publisher socket.
+	 * </p>
+	 *
+	 * <p>
+	 * The listeners are copied to an array owned by the publisher so that the
+	 * varargs array never escapes this method.
+	 * </p>
+	 *
+	 * @param <E>       the type of events
+	 * @param listeners the listeners resolved for the type of events
+	 *
+	 * @return an event publisher
+	 *
+	 * @since 1.3
+	 */
+	@SafeVarargs
+	protected final <E> EventPublisher<E> eventPublisher(EventPublisher.Listener<? super E>... listeners) {
+		@SuppressWarnings("unchecked")
+		EventPublisher.Listener<? super E>[] publisherListeners = (EventPublisher.Listener<? super E>[])new EventPublisher.Listener<?>[listeners.length];
+		for(int i = 0;i < listeners.length;i++) {
+			publisherListeners[i] = listeners[i];
+		}
+		return new GenericEventPublisher<>(publisherListeners);
+	}
+
+	/**
+	 * <p>
+	 * Returns a listener invoking an event listener method on a singleton bean.
+	 * </p>
+	 *
+	 * <p>
+	 * The bean is requested on the first event, the same instance is then
+	 * invoked directly.
+	 * </p>
+	 *
+	 * @param <T>    the type of the bean
+	 * @param <E>    the type of events
+	 * @param bean   a singleton bean registered in this module
+	 * @param method the event listener method
+	 *
+	 * @return an event listener
+	 *
+	 * @since 1.3
+	 */
+	protected <T, E> EventPublisher.Listener<E> eventListener(Bean<T> bean, BiConsumer<T, E> method) {
+		Supplier<T> instance = this.memoize(bean);
+		return event -> method.accept(instance.get(), event);
+	}
+
+	/**
+	 * <p>
+	 * Returns the name of the module.
+	 * </p>
+	 * 
+	 * @return the name of the module
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the module is active (ie. started).
+	 * </p>
+	 * 
+	 * @return true if the module is active, false otherwise.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+	
+	/**
+	 * <p>
+	 * Registers a bean listener in the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * The listener receives the events of the beans of this module and of its
+	 * component modules.
+	 * </p>
+	 * 
+	 * @param listener the listener to register
+	 */
+	public void addBeanListener(BeanListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		this.lock.lock();
+		try {
+			BeanListener[] currentBeanListeners = this.beanListeners;
+			BeanListener[] newBeanListeners = Arrays.copyOf(currentBeanListeners, currentBeanListeners.length + 1);
+			newBeanListeners[currentBeanListeners.length] = listener;
+			this.beanListeners = newBeanListeners;
+			Bean.LISTENERS_COUNT.incrementAndGet();
+			if(listener.getSampling() > 0) {
+				Bean.SAMPLING_LISTENERS_COUNT.incrementAndGet();
+				Bean.INTERCEPTED_GETS_COUNT.incrementAndGet();
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Unregisters a bean listener from the module.
+	 * </p>
+	 * 
+	 * @param listener the listener to unregister
+	 */
+	public void removeBeanListener(BeanListener listener) {
+		this.lock.lock();
+		try {
+			BeanListener[] currentBeanListeners = this.beanListeners;
+			for(int i = 0;i < currentBeanListeners.length;i++) {
+				if(currentBeanListeners[i] == listener) {
+					BeanListener[] newBeanListeners = new BeanListener[currentBeanListeners.length - 1];
+					System.arraycopy(currentBeanListeners, 0, newBeanListeners, 0, i);
+					System.arraycopy(currentBeanListeners, i + 1, newBeanListeners, i, newBeanListeners.length - i);
+					this.beanListeners = newBeanListeners;
+					Bean.LISTENERS_COUNT.decrementAndGet();
+					if(listener.getSampling() > 0) {
+						Bean.SAMPLING_LISTENERS_COUNT.decrementAndGet();
+						Bean.INTERCEPTED_GETS_COUNT.decrementAndGet();
+					}
+					return;
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of prototype bean instances issued by this module and its
+	 * component modules whose wrapper is waiting to be destroyed once the instance
+	 * is reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * <p>
+	 * This only concerns prototype wrapper beans destroyed on reclaim, a steadily
+	 * growing count usually indicates that bean instances are retained or that
+	 * wrappers hold strong references to the instances they supply.
+	 * </p>
+	 * 
+	 * @return the number of pending destroys
+	 */
+	public long getPendingReclaimDestroyCount() {
+		long count = 0;
+		for(Bean<?> bean : this.beans) {
+			if(bean instanceof PrototypeReclaimableWrapperBean) {
+				count += ((PrototypeReclaimableWrapperBean<?, ?>)bean).getPendingDestroyCount();
+			}
+		}
+		for(Module module : this.modules) {
+			count += module.getPendingReclaimDestroyCount();
+		}
+		return count;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of prototype bean instances issued by this module and its
+	 * component modules whose wrapper was destroyed after the instance has been
+	 * reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * @return the number of reclaimed instances
+	 */
+	public long getReclaimedInstanceCount() {
+		long count = 0;
+		for(Bean<?> bean : this.beans) {
+			if(bean instanceof PrototypeReclaimableWrapperBean) {
+				count += ((PrototypeReclaimableWrapperBean<?, ?>)bean).getReclaimedCount();
+			}
+		}
+		for(Module module : this.modules) {
+			count += module.getReclaimedInstanceCount();
+		}
+		return count;
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether this module or one of its ancestors is active which would
+	 * indicate that this module is a component module in a tree of module being
+	 * started.
+	 * </p>
+	 * 
+	 * @return true if an ancestor module is active, false otherwise.
+	 */
+	private boolean isSuperActive() {
+		return this.active || (this.parent != null && this.parent.isSuperActive());
+	}
+
+	/**
+	 * <p>
+	 * Starts the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * It creates and wires the beans defined within the module and the required
+	 * Inverno modules it includes, the bean dependency graph determines the order
+	 * into which beans are created. When the module is stopped, beans are destroyed
+	 * in the reverse order.
+	 * </p>
+	 * 
+	 * <p>
+	 * Asynchronous bean initializations are executed concurrently, the module is
+	 * started once they have all completed and the first initialization error is
+	 * rethrown as soon as it is raised.
+	 * </p>
+	 * 
+	 * @throws IllegalStateException if the module is active.
+	 */
+	public void start() throws IllegalStateException {
+		if (this.isActive()) {
+			throw new IllegalStateException("Module " + this.name + " is already active");
+		}
+		this.active = true;
+		long t0 = System.nanoTime();
+		Object startEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_START);
+		this.logger.info("Starting Module {}...", () -> this.name);
+		this.modules.stream().filter(module -> !module.isActive()).forEach(module -> module.start());
+		this.beans.stream().forEach(bean -> bean.create());
+		awaitPendingInits(List.of(this));
+		this.commitRecordedEvent(startEvent);
+		this.logger.info("Module {} started in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
+//		this.logger.info(this.beansStack.stream().map(bean -> bean.name.toString()).collect(Collectors.joining(", "))); // TEST
+	}
+	
+	/**
+	 * <p>
+	 * Starts the module in parallel using the specified executor.
+	 * </p>
+	 * 
+	 * <p>
+	 * It creates and wires the beans defined within the module and the required
+	 * Inverno modules it includes concurrently: independent beans are created at
+	 * the same time while the bean dependency graph still determines the order
+	 * into which dependent beans are created. When the module is stopped, beans are
+	 * destroyed in the reverse order.
+	 * </p>
+	 * 
+	 * <p>
+	 * The whole module tree is activated before any bean is created, the first
+	 * error raised when creating a bean cancels the creation of the beans that
+	 * haven't been created yet and is rethrown once beans being created have been
+	 * created. Asynchronous bean initializations are awaited once all beans have
+	 * been created, the first initialization error is rethrown as soon as it is
+	 * raised.
+	 * </p>
+	 * 
+	 * @param executor the executor used to create beans
+	 * 
+	 * @throws IllegalStateException if the module is active.
+	 */
+	public void start(Executor executor) throws IllegalStateException {
+		Objects.requireNonNull(executor, "executor");
+		if (this.isActive()) {
+			throw new IllegalStateException("Module " + this.name + " is already active");
+		}
+		long t0 = System.nanoTime();
+		Object startEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_START);
+		
+		// Component modules must be activated before any bean is created to prevent them from being started by a bean
+		List<Module> activatedModules = new ArrayList<>();
+		this.activate(activatedModules);
+		
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		List<CompletableFuture<Void>> moduleTasks = new ArrayList<>();
+		try {
+			for(Module module : activatedModules) {
+				long module_t0 = System.nanoTime();
+				Object moduleStartEvent = module != this ? FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_START) : null;
+				CompletableFuture<?>[] beanTasks = new CompletableFuture<?>[module.beans.size()];
+				for(int i = 0;i < beanTasks.length;i++) {
+					Bean<?> bean = module.beans.get(i);
+					beanTasks[i] = CompletableFuture.runAsync(() -> {
+						if(error.get() == null) {
+							try {
+								bean.create();
+							}
+							catch(Throwable e) {
+								error.compareAndSet(null, e);
+							}
+						}
+					}, executor);
+				}
+				moduleTasks.add(CompletableFuture.allOf(beanTasks).thenRun(() -> {
+					if(module != this && error.get() == null) {
+						module.commitRecordedEvent(moduleStartEvent);
+						module.logger.info("Module {} started in {}ms", () -> module.name, () -> ((System.nanoTime() - module_t0) / 1000000));
+					}
+				}));
+			}
+		}
+		catch(RuntimeException e) {
+			// the executor rejected a task, beans already submitted must not be created
+			error.compareAndSet(null, e);
+		}
+		
+		// Wait for all beans being created to be created before reporting any error
+		CompletableFuture.allOf(moduleTasks.toArray(new CompletableFuture<?>[moduleTasks.size()])).join();
+		
+		Throwable e = error.get();
+		if(e != null) {
+			if(e instanceof RuntimeException) {
+				throw (RuntimeException)e;
+			}
+			if(e instanceof Error) {
+				throw (Error)e;
+			}
+			throw new RuntimeException(e);
+		}
+		awaitPendingInits(activatedModules);
+		this.commitRecordedEvent(startEvent);
+		this.logger.info("Module {} started in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
+	}
+	
+	/**
+	 * <p>
+	 * Warms up the module in the background using low priority daemon threads.
+	 * </p>
+	 * 
+	 * @param concurrency the maximum number of beans created concurrently
+	 * 
+	 * @return a future completed once the module has been warmed up
+	 * 
+	 * @throws IllegalStateException if the module is inactive or already warming
+	 *                               up
+	 * 
+	 * @see #warmUp(Executor, int)
+	 */
+	public CompletableFuture<Void> warmUp(int concurrency) throws IllegalStateException {
+		return this.warmUp(null, concurrency);
+	}
+	
+	/**
+	 * <p>
+	 * Warms up the module in the background using the specified executor.
+	 * </p>
+	 * 
+	 * <p>
+	 * The lazy singleton beans of the module and of the required Inverno modules
+	 * it includes which haven't been requested yet are created after the module
+	 * has been started in order to spare the cost of their creation to the first
+	 * request that requires them. Component modules are warmed up first and
+	 * requesting a bean creates its dependencies, beans are then created in
+	 * dependency order, the specified concurrency limiting the number of beans
+	 * created at the same time.
+	 * </p>
+	 * 
+	 * <p>
+	 * The returned future completes exceptionally with the first error raised
+	 * while creating a bean, the other beans being created nonetheless. The
+	 * warm-up is cancelled when the module is stopped.
+	 * </p>
+	 * 
+	 * @param executor    the executor used to create beans or null to use low
+	 *                    priority daemon threads
+	 * @param concurrency the maximum number of beans created concurrently
+	 * 
+	 * @return a future completed once the module has been warmed up
+	 * 
+	 * @throws IllegalStateException if the module is inactive or already warming
+	 *                               up
+	 * 
+	 * @see #isWarmedUp()
+	 */
+	public CompletableFuture<Void> warmUp(Executor executor, int concurrency) throws IllegalStateException {
+		this.lock.lock();
+		try {
+			if(concurrency <= 0) {
+				throw new IllegalArgumentException("Concurrency must be positive");
+			}
+			if(!this.isActive()) {
+				throw new IllegalStateException("Module " + this.name + " is inactive");
+			}
+			if(this.warmUp != null) {
+				throw new IllegalStateException("Module " + this.name + " is already warming up");
+			}
+			List<Bean<?>> lazyBeans = new ArrayList<>();
+			this.collectLazyBeans(lazyBeans);
+			this.warmUp = new WarmUp(this.name, this.logger, lazyBeans);
+			return this.warmUp.start(executor, concurrency);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Collects the lazy beans of this module and of the required Inverno modules
+	 * it includes, component modules first.
+	 * </p>
+	 * 
+	 * @param lazyBeans the list to which lazy beans are added
+	 */
+	private void collectLazyBeans(List<Bean<?>> lazyBeans) {
+		this.modules.stream().forEach(module -> module.collectLazyBeans(lazyBeans));
+		this.beans.stream().filter(Bean::isLazy).forEach(lazyBeans::add);
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the module has been warmed up.
+	 * </p>
+	 * 
+	 * <p>
+	 * This can be used in a readiness check to make sure the application receives
+	 * traffic once all its beans have been created.
+	 * </p>
+	 * 
+	 * @return true if a warm-up has completed successfully since the module was
+	 *         started, false otherwise
+	 * 
+	 * @see #warmUp(Executor, int)
+	 */
+	public boolean isWarmedUp() {
+		WarmUp currentWarmUp = this.warmUp;
+		return currentWarmUp != null && currentWarmUp.isDone();
+	}
+	
+	/**
+	 * <p>
+	 * Cancels the current warm-up and waits for the beans being created to be
+	 * created.
+	 * </p>
+	 */
+	private void cancelWarmUp() {
+		WarmUp currentWarmUp;
+		this.lock.lock();
+		try {
+			currentWarmUp = this.warmUp;
+			this.warmUp = null;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if(currentWarmUp != null) {
+			currentWarmUp.cancel();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Activates this module and the required Inverno modules it includes which are
+	 * not active yet.
+	 * </p>
+	 * 
+	 * @param activatedModules the list to which activated modules are added,
+	 *                         component modules first
+	 */
+	private void activate(List<Module> activatedModules) {
+		this.active = true;
+		this.logger.info("Starting Module {}...", () -> this.name);
+		this.modules.stream().filter(module -> !module.isActive()).forEach(module -> module.activate(activatedModules));
+		activatedModules.add(this);
+	}
+
+	/**
+	 * <p>
+	 * Restarts the specified component module in place.
+	 * </p>
+	 * 
+	 * <p>
+	 * The beans of the component module and of the required Inverno modules it
+	 * includes are destroyed in the reverse order of their creation and the
+	 * component module is then started again while the other modules remain
+	 * active. Beans outside the component module which access its beans through
+	 * lazy sockets obtain the new instances, requests issued while the component
+	 * module is restarting wait for the restart to complete. Beans outside the
+	 * component module into which beans of the component module have been
+	 * injected keep the previous instances, they are logged as a warning. The
+	 * replicas of the restarted modules are stopped.
+	 * </p>
+	 * 
+	 * @param moduleName the name of the component module to restart
+	 * 
+	 * @throws IllegalStateException    if the module is inactive
+	 * @throws IllegalArgumentException if there is no such component module in
+	 *                                  the module
+	 */
+	public void restartModule(String moduleName) throws IllegalStateException, IllegalArgumentException {
+		Objects.requireNonNull(moduleName, "moduleName");
+		if(!this.isActive()) {
+			throw new IllegalStateException("Module " + this.name + " is inactive");
+		}
+		Module module = this.findModule(moduleName);
+		if(module == null) {
+			throw new IllegalArgumentException("No component module " + moduleName + " in module " + this.name);
+		}
+		List<Module> restartedModules = new ArrayList<>();
+		module.collectModules(restartedModules);
+		module.restart(restartedModules, 0);
+	}
+	
+	/**
+	 * <p>
+	 * Creates and starts replicas of the specified component module.
+	 * </p>
+	 * 
+	 * <p>
+	 * A replica is a new instance of the component module linked to the same
+	 * sockets: it shares the beans of the module that includes the component
+	 * module and has its own copies of the beans of the component module. This
+	 * allows to give each worker thread its own set of non thread-safe beans
+	 * wired by the module, the returned list being accessed by index without
+	 * contention.
+	 * </p>
+	 * 
+	 * <p>
+	 * Replicas are named after the component module followed by their index,
+	 * their beans are destroyed when the module is stopped or when the component
+	 * module is restarted. Replicas must then be created again, starting from
+	 * index 0.
+	 * </p>
+	 * 
+	 * @param <T>        the type of the component module
+	 * @param moduleType the type of the component module to replicate
+	 * @param count      the number of replicas to create
+	 * 
+	 * @return a list of started replicas
+	 * 
+	 * @throws IllegalStateException    if the module is inactive
+	 * @throws IllegalArgumentException if there is no such component module in
+	 *                                  the module or if count is not positive
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Module> List<T> replicate(Class<T> moduleType, int count) throws IllegalStateException, IllegalArgumentException {
+		Objects.requireNonNull(moduleType, "moduleType");
+		if(count <= 0) {
+			throw new IllegalArgumentException("Count must be positive");
+		}
+		if(!this.isActive()) {
+			throw new IllegalStateException("Module " + this.name + " is inactive");
+		}
+		Module module = this.findModule(moduleType);
+		if(module == null) {
+			throw new IllegalArgumentException("No component module " + moduleType.getName() + " in module " + this.name);
+		}
+		List<T> moduleReplicas = new ArrayList<>(count);
+		module.lock.lock();
+		try {
+			if(module.replicas == null) {
+				module.replicas = new ArrayList<>();
+			}
+			for(int i = 0;i < count;i++) {
+				Module replica = module.linker.link();
+				replica.parent = module.parent;
+				replica.name = module.name + "#" + module.replicas.size();
+				module.replicas.add(replica);
+				replica.start();
+				moduleReplicas.add((T)replica);
+			}
+		}
+		finally {
+			module.lock.unlock();
+		}
+		return Collections.unmodifiableList(moduleReplicas);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the component module of the specified type in the tree of component
+	 * modules of this module.
+	 * </p>
+	 * 
+	 * @param moduleType a module type
+	 * 
+	 * @return a component module or null
+	 */
+	private Module findModule(Class<? extends Module> moduleType) {
+		for(Module module : this.modules) {
+			if(module.getClass().equals(moduleType)) {
+				return module;
+			}
+			Module componentModule = module.findModule(moduleType);
+			if(componentModule != null) {
+				return componentModule;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * <p>
+	 * Stops the replicas of the module.
+	 * </p>
+	 */
+	private void stopReplicas() {
+		List<Module> currentReplicas;
+		this.lock.lock();
+		try {
+			currentReplicas = this.replicas;
+			this.replicas = null;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if(currentReplicas != null) {
+			currentReplicas.forEach(Module::stop);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the component module with the specified name in the tree of
+	 * component modules of this module.
+	 * </p>
+	 * 
+	 * @param moduleName a module name
+	 * 
+	 * @return a component module or null
+	 */
+	private Module findModule(String moduleName) {
+		for(Module module : this.modules) {
+			if(module.name.equals(moduleName)) {
+				return module;
+			}
+			Module componentModule = module.findModule(moduleName);
+			if(componentModule != null) {
+				return componentModule;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * <p>
+	 * Collects this module and the required Inverno modules it includes, parent
+	 * modules first.
+	 * </p>
+	 * 
+	 * @param modules the list to which modules are added
+	 */
+	private void collectModules(List<Module> modules) {
+		modules.add(this);
+		this.modules.stream().forEach(module -> module.collectModules(modules));
+	}
+	
+	/**
+	 * <p>
+	 * Restarts this component module while holding the locks of the restarted
+	 * modules.
+	 * </p>
+	 * 
+	 * <p>
+	 * Module locks are acquired parent modules first like when beans start their
+	 * enclosing module, beans requested in the meantime are then created once the
+	 * modules have been started again.
+	 * </p>
+	 * 
+	 * @param restartedModules this module and the required Inverno modules it
+	 *                         includes, parent modules first
+	 * @param index            the index of the next module to lock
+	 */
+	private void restart(List<Module> restartedModules, int index) {
+		if(index < restartedModules.size()) {
+			Module restartedModule = restartedModules.get(index);
+			restartedModule.lock.lock();
+			try {
+				this.restart(restartedModules, index + 1);
+			}
+			finally {
+				restartedModule.lock.unlock();
+			}
+			return;
+		}
+		long t0 = System.nanoTime();
+		Object stopEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_STOP);
+		this.logger.info("Restarting Module {}...", () -> this.name);
+		restartedModules.forEach(module -> module.active = false);
+		
+		// Replicas are stopped with the restarted modules, their beans are recorded in the root module as well
+		List<Module> stoppedModules = new ArrayList<>(restartedModules);
+		for(Module restartedModule : restartedModules) {
+			if(restartedModule.replicas != null) {
+				restartedModule.replicas.forEach(replica -> replica.collectModules(stoppedModules));
+			}
+		}
+		
+		// Beans are recorded in the root module
+		Module root = this;
+		while(root.parent != null) {
+			root = root.parent;
+		}
+		List<Bean<?>> beans = new ArrayList<>();
+		List<Bean<?>> remainingBeans = new ArrayList<>();
+		for(Bean<?> bean : root.beansStack) {
+			if(!stoppedModules.contains(bean.parent)) {
+				remainingBeans.add(bean);
+			}
+			else if(root.beansStack.removeFirstOccurrence(bean)) {
+				beans.add(bean);
+			}
+		}
+		beans.forEach(this::destroyBean);
+		restartedModules.forEach(Module::stopReplicas);
+		this.commitRecordedEvent(stopEvent);
+		
+		for(Bean<?> bean : remainingBeans) {
+			for(Bean<?> dependency : bean.dependencies) {
+				if(stoppedModules.contains(dependency.parent)) {
+					this.logger.warn("Bean {} still holds the instance of bean {} created before the restart", () -> bean.parent.getName() + ":" + bean.name, () -> dependency.parent.getName() + ":" + dependency.name);
+				}
+			}
+		}
+		
+		this.start();
+		this.logger.info("Module {} restarted in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
+	}
+	
 	/**
 	 * <p>
-	 * Creates a module bean with the specified bean builder and registers it in
-	 * this module.
+	 * Stops the module.
 	 * </p>
 	 * 
 	 * <p>
-	 * A bean can only be registered once to exactly one module.
+	 * This methods basically destroy the beans created during startup in the
+	 * reverse order.
 	 * </p>
-	 * 
-	 * @param <T>         the actual type of the bean
-	 * @param beanBuilder the bean builder to use to create the bean
-	 * 
-	 * @return the registered bean
 	 */
-	protected <T> Bean<T> with(ModuleBeanBuilder<T> beanBuilder) {
-		Bean<T> bean = beanBuilder.build();
-		bean.parent = this;
-		this.beans.add(bean);
-
-		return bean;
+	public void stop() {
+		this.cancelWarmUp();
+		long t0 = System.nanoTime();
+		Object stopEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_STOP);
+		this.logger.info("Stopping Module {}...", () -> this.name);
+		// Beans created concurrently while the module is stopping are destroyed as well
+		Bean<?> bean;
+		while((bean = this.beansStack.poll()) != null) {
+			this.destroyBean(bean);
+		}
+		this.modules.stream().forEach(module -> module.stop());
+		this.stopReplicas();
+		this.commitRecordedEvent(stopEvent);
+		this.active = false;
+		// Requests that passed the activity check before the module was deactivated might have created beans again
+		while((bean = this.beansStack.poll()) != null) {
+			this.destroyBean(bean);
+		}
+		this.logger.info("Module {} stopped in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
 	}
 	
 	/**
 	 * <p>
-	 * Creates a wrapper bean with the specified bean builder and registers it in
-	 * this module.
+	 * Stops the module in parallel using the specified executor.
 	 * </p>
 	 * 
 	 * <p>
-	 * A bean can only be registered once to exactly one module.
+	 * This methods destroys the beans created during startup in the reverse
+	 * dependency order: a bean is destroyed once all the beans depending on it have
+	 * been destroyed, beans that do not depend on each other being destroyed
+	 * concurrently.
 	 * </p>
 	 * 
-	 * @param <W>         the type of the wrapper bean
-	 * @param <T>         the actual type of the bean
-	 * @param beanBuilder the bean builder to use to create the bean
-	 * 
-	 * @return the registered bean
-	 */
-	protected <W extends Supplier<T>, T> Bean<T> with(WrapperBeanBuilder<W, T> beanBuilder) {
-		Bean<T> bean = beanBuilder.build();
-		bean.parent = this;
-		this.beans.add(bean);
-
-		return bean;
-	}
-
-	/**
 	 * <p>
-	 * Returns the name of the module.
+	 * A bean which is not destroyed within the specified bean timeout is abandoned
+	 * and considered destroyed so that the beans it depends on can be destroyed.
+	 * The beans that are not destroyed when the overall timeout expires are
+	 * abandoned as well. Abandoned beans are logged.
 	 * </p>
 	 * 
-	 * @return the name of the module
-	 */
-	public String getName() {
-		return this.name;
-	}
-
-	/**
 	 * <p>
-	 * Determines whether the module is active (ie. started).
+	 * Beans whose destruction is rejected by the executor are destroyed in
+	 * dedicated daemon threads within the same timeouts.
 	 * </p>
 	 * 
-	 * @return true if the module is active, false otherwise.
+	 * @param executor    the executor used to destroy beans
+	 * @param beanTimeout the maximum time to wait for a bean to be destroyed or
+	 *                    null to wait indefinitely
+	 * @param timeout     the maximum time to wait for all beans to be destroyed or
+	 *                    null to wait indefinitely
 	 */
-	public boolean isActive() {
-		return active;
+	public void stop(Executor executor, Duration beanTimeout, Duration timeout) {
+		Objects.requireNonNull(executor, "executor");
+		this.cancelWarmUp();
+		long t0 = System.nanoTime();
+		Object stopEvent = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MODULE_STOP);
+		this.logger.info("Stopping Module {}...", () -> this.name);
+		
+		List<Bean<?>> beans = new ArrayList<>();
+		Bean<?> createdBean;
+		while((createdBean = this.beansStack.poll()) != null) {
+			beans.add(createdBean);
+		}
+		
+		// Count the created beans depending on each created bean
+		Map<Bean<?>, Integer> dependentsCount = new HashMap<>();
+		beans.forEach(bean -> dependentsCount.put(bean, 0));
+		for(Bean<?> bean : beans) {
+			for(Bean<?> dependency : bean.dependencies) {
+				dependentsCount.computeIfPresent(dependency, (ignore, count) -> count + 1);
+			}
+		}
+		
+		Deque<Bean<?>> destroyableBeans = new ArrayDeque<>();
+		for(Bean<?> bean : beans) {
+			if(dependentsCount.get(bean) == 0) {
+				destroyableBeans.add(bean);
+			}
+		}
+		
+		Long beanTimeoutNanos = beanTimeout != null ? beanTimeout.toNanos() : null;
+		Long deadline = timeout != null ? t0 + timeout.toNanos() : null;
+		BlockingQueue<Bean<?>> destroyedBeans = new LinkedBlockingQueue<>();
+		Map<Bean<?>, Long> destroyingBeans = new LinkedHashMap<>();
+		int remaining = beans.size();
+		try {
+			while(remaining > 0) {
+				if(destroyingBeans.isEmpty() && destroyableBeans.isEmpty()) {
+					// Dependency cycle (eg. lazy sockets): fall back to the reverse creation order
+					beans.stream().filter(bean -> dependentsCount.get(bean) > 0).findFirst().ifPresent(bean -> {
+						dependentsCount.put(bean, 0);
+						destroyableBeans.add(bean);
+					});
+				}
+				while(!destroyableBeans.isEmpty()) {
+					Bean<?> bean = destroyableBeans.poll();
+					destroyingBeans.put(bean, System.nanoTime());
+					Runnable destroyBean = () -> {
+						try {
+							this.destroyBean(bean);
+						}
+						finally {
+							destroyedBeans.add(bean);
+						}
+					};
+					try {
+						executor.execute(destroyBean);
+					}
+					catch(RejectedExecutionException e) {
+						// The bean is destroyed in a dedicated thread so that timeouts still apply
+						Thread destroyThread = new Thread(destroyBean, "inverno-destroy-" + this.name + "-" + bean.name);
+						destroyThread.setDaemon(true);
+						destroyThread.start();
+					}
+				}
+				
+				long now = System.nanoTime();
+				if(deadline != null && now - deadline >= 0) {
+					break;
+				}
+				long waitTime = deadline != null ? deadline - now : Long.MAX_VALUE;
+				if(beanTimeoutNanos != null) {
+					for(long bean_t0 : destroyingBeans.values()) {
+						waitTime = Math.min(waitTime, bean_t0 + beanTimeoutNanos - now);
+					}
+				}
+				
+				Bean<?> destroyedBean = destroyedBeans.poll(Math.max(waitTime, 0), TimeUnit.NANOSECONDS);
+				if(destroyedBean != null) {
+					if(destroyingBeans.remove(destroyedBean) != null) {
+						remaining--;
+						this.releaseDependencies(destroyedBean, dependentsCount, destroyableBeans);
+					}
+				}
+				else if(beanTimeoutNanos != null) {
+					now = System.nanoTime();
+					Iterator<Map.Entry<Bean<?>, Long>> destroyingBeansIterator = destroyingBeans.entrySet().iterator();
+					while(destroyingBeansIterator.hasNext()) {
+						Map.Entry<Bean<?>, Long> destroyingBean = destroyingBeansIterator.next();
+						if(now - destroyingBean.getValue() >= beanTimeoutNanos) {
+							Bean<?> abandonedBean = destroyingBean.getKey();
+							this.logger.warn("Bean {} not destroyed after {}ms, abandoning", () -> (abandonedBean.parent != null ? abandonedBean.parent.getName() + ":" : "") + abandonedBean.name, () -> beanTimeout.toMillis());
+							destroyingBeansIterator.remove();
+							remaining--;
+							this.releaseDependencies(abandonedBean, dependentsCount, destroyableBeans);
+						}
+					}
+				}
+			}
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		if(remaining > 0) {
+			this.logger.warn("Module {} not stopped after {}ms, abandoning beans: {}", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000), () -> beans.stream()
+				.filter(bean -> destroyingBeans.containsKey(bean) || dependentsCount.get(bean) > 0 || destroyableBeans.contains(bean))
+				.map(bean -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name)
+				.collect(Collectors.joining(", "))
+			);
+		}
+		
+		this.modules.stream().forEach(module -> module.stop());
+		this.stopReplicas();
+		this.commitRecordedEvent(stopEvent);
+		this.active = false;
+		// Requests that passed the activity check before the module was deactivated might have created beans again
+		while((createdBean = this.beansStack.poll()) != null) {
+			this.destroyBean(createdBean);
+		}
+		this.logger.info("Module {} stopped in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
 	}
 	
 	/**
 	 * <p>
-	 * Determines whether this module or one of its ancestors is active which would
-	 * indicate that this module is a component module in a tree of module being
-	 * started.
+	 * Commits a module Flight Recorder event.
 	 * </p>
 	 * 
-	 * @return true if an ancestor module is active, false otherwise.
+	 * @param event the event returned by
+	 *              {@link FlightRecorderEvents#begin(FlightRecorderEvents.Type)}
+	 *              or null
 	 */
-	private boolean isSuperActive() {
-		return this.active || (this.parent != null && this.parent.isSuperActive());
+	private void commitRecordedEvent(Object event) {
+		if(event != null) {
+			FlightRecorderEvents.commit(event, this.name, null, null, this.parent != null ? this.parent.name : null);
+		}
 	}
-
+	
 	/**
 	 * <p>
-	 * Starts the module.
-	 * </p>
-	 * 
-	 * <p>
-	 * It creates and wires the beans defined within the module and the required
-	 * Inverno modules it includes, the bean dependency graph determines the order
-	 * into which beans are created. When the module is stopped, beans are destroyed
-	 * in the reverse order.
+	 * Destroys the specified bean.
 	 * </p>
 	 * 
-	 * @throws IllegalStateException if the module is active.
+	 * @param bean the bean to destroy
 	 */
-	public void start() throws IllegalStateException {
-		if (this.isActive()) {
-			throw new IllegalStateException("Module " + this.name + " is already active");
+	private void destroyBean(Bean<?> bean) {
+		long bean_t0 = System.nanoTime();
+		try {
+			bean.destroy();
+		} 
+		catch (Exception e) {
+			this.logger.warn("Error destroying Bean {}", () -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name);
+		}
+		finally {
+			this.logger.debug("Bean {} destroyed in {}ms", () -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name, () -> ((System.nanoTime() - bean_t0) / 1000000));
 		}
-		this.active = true;
-		long t0 = System.nanoTime();
-		this.logger.info("Starting Module {}...", () -> this.name);
-		this.modules.stream().filter(module -> !module.isActive()).forEach(module -> module.start());
-		this.beans.stream().forEach(bean -> bean.create());
-		this.logger.info("Module {} started in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
-//		this.logger.info(this.beansStack.stream().map(bean -> bean.name.toString()).collect(Collectors.joining(", "))); // TEST
 	}
-
+	
 	/**
 	 * <p>
-	 * Stops the module.
+	 * Releases the dependencies of a destroyed bean, dependencies no longer
+	 * required by any bean being added to the queue of destroyable beans.
 	 * </p>
 	 * 
-	 * <p>
-	 * This methods basically destroy the beans created during startup in the
-	 * reverse order.
-	 * </p>
+	 * @param destroyedBean     the destroyed bean
+	 * @param dependentsCount   the count of remaining dependents per bean
+	 * @param destroyableBeans the queue of destroyable beans
 	 */
-	public void stop() {
-		long t0 = System.nanoTime();
-		this.logger.info("Stopping Module {}...", () -> this.name);
-		this.beansStack.forEach(bean -> {
-			long bean_t0 = System.nanoTime();
-			try {
-				bean.destroy();
-			} 
-			catch (Exception e) {
-				this.logger.warn("Error destroying Bean {}", () -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name);
+	private void releaseDependencies(Bean<?> destroyedBean, Map<Bean<?>, Integer> dependentsCount, Deque<Bean<?>> destroyableBeans) {
+		for(Bean<?> dependency : destroyedBean.dependencies) {
+			Integer count = dependentsCount.computeIfPresent(dependency, (ignore, current) -> current - 1);
+			if(count != null && count == 0) {
+				destroyableBeans.add(dependency);
 			}
-			finally {
-				this.logger.debug("Bean {} destroyed in {}ms", () -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name, () -> ((System.nanoTime() - bean_t0) / 1000000));
-			}
-		});
-		this.modules.stream().forEach(module -> module.stop());
-		this.beansStack.clear();
-		this.logger.info("Module {} stopped in {}ms", () -> this.name, () -> ((System.nanoTime() - t0) / 1000000));
-		this.active = false;
+		}
 	}
 
 	/**
@@ -425,6 +1456,12 @@ public abstract class Module {
 	 * shall never be used directly.
 	 * </p>
 	 * 
+	 * <p>
+	 * Generated linkers receive the sockets of the module to link as typed
+	 * constructor arguments, the socket map is only used by linkers generated by
+	 * previous versions of the compiler.
+	 * </p>
+	 * 
 	 * @param <T> the module type to link.
 	 * 
 	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
@@ -448,6 +1485,22 @@ public abstract class Module {
 			this.sockets = sockets;
 		}
 
+		/**
+		 * <p>
+		 * Creates a new Module linker with no socket map.
+		 * </p>
+		 * 
+		 * <p>
+		 * This constructor is used by linkers holding the sockets of the module to
+		 * link in typed fields.
+		 * </p>
+		 * 
+		 * @since 1.3
+		 */
+		public ModuleLinker() {
+			this.sockets = Map.of();
+		}
+
 		/**
 		 * <p>
 		 * Links the socket map in a new module instance and return that instance.
@@ -488,13 +1541,16 @@ public abstract class Module {
 			if (nonOptionalSockets.length % 2 != 0) {
 				throw new IllegalArgumentException("Invalid list of required socket");
 			}
-			List<String> nullSockets = new ArrayList<>();
+			List<String> nullSockets = null;
 			for (int i = 0; i < nonOptionalSockets.length; i = i + 2) {
 				if (nonOptionalSockets[i + 1] == null) {
+					if (nullSockets == null) {
+						nullSockets = new ArrayList<>();
+					}
 					nullSockets.add(nonOptionalSockets[i].toString());
 				}
 			}
-			if (nullSockets.size() > 0) {
+			if (nullSockets != null) {
 				throw new IllegalArgumentException("Following non-optional sockets are null: "
 						+ nullSockets.stream().collect(Collectors.joining(", ")));
 			}
@@ -553,46 +1609,279 @@ public abstract class Module {
 	protected static abstract class Bean<T> implements Supplier<T> {
 
 		/**
-		 * The module into which the bean is registered.
+		 * The module into which the bean is registered.
+		 */
+		protected Module parent;
+
+		/**
+		 * The bean name.
+		 */
+		protected String name;
+		
+		/**
+		 * The bean being created by the current thread.
+		 */
+		private static final ThreadLocal<Bean<?>> CREATING_BEAN = new ThreadLocal<>();
+		
+		/**
+		 * The number of beans being created, used to avoid looking up the bean being
+		 * created by the current thread when no bean is created.
+		 */
+		private static final AtomicInteger CREATING_BEANS_COUNT = new AtomicInteger();
+		
+		/**
+		 * The number of bean listeners registered in all modules, used to avoid
+		 * emitting bean events when no listener is registered.
+		 */
+		static final AtomicInteger LISTENERS_COUNT = new AtomicInteger();
+		
+		/**
+		 * The number of bean listeners registered in all modules and sampling get
+		 * callbacks.
+		 */
+		static final AtomicInteger SAMPLING_LISTENERS_COUNT = new AtomicInteger();
+		
+		/**
+		 * The sum of {@link #CREATING_BEANS_COUNT} and
+		 * {@link #SAMPLING_LISTENERS_COUNT}, used to settle both checks with a single
+		 * read when requesting a bean instance.
+		 */
+		static final AtomicInteger INTERCEPTED_GETS_COUNT = new AtomicInteger();
+		
+		/**
+		 * The dependencies of a bean which has not been created yet.
+		 */
+		private static final Set<Bean<?>> NO_DEPENDENCIES = Set.of();
+		
+		/**
+		 * The {@link #dependencies} field handle.
+		 */
+		private static final VarHandle DEPENDENCIES;
+		
+		static {
+			try {
+				DEPENDENCIES = MethodHandles.lookup().findVarHandle(Bean.class, "dependencies", Set.class);
+			}
+			catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+		
+		/**
+		 * The beans required by the bean when it was created, used to destroy beans in
+		 * the reverse dependency order, allocated when the bean is first created.
+		 */
+		private volatile Set<Bean<?>> dependencies = NO_DEPENDENCIES;
+		
+		/**
+		 * Indicates whether the dependencies of the bean have been tracked.
+		 */
+		volatile boolean dependenciesTracked;
+
+		/**
+		 * The lock guarding the creation and the destruction of the bean instances.
+		 */
+		final ReentrantLock lock = new ReentrantLock();
+
+		/**
+		 * <p>
+		 * Creates a bean with the specified name.
+		 * </p>
+		 * 
+		 * @param name the bean name
+		 */
+		protected Bean(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * <p>
+		 * Returns the requested bean instance while making sure the enclosing module is
+		 * active.
+		 * </p>
+		 * 
+		 * <p>
+		 * In case the enclosing module is not active but one of its ancestors is
+		 * active, this method starts the enclosing module in order to start modules in
+		 * their natural order. If no ancestor is active (ie. the enclosing module is
+		 * not part of a module initialization process), an
+		 * {@link IllegalStateException} is thrown.
+		 * </p>
+		 * 
+		 * <p>
+		 * The module state is checked on every request since a module can be stopped
+		 * and started again and since beans can be requested while the enclosing
+		 * module is being started. Dependency tracking and sampled listeners are
+		 * checked with a single read of {@link #INTERCEPTED_GETS_COUNT} which is zero
+		 * once the application is started and unmonitored.
+		 * </p>
+		 * 
+		 * @throws IllegalStateException if the enclosing module is inactive and not
+		 *                               part of a module initialization process.
+		 */
+		@Override
+		public final T get() throws IllegalStateException {
+			if (!this.parent.isActive()) {
+				this.activateParent();
+			}
+			if (INTERCEPTED_GETS_COUNT.get() > 0) {
+				return this.interceptedGet();
+			}
+			return this.doGet();
+		}
+		
+		/**
+		 * <p>
+		 * Returns the requested bean instance while recording the dependency of the
+		 * bean being created by the current thread and notifying sampling listeners.
+		 * </p>
+		 * 
+		 * @return a bean instance
+		 */
+		private T interceptedGet() {
+			if (CREATING_BEANS_COUNT.get() > 0) {
+				this.recordDependency();
+			}
+			if (SAMPLING_LISTENERS_COUNT.get() > 0) {
+				return this.sampledGet();
+			}
+			return this.doGet();
+		}
+		
+		/**
+		 * <p>
+		 * Returns the supplied bean instance and notifies the listeners whose sampling
+		 * selects the request.
+		 * </p>
+		 * 
+		 * @return a bean instance
+		 */
+		private T sampledGet() {
+			long t0 = System.nanoTime();
+			T instance = this.doGet();
+			long duration = System.nanoTime() - t0;
+			BeanEvent event = null;
+			for(Module module = this.parent;module != null;module = module.parent) {
+				for(BeanListener listener : module.beanListeners) {
+					int sampling = listener.getSampling();
+					if(sampling == 1 || (sampling > 1 && ThreadLocalRandom.current().nextInt(sampling) == 0)) {
+						if(event == null) {
+							event = new BeanEvent(this.parent.getName(), this.name, this.getStrategy(), duration, Thread.currentThread());
+						}
+						this.notifyListener(listener, BeanListener::onGet, event);
+					}
+				}
+			}
+			return instance;
+		}
+		
+		/**
+		 * <p>
+		 * Determines whether bean events must be emitted.
+		 * </p>
+		 * 
+		 * @return true if at least one bean listener is registered, false otherwise
+		 */
+		final boolean isListened() {
+			return LISTENERS_COUNT.get() > 0;
+		}
+		
+		/**
+		 * <p>
+		 * Emits a bean event to the listeners registered in the enclosing module and
+		 * its ancestors.
+		 * </p>
+		 * 
+		 * @param callback the listener callback to invoke
+		 * @param duration the duration of the operation in nanoseconds
+		 */
+		final void fireEvent(BiConsumer<BeanListener, BeanEvent> callback, long duration) {
+			BeanEvent event = null;
+			for(Module module = this.parent;module != null;module = module.parent) {
+				for(BeanListener listener : module.beanListeners) {
+					if(event == null) {
+						event = new BeanEvent(this.parent.getName(), this.name, this.getStrategy(), duration, Thread.currentThread());
+					}
+					this.notifyListener(listener, callback, event);
+				}
+			}
+		}
+		
+		/**
+		 * <p>
+		 * Invokes the specified callback on a listener, errors are logged and ignored.
+		 * </p>
+		 * 
+		 * @param listener the bean listener
+		 * @param callback the listener callback to invoke
+		 * @param event    the bean event
 		 */
-		protected Module parent;
-
+		private void notifyListener(BeanListener listener, BiConsumer<BeanListener, BeanEvent> callback, BeanEvent event) {
+			try {
+				callback.accept(listener, event);
+			}
+			catch (RuntimeException e) {
+				this.parent.logger.warn(() -> "Error notifying bean listener of bean " + this.parent.getName() + ":" + this.name, e);
+			}
+		}
+		
 		/**
-		 * The bean name.
+		 * <p>
+		 * Commits a Flight Recorder event begun for this bean.
+		 * </p>
+		 * 
+		 * @param event the event returned by
+		 *              {@link FlightRecorderEvents#begin(FlightRecorderEvents.Type)}
+		 *              or null
 		 */
-		protected String name;
-
+		final void commitRecordedEvent(Object event) {
+			if(event != null) {
+				FlightRecorderEvents.commit(event, this.parent.getName(), this.name, this.getStrategy().name(), this.parent.parent != null ? this.parent.parent.getName() : null);
+			}
+		}
+		
 		/**
 		 * <p>
-		 * Creates a bean with the specified name.
+		 * Returns the strategy of the bean.
 		 * </p>
 		 * 
-		 * @param name the bean name
+		 * @return a bean strategy
 		 */
-		protected Bean(String name) {
-			this.name = name;
+		abstract BeanEvent.Strategy getStrategy();
+		
+		/**
+		 * <p>
+		 * Determines whether the bean is instantiated the first time it is requested
+		 * instead of when the module is started.
+		 * </p>
+		 * 
+		 * @return true if the bean is lazy, false otherwise
+		 */
+		boolean isLazy() {
+			return false;
 		}
-
+		
 		/**
 		 * <p>
-		 * Returns the requested bean instance while making sure the enclosing module is
-		 * active.
+		 * Starts the enclosing module when one of its ancestors is active.
 		 * </p>
 		 * 
 		 * <p>
-		 * In case the enclosing module is not active but one of its ancestors is
-		 * active, this method starts the enclosing module in order to start modules in
-		 * their natural order. If no ancestor is active (ie. the enclosing module is
-		 * not part of a module initialization process), an
-		 * {@link IllegalStateException} is thrown.
+		 * The enclosing module is only inactive while modules are being started, this
+		 * slow path is then kept out of {@link #get()} which is invoked each time a
+		 * bean instance is requested.
 		 * </p>
 		 * 
 		 * @throws IllegalStateException if the enclosing module is inactive and not
 		 *                               part of a module initialization process.
 		 */
-		@Override
-		public final T get() throws IllegalStateException {
-			if (!this.parent.isActive()) {
+		private void activateParent() throws IllegalStateException {
+			// Synchronizes with a restart of the enclosing module
+			this.parent.lock.lock();
+			try {
+				if(this.parent.isActive()) {
+					return;
+				}
 				if(this.parent.isSuperActive()) {
 					this.parent.start();
 				}
@@ -600,7 +1889,75 @@ public abstract class Module {
 					throw new IllegalArgumentException("Module " + this.parent.getName() + " is inactive.");
 				}
 			}
-			return this.doGet();
+			finally {
+				this.parent.lock.unlock();
+			}
+		}
+		
+		/**
+		 * <p>
+		 * Records this bean as a dependency of the bean being created in the current
+		 * thread if any.
+		 * </p>
+		 */
+		private void recordDependency() {
+			Bean<?> dependent = CREATING_BEAN.get();
+			if (dependent != null && dependent != this) {
+				dependent.dependencies.add(this);
+			}
+		}
+		
+		/**
+		 * <p>
+		 * Returns the beans required by the bean when it was created.
+		 * </p>
+		 * 
+		 * @return a set of beans
+		 */
+		final Set<Bean<?>> getDependencies() {
+			return this.dependencies;
+		}
+		
+		/**
+		 * <p>
+		 * Invokes the specified creation operation while recording the beans it
+		 * requires as dependencies of this bean.
+		 * </p>
+		 * 
+		 * <p>
+		 * Since the dependencies of a prototype bean are the same for every instance,
+		 * prototype beans only need to track dependencies when creating the first
+		 * instance.
+		 * </p>
+		 * 
+		 * @param <E>      the type of object created
+		 * @param creation the creation operation
+		 * 
+		 * @return the created object
+		 */
+		final <E> E trackDependencies(Supplier<E> creation) {
+			if (this.dependencies == NO_DEPENDENCIES) {
+				// Prototype instances might be created concurrently
+				DEPENDENCIES.compareAndSet(this, NO_DEPENDENCIES, ConcurrentHashMap.newKeySet());
+			}
+			Bean<?> previous = CREATING_BEAN.get();
+			CREATING_BEAN.set(this);
+			CREATING_BEANS_COUNT.incrementAndGet();
+			INTERCEPTED_GETS_COUNT.incrementAndGet();
+			try {
+				return creation.get();
+			}
+			finally {
+				this.dependenciesTracked = true;
+				INTERCEPTED_GETS_COUNT.decrementAndGet();
+				CREATING_BEANS_COUNT.decrementAndGet();
+				if (previous != null) {
+					CREATING_BEAN.set(previous);
+				}
+				else {
+					CREATING_BEAN.remove();
+				}
+			}
 		}
 
 		/**
@@ -671,6 +2028,34 @@ public abstract class Module {
 			void accept(T t) throws Exception;
 		}
 		
+		/**
+		 * <p>
+		 * Fallible function used to designates asynchronous init methods which might
+		 * throw checked exception.
+		 * </p>
+		 * 
+		 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+		 * @since 1.3
+		 *
+		 * @param <T> the type of the input to the function
+		 * @param <R> the type of the result of the function
+		 */
+		@FunctionalInterface
+		static interface FallibleFunction<T, R> {
+			
+			/**
+			 * <p>
+			 * Applies this function to the given argument.
+			 * </p>
+			 * 
+			 * @param t the input argument
+			 * 
+			 * @return the function result
+			 * @throws Exception if something goes wrong processing the argument
+			 */
+			R apply(T t) throws Exception;
+		}
+		
 		/**
 		 * <p>
 		 * Adds a bean initialization operation.
@@ -681,6 +2066,26 @@ public abstract class Module {
 		 * @return this builder
 		 */
 		B init(FallibleConsumer<T> init);
+		
+		/**
+		 * <p>
+		 * Adds an asynchronous bean initialization operation.
+		 * </p>
+		 * 
+		 * <p>
+		 * Asynchronous initialization operations are executed in order after the
+		 * initialization operations, each one once the previous one has completed.
+		 * A singleton bean instance is only provided to dependent beans once it has
+		 * been fully initialized and the module start completes once all singleton
+		 * beans have been initialized, other instances are provided once they have
+		 * been initialized.
+		 * </p>
+		 * 
+		 * @param init the asynchronous bean initialization operation.
+		 * 
+		 * @return this builder
+		 */
+		B asyncInit(FallibleFunction<T, CompletionStage<?>> init);
 
 		/**
 		 * <p>
@@ -768,7 +2173,49 @@ public abstract class Module {
 		static <T> ModuleBeanBuilder<T> prototype(String beanName, Supplier<T> constructor) {
 			return new PrototypeModuleBeanBuilder<T>(beanName, constructor);
 		}
-		
+
+		/**
+		 * <p>
+		 * Returns a thread module bean builder.
+		 * </p>
+		 *
+		 * <p>
+		 * Thread {@link Bean}s are useful when an instance of a bean should be
+		 * confined to each thread requesting it.
+		 * </p>
+		 *
+		 * @param <T>         the type of the bean to build
+		 * @param beanName    the bean name
+		 * @param constructor the bean instance supplier
+		 *
+		 * @return a thread Bean Builder
+		 */
+		static <T> ModuleBeanBuilder<T> thread(String beanName, Supplier<T> constructor) {
+			return new ThreadModuleBeanBuilder<T>(beanName, constructor);
+		}
+
+		/**
+		 * <p>
+		 * Returns a striped module bean builder.
+		 * </p>
+		 *
+		 * <p>
+		 * Striped {@link Bean}s are useful when requesting threads should be spread
+		 * across a fixed number of instances of a bean to reduce contention.
+		 * </p>
+		 *
+		 * @param <T>         the type of the bean to build
+		 * @param beanName    the bean name
+		 * @param stripes     the number of stripes, the number of available
+		 *                    processors is used when lower or equal to zero
+		 * @param constructor the bean instance supplier
+		 *
+		 * @return a striped Bean Builder
+		 */
+		static <T> ModuleBeanBuilder<T> striped(String beanName, int stripes, Supplier<T> constructor) {
+			return new StripedModuleBeanBuilder<T>(beanName, stripes, constructor);
+		}
+
 		/**
 		 * <p>
 		 * Builds the bean.
@@ -787,6 +2234,21 @@ public abstract class Module {
 		 * @return this builder
 		 */
 		ModuleBeanBuilder<T> override(Optional<Supplier<T>> override);
+		
+		/**
+		 * <p>
+		 * Specifies that a singleton bean instance must be created the first time the
+		 * bean is requested instead of when the module is started.
+		 * </p>
+		 * 
+		 * <p>
+		 * This is ignored for other strategies since no instance is created when the
+		 * module is started.
+		 * </p>
+		 * 
+		 * @return this builder
+		 */
+		ModuleBeanBuilder<T> lazy();
 	}
 	
 	/**
@@ -894,6 +2356,147 @@ public abstract class Module {
 		 * @return this builder
 		 */
 		WrapperBeanBuilder<W, T> override(Optional<Supplier<T>> override);
+		
+		/**
+		 * <p>
+		 * Specifies that the wrapper of a prototype bean instance must be destroyed as
+		 * soon as the instance is reclaimed by the garbage collector instead of when
+		 * the bean is destroyed.
+		 * </p>
+		 * 
+		 * <p>
+		 * This is ignored for singleton beans.
+		 * </p>
+		 * 
+		 * @return this builder
+		 */
+		WrapperBeanBuilder<W, T> destroyOnReclaim();
+		
+		/**
+		 * <p>
+		 * Specifies that a singleton bean instance must be created the first time the
+		 * bean is requested instead of when the module is started.
+		 * </p>
+		 * 
+		 * <p>
+		 * This is ignored for prototype beans.
+		 * </p>
+		 * 
+		 * @return this builder
+		 */
+		WrapperBeanBuilder<W, T> lazy();
+	}
+	
+	/**
+	 * <p>
+	 * A pool bean builder is used to create pooled beans which expose a
+	 * {@link Pool} of bean instances.
+	 * </p>
+	 * 
+	 * <p>
+	 * Initialization operations are invoked when an instance is created and enters
+	 * the pool, destruction operations when an instance is evicted from the pool
+	 * or when the bean is destroyed.
+	 * </p>
+	 * 
+	 * <blockquote>
+	 * 
+	 * <pre>
+	 * this.beanA = PoolBeanBuilder
+	 *     .pooled("beanA", () -&gt; {
+	 *          BeanA beanA = new BeanA(serviceSocket.get());
+	 *          return beanA;
+	 *      })
+	 *      .init(BeanA::init)
+	 *      .destroy(BeanA::destroy)
+	 *      .maxSize(8)
+	 *      .maxIdleTime(60000)
+	 *      .timeout(-1)
+	 *      .build(this);
+	 * </pre>
+	 * 
+	 * </blockquote>
+	 * 
+	 * @param <T> the actual type of the pooled instances
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 * @see Bean
+	 * @see Pool
+	 */
+	protected interface PoolBeanBuilder<T> extends BeanBuilder<T, PoolBeanBuilder<T>> {
+		
+		/**
+		 * <p>
+		 * Returns a pooled module bean builder.
+		 * </p>
+		 * 
+		 * <p>
+		 * Pooled {@link Bean}s are useful when expensive instances which are not
+		 * thread-safe should be reused across the application.
+		 * </p>
+		 * 
+		 * @param <T>         the type of the pooled instances
+		 * @param beanName    the bean name
+		 * @param constructor the bean instance supplier
+		 * 
+		 * @return a pooled Bean Builder
+		 */
+		static <T> PoolBeanBuilder<T> pooled(String beanName, Supplier<T> constructor) {
+			return new PooledModuleBeanBuilder<T>(beanName, constructor);
+		}
+		
+		/**
+		 * <p>
+		 * Builds the bean.
+		 * </p>
+		 * 
+		 * @return a bean
+		 */
+		Bean<Pool<T>> build();
+		
+		/**
+		 * <p>
+		 * Specifies an override that, when present, provides the pool instead of the
+		 * builder.
+		 * </p>
+		 * 
+		 * @param override An optional override
+		 * @return this builder
+		 */
+		PoolBeanBuilder<T> override(Optional<Supplier<Pool<T>>> override);
+		
+		/**
+		 * <p>
+		 * Specifies the maximum number of instances in the pool.
+		 * </p>
+		 * 
+		 * @param maxSize the maximum number of instances
+		 * @return this builder
+		 */
+		PoolBeanBuilder<T> maxSize(int maxSize);
+		
+		/**
+		 * <p>
+		 * Specifies the time after which an idle instance is evicted from the pool.
+		 * </p>
+		 * 
+		 * @param maxIdleTime a time in milliseconds, no eviction if negative or zero
+		 * @return this builder
+		 */
+		PoolBeanBuilder<T> maxIdleTime(long maxIdleTime);
+		
+		/**
+		 * <p>
+		 * Specifies the time to wait for an instance to be released when the pool is
+		 * exhausted.
+		 * </p>
+		 * 
+		 * @param timeout a time in milliseconds, fail immediately if zero, wait
+		 *                indefinitely if negative
+		 * @return this builder
+		 */
+		PoolBeanBuilder<T> timeout(long timeout);
 	}
 	
 	/**
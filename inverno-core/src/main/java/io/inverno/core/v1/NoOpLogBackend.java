@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+/**
+ * <p>
+ * A logging backend discarding all messages.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public final class NoOpLogBackend implements LogBackend {
+
+	/**
+	 * The backend name.
+	 */
+	public static final String NAME = "noop";
+
+	/**
+	 * The logger discarding all messages.
+	 */
+	private static final LogBackend.Logger LOGGER = new LogBackend.Logger() {
+
+		@Override
+		public boolean isEnabled(LogBackend.Level level) {
+			return false;
+		}
+
+		@Override
+		public void log(LogBackend.Level level, String message, Throwable error) {
+
+		}
+	};
+
+	/**
+	 * <p>
+	 * Creates a log backend discarding all messages.
+	 * </p>
+	 *
+	 * <p>
+	 * This backend is selected by setting the {@code inverno.core.log_backend}
+	 * system property to {@value #NAME}.
+	 * </p>
+	 */
+	public NoOpLogBackend() {
+
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public LogBackend.Logger getLogger(String name) {
+		return LOGGER;
+	}
+}
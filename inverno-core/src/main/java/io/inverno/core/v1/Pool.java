@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A pool of bean instances exposed by a pooled bean.
+ * </p>
+ * 
+ * <p>
+ * A pooled bean is exposed in a module as a pool from which bean instances are
+ * leased and to which they must be released once they are no longer used. A
+ * pooled bean is typically used for expensive objects which are not thread-safe
+ * such as parsers, ciphers or large buffers: pooling avoids creating and
+ * initializing a new instance each time one is needed, as a prototype bean
+ * would, while making sure an instance is only used by one thread at a time.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <pre>
+ * SomeParser parser = parserPool.lease();
+ * try {
+ *     ...
+ * }
+ * finally {
+ *     parserPool.release(parser);
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ *
+ * @param <T> the type of pooled instances
+ */
+public interface Pool<T> {
+
+	/**
+	 * <p>
+	 * Leases an instance from the pool.
+	 * </p>
+	 * 
+	 * <p>
+	 * An idle instance is returned when available, otherwise a new instance is
+	 * created if the pool is not full. When the pool is exhausted, this method
+	 * either fails immediately or waits for an instance to be released depending
+	 * on the pool configuration.
+	 * </p>
+	 * 
+	 * @return an instance
+	 * 
+	 * @throws IllegalStateException if the pool is exhausted and no instance was
+	 *                               released in time, or if the pool is closed
+	 */
+	T lease() throws IllegalStateException;
+	
+	/**
+	 * <p>
+	 * Releases an instance previously leased from the pool.
+	 * </p>
+	 * 
+	 * @param instance the instance to release
+	 * 
+	 * @throws IllegalArgumentException if the instance is not currently leased from
+	 *                                  the pool
+	 */
+	void release(T instance) throws IllegalArgumentException;
+	
+	/**
+	 * <p>
+	 * Leases an instance, applies the specified function to it and releases it.
+	 * </p>
+	 * 
+	 * @param <R>      the type of result
+	 * @param function the function to apply to the leased instance
+	 * 
+	 * @return the result of the function
+	 * 
+	 * @throws IllegalStateException if the pool is exhausted and no instance was
+	 *                               released in time, or if the pool is closed
+	 */
+	default <R> R apply(Function<? super T, ? extends R> function) throws IllegalStateException {
+		T instance = this.lease();
+		try {
+			return function.apply(instance);
+		}
+		finally {
+			this.release(instance);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of instances currently in the pool whether they are
+	 * leased or idle.
+	 * </p>
+	 * 
+	 * @return the number of instances
+	 */
+	int size();
+	
+	/**
+	 * <p>
+	 * Returns the number of idle instances in the pool.
+	 * </p>
+	 * 
+	 * @return the number of idle instances
+	 */
+	int idleCount();
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A pooled module {@link Bean} implementation.
+ * </p>
+ * 
+ * <p>
+ * A pooled bean exposes a {@link Pool} from which bean instances are leased and
+ * to which they are released. Bean instances are created and initialized when
+ * they enter the pool, destroyed when they are evicted after having been idle
+ * for too long or when the bean is destroyed. The number of instances in the
+ * pool is bounded, when the pool is exhausted a lease either fails immediately
+ * or waits for an instance to be released.
+ * </p>
+ * 
+ * <p>
+ * Idle instances are evicted when instances are leased or released, the most
+ * recently released instances being leased first so that instances no longer
+ * needed eventually reach the maximum idle time.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * @see Bean
+ * @see Pool
+ * @see PooledModuleBeanBuilder
+ * 
+ * @param <T> the actual type of the bean
+ */
+abstract class PooledModuleBean<T> extends Bean<Pool<T>> {
+
+	/**
+	 * The bean logger.
+	 */
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PooledModuleBean.class);
+	
+	/**
+	 * The override that, when not null, provides the pool instead of the bean.
+	 */
+	protected final Supplier<Pool<T>> override;
+	
+	/**
+	 * The maximum number of instances in the pool.
+	 */
+	private final int maxSize;
+	
+	/**
+	 * The time in nanoseconds after which an idle instance is evicted, no eviction
+	 * if negative or zero.
+	 */
+	private final long maxIdleTime;
+	
+	/**
+	 * The time in nanoseconds to wait for an instance when the pool is exhausted,
+	 * wait indefinitely if negative.
+	 */
+	private final long timeout;
+	
+	/**
+	 * Indicates whether the bean was created.
+	 */
+	private volatile boolean created;
+	
+	/**
+	 * The pool exposed by the bean.
+	 */
+	private ModulePool pool;
+	
+	/**
+	 * <p>
+	 * Creates a pooled module bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name        the bean name
+	 * @param override    an optional override
+	 * @param maxSize     the maximum number of instances in the pool
+	 * @param maxIdleTime the time in milliseconds after which an idle instance is
+	 *                    evicted, no eviction if negative or zero
+	 * @param timeout     the time in milliseconds to wait for an instance when the
+	 *                    pool is exhausted, fail immediately if zero, wait
+	 *                    indefinitely if negative
+	 */
+	public PooledModuleBean(String name, Optional<Supplier<Pool<T>>> override, int maxSize, long maxIdleTime, long timeout) {
+		super(name);
+		if(maxSize <= 0) {
+			throw new IllegalArgumentException("Pool maximum size must be positive: " + maxSize);
+		}
+		this.override = override.orElse(null);
+		this.maxSize = maxSize;
+		this.maxIdleTime = TimeUnit.MILLISECONDS.toNanos(maxIdleTime);
+		this.timeout = timeout < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(timeout);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a bean instance.
+	 * </p>
+	 * 
+	 * @return a bean instance
+	 */
+	protected abstract T createInstance();
+
+	/**
+	 * <p>
+	 * Destroys the specified bean instance.
+	 * </p>
+	 * 
+	 * @param instance the instance to destroy
+	 */
+	protected abstract void destroyInstance(T instance);
+
+	/**
+	 * <p>
+	 * Creates the pooled bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method creates an empty pool, bean instances being created when they
+	 * are leased.
+	 * </p>
+	 */
+	@Override
+	public final void create() {
+		if (!this.created) {
+			this.lock.lock();
+			try {
+				if (!this.created) {
+					LOGGER.debug("Creating pooled bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					if(this.override == null) {
+						this.pool = new ModulePool();
+					}
+					this.parent.recordBean(this);
+					this.created = true;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the pool.
+	 * </p>
+	 * 
+	 * @return the pool
+	 */
+	@Override
+	public final Pool<T> doGet() {
+		this.create();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		return this.pool;
+	}
+
+	/**
+	 * <p>
+	 * Destroys the pooled bean and as a result all the instances in the pool
+	 * whether they are idle or leased.
+	 * </p>
+	 */
+	@Override
+	public final void destroy() {
+		if (this.created) {
+			this.lock.lock();
+			try {
+				if (this.created) {
+					LOGGER.debug("Destroying pooled bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					if(this.pool != null) {
+						try {
+							this.pool.close();
+						}
+						finally {
+							this.pool = null;
+						}
+					}
+					this.created = false;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Destroys the specified instances.
+	 * </p>
+	 * 
+	 * <p>
+	 * All instances are destroyed even if the destruction of some of them fails,
+	 * the first error is then rethrown with subsequent errors added as suppressed
+	 * exceptions.
+	 * </p>
+	 * 
+	 * @param instances a list of instances or null
+	 */
+	private void destroyInstances(List<T> instances) {
+		if(instances != null) {
+			RuntimeException error = null;
+			for(T instance : instances) {
+				try {
+					this.destroyInstance(instance);
+				}
+				catch(RuntimeException e) {
+					if(error == null) {
+						error = e;
+					}
+					else {
+						error.addSuppressed(e);
+					}
+				}
+			}
+			if(error != null) {
+				throw error;
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * An idle instance in the pool.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 *
+	 * @param <T> the actual type of the bean
+	 */
+	private static class IdleInstance<T> {
+		
+		/**
+		 * The instance.
+		 */
+		private final T instance;
+		
+		/**
+		 * The time in nanoseconds at which the instance was released.
+		 */
+		private final long releaseTime;
+		
+		/**
+		 * <p>
+		 * Creates an idle instance.
+		 * </p>
+		 * 
+		 * @param instance    the instance
+		 * @param releaseTime the time in nanoseconds at which the instance was
+		 *                    released
+		 */
+		public IdleInstance(T instance, long releaseTime) {
+			this.instance = instance;
+			this.releaseTime = releaseTime;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * The pool exposed by the bean.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private class ModulePool implements Pool<T> {
+		
+		/**
+		 * The pool lock.
+		 */
+		private final ReentrantLock lock;
+		
+		/**
+		 * The condition signaled when an instance is released.
+		 */
+		private final Condition released;
+		
+		/**
+		 * The idle instances, the most recently released first.
+		 */
+		private final Deque<IdleInstance<T>> idleInstances;
+		
+		/**
+		 * The leased instances.
+		 */
+		private final Set<T> leasedInstances;
+		
+		/**
+		 * The number of instances in the pool including instances being created.
+		 */
+		private int size;
+		
+		/**
+		 * Indicates whether the pool is closed.
+		 */
+		private boolean closed;
+		
+		/**
+		 * <p>
+		 * Creates a module pool.
+		 * </p>
+		 */
+		public ModulePool() {
+			this.lock = new ReentrantLock();
+			this.released = this.lock.newCondition();
+			this.idleInstances = new ArrayDeque<>();
+			this.leasedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+		}
+		
+		@Override
+		public T lease() throws IllegalStateException {
+			T instance = null;
+			List<T> evictedInstances = null;
+			this.lock.lock();
+			try {
+				evictedInstances = this.evictIdleInstances(System.nanoTime());
+				long remainingTime = PooledModuleBean.this.timeout;
+				for(;;) {
+					if(this.closed) {
+						throw new IllegalStateException("Pool of bean " + PooledModuleBean.this.name + " is closed");
+					}
+					IdleInstance<T> idleInstance = this.idleInstances.pollFirst();
+					if(idleInstance != null) {
+						instance = idleInstance.instance;
+						this.leasedInstances.add(instance);
+						return instance;
+					}
+					if(this.size < PooledModuleBean.this.maxSize) {
+						this.size++;
+						break;
+					}
+					if(remainingTime == 0) {
+						throw new IllegalStateException("Pool of bean " + PooledModuleBean.this.name + " is exhausted");
+					}
+					else if(remainingTime < 0) {
+						this.released.await();
+					}
+					else {
+						remainingTime = Math.max(this.released.awaitNanos(remainingTime), 0);
+					}
+				}
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for an instance of pooled bean " + PooledModuleBean.this.name, e);
+			}
+			finally {
+				this.lock.unlock();
+				PooledModuleBean.this.destroyInstances(evictedInstances);
+			}
+			
+			try {
+				instance = PooledModuleBean.this.dependenciesTracked ? PooledModuleBean.this.createInstance() : PooledModuleBean.this.trackDependencies(PooledModuleBean.this::createInstance);
+			}
+			catch(RuntimeException | Error e) {
+				this.lock.lock();
+				try {
+					this.size--;
+					this.released.signal();
+				}
+				finally {
+					this.lock.unlock();
+				}
+				throw e;
+			}
+			
+			this.lock.lock();
+			try {
+				if(!this.closed) {
+					this.leasedInstances.add(instance);
+					return instance;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+			PooledModuleBean.this.destroyInstance(instance);
+			throw new IllegalStateException("Pool of bean " + PooledModuleBean.this.name + " is closed");
+		}
+
+		@Override
+		public void release(T instance) throws IllegalArgumentException {
+			List<T> evictedInstances = null;
+			this.lock.lock();
+			try {
+				if(!this.leasedInstances.remove(instance)) {
+					if(this.closed) {
+						// Instances are destroyed when the pool is closed
+						return;
+					}
+					throw new IllegalArgumentException("Instance is not leased from the pool of bean " + PooledModuleBean.this.name);
+				}
+				long now = System.nanoTime();
+				this.idleInstances.addFirst(new IdleInstance<>(instance, now));
+				evictedInstances = this.evictIdleInstances(now);
+				this.released.signal();
+			}
+			finally {
+				this.lock.unlock();
+				PooledModuleBean.this.destroyInstances(evictedInstances);
+			}
+		}
+		
+		@Override
+		public int size() {
+			this.lock.lock();
+			try {
+				return this.size;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		
+		@Override
+		public int idleCount() {
+			this.lock.lock();
+			try {
+				return this.idleInstances.size();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		
+		/**
+		 * <p>
+		 * Removes the instances that have been idle for longer than the maximum idle
+		 * time from the pool.
+		 * </p>
+		 * 
+		 * <p>
+		 * This method must be invoked while holding the pool lock, evicted instances
+		 * should be destroyed once the lock is released. Since every evicted instance
+		 * frees a slot in the pool, all waiting threads are signaled when instances
+		 * are evicted.
+		 * </p>
+		 * 
+		 * @param now the current time in nanoseconds
+		 * 
+		 * @return the list of evicted instances or null if no instance was evicted
+		 */
+		private List<T> evictIdleInstances(long now) {
+			if(PooledModuleBean.this.maxIdleTime <= 0) {
+				return null;
+			}
+			List<T> evictedInstances = null;
+			for(IdleInstance<T> idleInstance = this.idleInstances.peekLast(); idleInstance != null && now - idleInstance.releaseTime >= PooledModuleBean.this.maxIdleTime; idleInstance = this.idleInstances.peekLast()) {
+				this.idleInstances.pollLast();
+				this.size--;
+				if(evictedInstances == null) {
+					evictedInstances = new ArrayList<>();
+				}
+				evictedInstances.add(idleInstance.instance);
+			}
+			if(evictedInstances != null) {
+				LOGGER.debug("Evicting {} idle instance(s) of pooled bean {}", evictedInstances::size, () -> PooledModuleBean.this.name);
+				this.released.signalAll();
+			}
+			return evictedInstances;
+		}
+		
+		/**
+		 * <p>
+		 * Closes the pool and destroys all its instances.
+		 * </p>
+		 */
+		private void close() {
+			List<T> instances = new ArrayList<>();
+			this.lock.lock();
+			try {
+				this.closed = true;
+				for(IdleInstance<T> idleInstance : this.idleInstances) {
+					instances.add(idleInstance.instance);
+				}
+				instances.addAll(this.leasedInstances);
+				this.idleInstances.clear();
+				this.leasedInstances.clear();
+				this.size = 0;
+				this.released.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+			PooledModuleBean.this.destroyInstances(instances);
+		}
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.POOLED;
+	}
+}
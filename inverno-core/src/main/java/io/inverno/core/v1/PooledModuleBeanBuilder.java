@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+import io.inverno.core.v1.Module.BeanBuilder;
+import io.inverno.core.v1.Module.PoolBeanBuilder;
+
+/**
+ * <p>
+ * Pooled {@link BeanBuilder} implementation.
+ * </p>
+ * 
+ * <p>
+ * A {@link PooledModuleBeanBuilder} must be used to create pooled beans, when
+ * bean instances must be leased from and released to a bounded pool of
+ * instances.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see BeanBuilder
+ * @see Bean
+ * @see PooledModuleBean
+ * 
+ * @param <T> the actual type of the bean
+ */
+class PooledModuleBeanBuilder<T> extends AbstractBeanBuilder<T, PoolBeanBuilder<T>> implements PoolBeanBuilder<T> {
+
+	/**
+	 * The override that, when present, provides the pool instead of the builder.
+	 */
+	protected Optional<Supplier<Pool<T>>> override = Optional.empty();
+	
+	/**
+	 * The maximum number of instances in the pool.
+	 */
+	protected int maxSize = 8;
+	
+	/**
+	 * The time in milliseconds after which an idle instance is evicted.
+	 */
+	protected long maxIdleTime = 60000;
+	
+	/**
+	 * The time in milliseconds to wait for an instance when the pool is exhausted.
+	 */
+	protected long timeout = -1;
+	
+	/**
+	 * <p>
+	 * Creates a pooled bean builder with the specified bean name and constructor.
+	 * </p>
+	 * 
+	 * @param beanName    the bean name
+	 * @param constructor the bean constructor
+	 */
+	public PooledModuleBeanBuilder(String beanName, Supplier<T> constructor) {
+		super(beanName, constructor);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PoolBeanBuilder<T> override(Optional<Supplier<Pool<T>>> override) {
+		this.override = override != null ? override : Optional.empty();
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PoolBeanBuilder<T> maxSize(int maxSize) {
+		this.maxSize = maxSize;
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PoolBeanBuilder<T> maxIdleTime(long maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PoolBeanBuilder<T> timeout(long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Builds the bean.
+	 * </p>
+	 * 
+	 * @return a pooled bean
+	 */
+	@Override
+	public Bean<Pool<T>> build() {
+		return new PooledModuleBean<T>(this.beanName, this.override, this.maxSize, this.maxIdleTime, this.timeout) {
+
+			@Override
+			protected T createInstance() {
+				return newInstance(this, LOGGER);
+			}
+
+			@Override
+			protected void destroyInstance(T instance) {
+				disposeInstance(this, instance, LOGGER);
+			}
+		};
+	}
+}
@@ -18,9 +18,6 @@ package io.inverno.core.v1;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -54,9 +51,9 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeModuleBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PrototypeModuleBean.class);
 
-	private boolean created;
+	private volatile boolean created;
 	
 	/**
 	 * <p>
@@ -84,10 +81,16 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final void create() {
 		if (!this.created) {
-			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.parent.recordBean(this);
-				this.created = true;
+			this.lock.lock();
+			try {
+				if (!this.created) {
+					LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					this.parent.recordBean(this);
+					this.created = true;
+				}
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
@@ -107,11 +110,10 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final T doGet() {
 		this.create();
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				return this.createInstance();
-			});
+		if(this.override != null) {
+			return this.override.get();
+		}
+		return this.dependenciesTracked ? this.createInstance() : this.trackDependencies(this::createInstance);
 	}
 
 	/**
@@ -126,13 +128,22 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	 */
 	@Override
 	public final void destroy() {
-		synchronized(this) {
+		this.lock.lock();
+		try {
 			LOGGER.debug("Destroying prototype bean {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
 		}
+		finally {
+			this.lock.unlock();
+		}
 	}
 	
 	@Override
 	protected void destroyInstance(T instance) {
 		
 	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.PROTOTYPE;
+	}
 }
@@ -69,16 +69,7 @@ class PrototypeModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
 
 				@Override
 				protected T createInstance() {
-					T instance = constructor.get();
-					inits.stream().forEach(init -> {
-						try {
-							init.accept(instance);
-						} catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
-							throw new RuntimeException("Error initializing bean " + name, e);
-						}
-					});
-					return instance;
+					return newInstance(this, LOGGER);
 				}
 			};
 		}
@@ -87,27 +78,12 @@ class PrototypeModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
 
 				@Override
 				protected T createInstance() {
-					T instance = constructor.get();
-					inits.stream().forEach(init -> {
-						try {
-							init.accept(instance);
-						} catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
-							throw new RuntimeException("Error initializing bean " + name, e);
-						}
-					});
-					return instance;
+					return newInstance(this, LOGGER);
 				}
 
 				@Override
 				protected void destroyInstance(T instance) {
-					destroys.stream().forEach(destroy -> {
-						try {
-							destroy.accept(instance);
-						} catch (Exception e) {
-							LOGGER.warn(() -> "Error destroying bean " + name, e);
-						}
-					});
+					disposeInstance(this, instance, LOGGER);
 				}
 			};
 		}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.ref.Cleaner;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A prototype wrapper {@link Bean} implementation which destroys the wrapper of
+ * a bean instance as soon as the instance is reclaimed by the garbage
+ * collector.
+ * </p>
+ * 
+ * <p>
+ * Unlike {@link PrototypeWeakWrapperBean} which keeps the wrappers of issued
+ * instances until the bean is destroyed, this bean registers each instance to
+ * a {@link Cleaner} which destroys the corresponding wrapper once the instance
+ * has become phantom reachable. The wrappers of the instances that are still
+ * reachable when the bean is destroyed are destroyed at that time.
+ * </p>
+ * 
+ * <p>
+ * The wrapper must not hold a strong reference to the instance it supplies,
+ * otherwise the instance is never reclaimed and the wrapper is only destroyed
+ * when the bean is destroyed.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * @see Bean
+ * @see PrototypeWeakWrapperBean
+ * @see PrototypeWrapperBeanBuilder
+ *
+ * @param <W> the type of the wrapper bean
+ * @param <T> the actual type of the bean
+ */
+abstract class PrototypeReclaimableWrapperBean<W extends Supplier<T>, T> extends AbstractWrapperBean<W, T> {
+
+	/**
+	 * The bean logger.
+	 */
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PrototypeReclaimableWrapperBean.class);
+	
+	/**
+	 * The cleaner shared by all reclaimable wrapper beans.
+	 */
+	private static final Cleaner CLEANER = Cleaner.create();
+	
+	/**
+	 * The destroy actions of the instances issued by the bean which have not been
+	 * destroyed yet.
+	 */
+	private volatile Set<DestroyAction<W, T>> pendingDestroys;
+	
+	/**
+	 * The number of wrappers destroyed after the instance they supplied has been
+	 * reclaimed.
+	 */
+	private final AtomicLong reclaimedCount;
+	
+	/**
+	 * <p>
+	 * Creates a prototype reclaimable wrapper bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name     the bean name
+	 * @param override an optional override
+	 */
+	public PrototypeReclaimableWrapperBean(String name, Optional<Supplier<T>> override) {
+		super(name, override);
+		this.reclaimedCount = new AtomicLong();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of instances issued by the bean whose wrapper is waiting
+	 * to be destroyed.
+	 * </p>
+	 * 
+	 * @return the number of pending destroys
+	 */
+	public int getPendingDestroyCount() {
+		Set<DestroyAction<W, T>> currentPendingDestroys = this.pendingDestroys;
+		return currentPendingDestroys != null ? currentPendingDestroys.size() : 0;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of wrappers that were destroyed after the instance they
+	 * supplied has been reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * @return the number of reclaimed instances
+	 */
+	public long getReclaimedCount() {
+		return this.reclaimedCount.get();
+	}
+	
+	/**
+	 * <p>
+	 * Creates the prototype bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * Since a new bean instance must be created each time the bean is requested,
+	 * this method basically does nothing, instances being created in the
+	 * {@link #get()} method.
+	 * </p>
+	 */
+	@Override
+	public final void create() {
+		this.createPendingDestroys();
+	}
+	
+	/**
+	 * <p>
+	 * Creates the set of pending destroy actions if it does not exist yet.
+	 * </p>
+	 * 
+	 * @return the pending destroy actions of the bean
+	 */
+	private Set<DestroyAction<W, T>> createPendingDestroys() {
+		Set<DestroyAction<W, T>> currentPendingDestroys = this.pendingDestroys;
+		if (currentPendingDestroys == null) {
+			this.lock.lock();
+			try {
+				currentPendingDestroys = this.pendingDestroys;
+				if (currentPendingDestroys == null) {
+					LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					currentPendingDestroys = ConcurrentHashMap.newKeySet();
+					this.pendingDestroys = currentPendingDestroys;
+					this.parent.recordBean(this);
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		return currentPendingDestroys;
+	}
+	
+	/**
+	 * <p>
+	 * Returns a new bean instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance creation to a wrapper instance returned
+	 * by {@link #createWrapper()} method and registers the instance to the
+	 * cleaner in order to destroy the wrapper once the instance is reclaimed.
+	 * </p>
+	 * 
+	 * <p>
+	 * A wrapper supplying a null instance has nothing to wait for and is destroyed
+	 * right away.
+	 * </p>
+	 * 
+	 * @return a bean instance
+	 */
+	@Override
+	public final T doGet() {
+		Set<DestroyAction<W, T>> currentPendingDestroys = this.createPendingDestroys();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		W wrapper = this.dependenciesTracked ? this.createWrapper() : this.trackDependencies(this::createWrapper);
+		T instance = wrapper.get();
+		if(instance == null) {
+			LOGGER.debug("Prototype bean {} supplied a null instance, destroying wrapper", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+			this.destroyWrapper(wrapper);
+			return null;
+		}
+		DestroyAction<W, T> destroyAction = new DestroyAction<>(this, wrapper, currentPendingDestroys);
+		currentPendingDestroys.add(destroyAction);
+		destroyAction.cleanable = CLEANER.register(instance, destroyAction);
+		return instance;
+	}
+
+	/**
+	 * <p>
+	 * Destroys the prototype bean and as a result the wrappers of the bean
+	 * instances that have not been reclaimed yet.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance destruction to the
+	 * {@link #destroyWrapper(Object)} method.
+	 * </p>
+	 */
+	@Override
+	public final void destroy() {
+		if (this.pendingDestroys != null) {
+			this.lock.lock();
+			try {
+				LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				for(DestroyAction<W, T> destroyAction : this.pendingDestroys) {
+					destroyAction.clean();
+				}
+				this.pendingDestroys = null;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * The action destroying the wrapper of a bean instance, invoked by the cleaner
+	 * when the instance is reclaimed or when the bean is destroyed.
+	 * </p>
+	 * 
+	 * <p>
+	 * The action must not reference the instance, it only references the wrapper
+	 * which is destroyed at most once.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 *
+	 * @param <W> the type of the wrapper bean
+	 * @param <T> the actual type of the bean
+	 */
+	private static class DestroyAction<W extends Supplier<T>, T> implements Runnable {
+		
+		/**
+		 * The bean which issued the instance.
+		 */
+		private final PrototypeReclaimableWrapperBean<W, T> bean;
+		
+		/**
+		 * The wrapper to destroy.
+		 */
+		private final W wrapper;
+		
+		/**
+		 * The pending destroys holding the action.
+		 */
+		private final Set<DestroyAction<W, T>> pendingDestroys;
+		
+		/**
+		 * The cleanable returned when registering the instance to the cleaner.
+		 */
+		private volatile Cleaner.Cleanable cleanable;
+		
+		/**
+		 * Indicates whether the action is invoked when the bean is destroyed.
+		 */
+		private volatile boolean cleaning;
+		
+		/**
+		 * <p>
+		 * Creates a destroy action.
+		 * </p>
+		 * 
+		 * @param bean            the bean which issued the instance
+		 * @param wrapper         the wrapper to destroy
+		 * @param pendingDestroys the pending destroys holding the action
+		 */
+		public DestroyAction(PrototypeReclaimableWrapperBean<W, T> bean, W wrapper, Set<DestroyAction<W, T>> pendingDestroys) {
+			this.bean = bean;
+			this.wrapper = wrapper;
+			this.pendingDestroys = pendingDestroys;
+		}
+		
+		/**
+		 * <p>
+		 * Destroys the wrapper and unregisters the instance from the cleaner.
+		 * </p>
+		 */
+		public void clean() {
+			this.cleaning = true;
+			Cleaner.Cleanable currentCleanable = this.cleanable;
+			if(currentCleanable != null) {
+				currentCleanable.clean();
+			}
+			else {
+				this.run();
+			}
+		}
+		
+		@Override
+		public void run() {
+			if(this.pendingDestroys.remove(this)) {
+				if(!this.cleaning) {
+					this.bean.reclaimedCount.incrementAndGet();
+					LOGGER.debug("Destroying reclaimed instance of prototype bean {}", () -> (this.bean.parent != null ? this.bean.parent.getName() + ":" : "") + this.bean.name);
+				}
+				this.bean.destroyWrapper(this.wrapper);
+			}
+		}
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.PROTOTYPE;
+	}
+}
@@ -15,17 +15,9 @@
  */
 package io.inverno.core.v1;
 
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.WeakReference;
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -85,14 +77,12 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWeakModuleBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PrototypeWeakModuleBean.class);
 
 	/**
-	 * The list of instances issued by the bean.
+	 * The tracker of the instances issued by the bean.
 	 */
-	private Set<WeakReference<T>> instances;
-
-	private ReferenceQueue<T> referenceQueue;
+	private volatile WeakInstanceTracker<T, Void> instances;
 
 	/**
 	 * <p>
@@ -106,16 +96,6 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 		super(name, override);
 	}
 
-	/**
-	 * Expunges stake instances from the list.
-	 */
-	@SuppressWarnings("unchecked")
-	private void expungeStaleInstances() {
-		for (T ref; (ref = (T) this.referenceQueue.poll()) != null;) {
-			this.instances.remove(ref);
-		}
-	}
-
 	/**
 	 * <p>
 	 * Creates the prototype bean.
@@ -129,14 +109,35 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	 */
 	@Override
 	public final void create() {
-		if (this.instances == null) {
-			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instances = new HashSet<>();
-				this.referenceQueue = new ReferenceQueue<T>();
-				this.parent.recordBean(this);
+		this.createInstances();
+	}
+	
+	/**
+	 * <p>
+	 * Creates the tracker of the instances issued by the bean if it does not exist
+	 * yet.
+	 * </p>
+	 * 
+	 * @return the tracker of the instances issued by the bean
+	 */
+	private WeakInstanceTracker<T, Void> createInstances() {
+		WeakInstanceTracker<T, Void> currentInstances = this.instances;
+		if (currentInstances == null) {
+			this.lock.lock();
+			try {
+				currentInstances = this.instances;
+				if (currentInstances == null) {
+					LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					currentInstances = new WeakInstanceTracker<>((instance, value) -> this.destroyInstance(instance));
+					this.instances = currentInstances;
+					this.parent.recordBean(this);
+				}
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
+		return currentInstances;
 	}
 
 	/**
@@ -153,19 +154,13 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	 */
 	@Override
 	public final T doGet() {
-		this.create();
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				this.expungeStaleInstances();
-				T instance = this.createInstance();
-				WeakReference<T> reference = new WeakReference<>(instance, this.referenceQueue);
-				synchronized (this) {
-					this.instances.add(reference);
-				}
-		
-				return instance;
-			});
+		WeakInstanceTracker<T, Void> currentInstances = this.createInstances();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		T instance = this.dependenciesTracked ? this.createInstance() : this.trackDependencies(this::createInstance);
+		currentInstances.track(instance, null);
+		return instance;
 	}
 
 	/**
@@ -181,18 +176,24 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final void destroy() {
 		if (this.instances != null) {
-			synchronized(this) {
-				LOGGER.debug("Destroying prototype bean {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
-				if(!this.override.isPresent()) {
-					this.expungeStaleInstances();
-					this.instances.stream()
-						.map(WeakReference::get)
-						.filter(Objects::nonNull)
-						.forEach(instance -> this.destroyInstance(instance));
-					this.instances.clear();
+			this.lock.lock();
+			try {
+				WeakInstanceTracker<T, Void> currentInstances = this.instances;
+				if (currentInstances != null) {
+					LOGGER.debug("Destroying prototype bean {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					// Instances tracked by requests still in progress are destroyed once tracked
+					currentInstances.clear();
+					this.instances = null;
 				}
-				this.instances = null;
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.PROTOTYPE;
+	}
 }
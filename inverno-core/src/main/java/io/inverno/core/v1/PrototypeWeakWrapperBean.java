@@ -16,12 +16,8 @@
 package io.inverno.core.v1;
 
 import java.util.Optional;
-import java.util.WeakHashMap;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -71,13 +67,13 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWeakWrapperBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PrototypeWeakWrapperBean.class);
 	
 	/**
-	 * A weak hash map holding the bean instances issued by the bean as keys and
-	 * their corresponding wrapper instance as value.
+	 * The tracker of the instances issued by the bean associated to their
+	 * corresponding wrapper instance.
 	 */
-	private WeakHashMap<T, W> instances;
+	private volatile WeakInstanceTracker<T, W> instances;
 	
 	/**
 	 * <p>
@@ -104,13 +100,35 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	 */
 	@Override
 	public final void create() {
-		if (this.instances == null) {
-			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instances = new WeakHashMap<>();
-				this.parent.recordBean(this);
+		this.createInstances();
+	}
+	
+	/**
+	 * <p>
+	 * Creates the tracker of the instances issued by the bean if it does not exist
+	 * yet.
+	 * </p>
+	 * 
+	 * @return the tracker of the instances issued by the bean
+	 */
+	private WeakInstanceTracker<T, W> createInstances() {
+		WeakInstanceTracker<T, W> currentInstances = this.instances;
+		if (currentInstances == null) {
+			this.lock.lock();
+			try {
+				currentInstances = this.instances;
+				if (currentInstances == null) {
+					LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					currentInstances = new WeakInstanceTracker<>((instance, wrapper) -> this.destroyWrapper(wrapper));
+					this.instances = currentInstances;
+					this.parent.recordBean(this);
+				}
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
+		return currentInstances;
 	}
 	
 	/**
@@ -127,18 +145,14 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	 */
 	@Override
 	public final T doGet() {
-		this.create();
-		
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				W wrapper = this.createWrapper();
-				T instance = wrapper.get();
-				synchronized (this) {
-					this.instances.put(instance, wrapper);
-				}
-				return instance;
-			});
+		WeakInstanceTracker<T, W> currentInstances = this.createInstances();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		W wrapper = this.dependenciesTracked ? this.createWrapper() : this.trackDependencies(this::createWrapper);
+		T instance = wrapper.get();
+		currentInstances.track(instance, wrapper);
+		return instance;
 	}
 
 	/**
@@ -155,14 +169,24 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	@Override
 	public final void destroy() {
 		if (this.instances != null) {
-			synchronized(this) {
-				LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
-				if(!this.override.isPresent()) {
-					this.instances.values().stream().forEach(wrapper -> this.destroyWrapper(wrapper));
-					this.instances.clear();
+			this.lock.lock();
+			try {
+				WeakInstanceTracker<T, W> currentInstances = this.instances;
+				if (currentInstances != null) {
+					LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					// Instances tracked by requests still in progress are destroyed once tracked
+					currentInstances.clear();
+					this.instances = null;
 				}
-				this.instances = null;
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.PROTOTYPE;
+	}
 }
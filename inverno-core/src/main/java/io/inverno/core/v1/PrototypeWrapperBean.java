@@ -19,9 +19,6 @@ import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -70,9 +67,9 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWrapperBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(PrototypeWrapperBean.class);
 	
-	private boolean created;
+	private volatile boolean created;
 	
 	/**
 	 * <p>
@@ -100,10 +97,16 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	@Override
 	public final void create() {
 		if (!this.created) {
-			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.parent.recordBean(this);
-				this.created = true;
+			this.lock.lock();
+			try {
+				if (!this.created) {
+					LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					this.parent.recordBean(this);
+					this.created = true;
+				}
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
@@ -124,12 +127,11 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	public final T doGet() {
 		this.create();
 		
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				W wrapper = this.createWrapper();
-				return wrapper.get();
-			});
+		if(this.override != null) {
+			return this.override.get();
+		}
+		W wrapper = this.dependenciesTracked ? this.createWrapper() : this.trackDependencies(this::createWrapper);
+		return wrapper.get();
 	}
 
 	/**
@@ -144,13 +146,22 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	 */
 	@Override
 	public final void destroy() {
-		synchronized(this) {
+		this.lock.lock();
+		try {
 			LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
 		}
+		finally {
+			this.lock.unlock();
+		}
 	}
 	
 	@Override
 	protected void destroyWrapper(W wrapper) {
 		
 	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.PROTOTYPE;
+	}
 }
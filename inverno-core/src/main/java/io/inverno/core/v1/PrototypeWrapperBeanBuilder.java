@@ -37,6 +37,8 @@ import io.inverno.core.v1.Module.BeanBuilder;
  * @see BeanBuilder
  * @see Bean
  * @see PrototypeWrapperBean
+ * @see PrototypeWeakWrapperBean
+ * @see PrototypeReclaimableWrapperBean
  * 
  * @param <W> the type of the wrapper bean
  * @param <T> the actual type of the bean
@@ -70,17 +72,21 @@ class PrototypeWrapperBeanBuilder<T, W extends Supplier<T>> extends AbstractWrap
 
 				@Override
 				protected W createWrapper() {
-					W wrapper = constructor.get();
-					inits.stream().forEach(init -> {
-						try {
-							init.accept(wrapper);
-						} 
-						catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
-							throw new RuntimeException("Error initializing bean " + name, e);
-						}
-					});
-					return wrapper;
+					return newInstance(this, LOGGER);
+				}
+			};
+		}
+		else if(this.destroyOnReclaim) {
+			return new PrototypeReclaimableWrapperBean<W, T>(this.beanName, this.override) {
+
+				@Override
+				protected W createWrapper() {
+					return newInstance(this, LOGGER);
+				}
+
+				@Override
+				protected void destroyWrapper(W wrapper) {
+					disposeInstance(this, wrapper, LOGGER);
 				}
 			};
 		}
@@ -89,28 +95,12 @@ class PrototypeWrapperBeanBuilder<T, W extends Supplier<T>> extends AbstractWrap
 
 				@Override
 				protected W createWrapper() {
-					W wrapper = constructor.get();
-					inits.stream().forEach(init -> {
-						try {
-							init.accept(wrapper);
-						} 
-						catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
-							throw new RuntimeException("Error initializing bean " + name, e);
-						}
-					});
-					return wrapper;
+					return newInstance(this, LOGGER);
 				}
 
 				@Override
 				protected void destroyWrapper(W wrapper) {
-					destroys.stream().forEach(destroy -> {
-						try {
-							destroy.accept(wrapper);
-						} catch (Exception e) {
-							LOGGER.warn(() -> "Error destroying bean " + name, e);
-						}
-					});
+					disposeInstance(this, wrapper, LOGGER);
 				}
 			};
 		}
@@ -15,12 +15,12 @@
  */
 package io.inverno.core.v1;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -33,6 +33,25 @@ import io.inverno.core.v1.Module.Bean;
  * dependent beans receive the same instance.
  * </p>
  * 
+ * <p>
+ * The instance is published with release semantics once it has been fully
+ * created and initialized and read with acquire semantics, once the bean has
+ * been created, accessing the instance comes down to a single acquire load
+ * without locking.
+ * </p>
+ * 
+ * <p>
+ * A lazy singleton module bean is not instantiated when the module is started
+ * but the first time it is requested.
+ * </p>
+ * 
+ * <p>
+ * When the bean defines asynchronous initialization operations, the instance is
+ * only published once they have completed: the module waits for them when it
+ * is started and dependent beans requesting the instance in the meantime wait
+ * for them as well.
+ * </p>
+ * 
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.0
  * @see Bean
@@ -44,12 +63,36 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(SingletonModuleBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(SingletonModuleBean.class);
 
 	/**
-	 * The bean instance.
+	 * The bean instance VarHandle.
+	 */
+	private static final VarHandle INSTANCE;
+	
+	static {
+		try {
+			INSTANCE = MethodHandles.lookup().findVarHandle(SingletonModuleBean.class, "instance", Object.class);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	/**
+	 * The bean instance, only accessed through {@link #INSTANCE}.
+	 */
+	private T instance;
+	
+	/**
+	 * Indicates whether the bean is instantiated on first request.
 	 */
-	protected T instance;
+	private final boolean lazy;
+	
+	/**
+	 * The instance being initialized asynchronously, guarded by the bean lock.
+	 */
+	private CompletableFuture<T> pendingInstance;
 	
 	/**
 	 * <p>
@@ -60,7 +103,22 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	 * @param override An optional override
 	 */
 	public SingletonModuleBean(String name, Optional<Supplier<T>> override) {
+		this(name, false, override);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a singleton module bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name     the bean name
+	 * @param lazy     true to instantiate the bean on first request, false to
+	 *                 instantiate it when the module is started
+	 * @param override An optional override
+	 */
+	public SingletonModuleBean(String name, boolean lazy, Optional<Supplier<T>> override) {
 		super(name, override);
+		this.lazy = lazy;
 	}
 
 	/**
@@ -70,18 +128,95 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	 * 
 	 * <p>
 	 * This method delegates bean instantiation to the {@link #createInstance()}
-	 * method and implement the singleton pattern.
+	 * method and implement the singleton pattern. A lazy bean is instantiated
+	 * the first time it is requested instead.
 	 * </p>
 	 */
 	public final void create() {
-		if (this.instance == null) {
-			synchronized(this) {
-				LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instance = this.override.map(Supplier::get).orElseGet(this::createInstance);
-				this.parent.recordBean(this);
+		if (!this.lazy && INSTANCE.getAcquire(this) == null) {
+			CompletableFuture<T> currentInstance = this.createSynchronized();
+			if(currentInstance.isDone()) {
+				AbstractBeanBuilder.await(currentInstance);
+			}
+			else {
+				this.parent.recordPendingInit(currentInstance);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Creates the singleton bean while holding the bean lock.
+	 * </p>
+	 * 
+	 * <p>
+	 * The instance is published right away when it has been fully initialized,
+	 * otherwise it is published once its asynchronous initialization operations
+	 * have completed.
+	 * </p>
+	 * 
+	 * @return a future completed with the bean singleton once it has been
+	 *         initialized
+	 */
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<T> createSynchronized() {
+		this.lock.lock();
+		try {
+			T currentInstance = (T)INSTANCE.getAcquire(this);
+			if (currentInstance != null) {
+				return CompletableFuture.completedFuture(currentInstance);
+			}
+			if (this.pendingInstance != null) {
+				return this.pendingInstance;
+			}
+			LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+			CompletableFuture<T> instanceFuture = this.override != null ? CompletableFuture.completedFuture(this.override.get()) : this.trackDependencies(this::createInstanceAsync);
+			this.parent.recordBean(this);
+			if (instanceFuture.isDone() && !instanceFuture.isCompletedExceptionally()) {
+				INSTANCE.setRelease(this, instanceFuture.join());
+			}
+			else {
+				this.pendingInstance = instanceFuture;
+				instanceFuture.thenAccept(instance -> this.publish(instanceFuture, instance));
+			}
+			return instanceFuture;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Publishes the instance once its asynchronous initialization operations have
+	 * completed unless the bean has been destroyed in the meantime.
+	 * </p>
+	 * 
+	 * @param instanceFuture the future that completed
+	 * @param instance       the initialized instance
+	 */
+	private void publish(CompletableFuture<T> instanceFuture, T instance) {
+		this.lock.lock();
+		try {
+			if (this.pendingInstance == instanceFuture) {
+				INSTANCE.setRelease(this, instance);
+				this.pendingInstance = null;
 			}
 		}
+		finally {
+			this.lock.unlock();
+		}
 	}
+	
+	/**
+	 * <p>
+	 * Creates a bean instance asynchronously.
+	 * </p>
+	 * 
+	 * @return a future completed with the bean instance once it has been
+	 *         initialized
+	 */
+	protected abstract CompletableFuture<T> createInstanceAsync();
 
 	/**
 	 * <p>
@@ -90,9 +225,10 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	 * 
 	 * @return the bean singleton
 	 */
+	@SuppressWarnings("unchecked")
 	public final T doGet() {
-		this.create();
-		return this.instance;
+		T currentInstance = (T)INSTANCE.getAcquire(this);
+		return currentInstance != null ? currentInstance : AbstractBeanBuilder.await(this.createSynchronized());
 	}
 
 	/**
@@ -102,18 +238,57 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	 * 
 	 * <p>
 	 * This method delegates bean instance destruction to the
-	 * {@link #destroyInstance(Object)} method.
+	 * {@link #destroyInstance(Object)} method. An instance being initialized
+	 * asynchronously is destroyed once its initialization has completed.
 	 * </p>
 	 */
+	@SuppressWarnings("unchecked")
 	public final void destroy() {
-		if (this.instance != null) {
-			synchronized(this) {
-				LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
-				if(!this.override.isPresent()) {
-					this.destroyInstance(this.instance);
+		CompletableFuture<T> currentPendingInstance;
+		this.lock.lock();
+		try {
+			currentPendingInstance = this.pendingInstance;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (currentPendingInstance != null) {
+			try {
+				currentPendingInstance.join();
+			}
+			catch (RuntimeException e) {
+				// reported when the instance was initialized
+			}
+		}
+		if (INSTANCE.getAcquire(this) != null || currentPendingInstance != null) {
+			this.lock.lock();
+			try {
+				T currentInstance = (T)INSTANCE.getAcquire(this);
+				if (currentInstance == null && this.pendingInstance != null && !this.pendingInstance.isCompletedExceptionally()) {
+					currentInstance = this.pendingInstance.join();
 				}
-				this.instance = null;
+				this.pendingInstance = null;
+				if (currentInstance != null) {
+					LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					if(this.override == null) {
+						this.destroyInstance(currentInstance);
+					}
+					INSTANCE.setRelease(this, null);
+				}
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
+	
+	@Override
+	final boolean isLazy() {
+		return this.lazy;
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.SINGLETON;
+	}
 }
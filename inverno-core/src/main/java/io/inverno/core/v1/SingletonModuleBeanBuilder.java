@@ -15,6 +15,7 @@
  */
 package io.inverno.core.v1;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import io.inverno.core.v1.Module.Bean;
@@ -64,31 +65,21 @@ class SingletonModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
 	 */
 	@Override
 	public Bean<T> build() {
-		return new SingletonModuleBean<T>(this.beanName, this.override) {
+		return new SingletonModuleBean<T>(this.beanName, this.lazy, this.override) {
 
 			@Override
 			protected T createInstance() {
-				T instance = constructor.get();
-				inits.stream().forEach(init -> {
-					try {
-						init.accept(instance);
-					} catch (Exception e) {
-						LOGGER.fatal(() -> "Error initializing bean " + name, e);
-						throw new RuntimeException("Error initializing bean " + name, e);
-					}
-				});
-				return instance;
+				return newInstance(this, LOGGER);
+			}
+			
+			@Override
+			protected CompletableFuture<T> createInstanceAsync() {
+				return newInstanceAsync(this, LOGGER);
 			}
 
 			@Override
 			protected void destroyInstance(T instance) {
-				destroys.stream().forEach(destroy -> {
-					try {
-						destroy.accept(instance);
-					} catch (Exception e) {
-						LOGGER.warn(() -> "Error destroying bean " + name, e);
-					}
-				});
+				disposeInstance(this, instance, LOGGER);
 			}
 		};
 	}
@@ -15,12 +15,11 @@
  */
 package io.inverno.core.v1;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.inverno.core.v1.Module.Bean;
 
 /**
@@ -33,6 +32,11 @@ import io.inverno.core.v1.Module.Bean;
  * dependent beans receive the same instance.
  * </p>
  * 
+ * <p>
+ * A lazy singleton wrapper bean is not instantiated when the module is started
+ * but the first time it is requested.
+ * </p>
+ * 
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.0
  * @see Bean
@@ -45,17 +49,43 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(SingletonWrapperBean.class);
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(SingletonWrapperBean.class);
 
+	/**
+	 * The created flag VarHandle.
+	 */
+	private static final VarHandle CREATED;
+	
+	static {
+		try {
+			CREATED = MethodHandles.lookup().findVarHandle(SingletonWrapperBean.class, "created", boolean.class);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
 	/**
 	 * The wrapper instance.
 	 */
-	protected W wrapper;
+	private W wrapper;
 	
 	/**
 	 * The bean instance.
 	 */
-	protected T instance;
+	private T instance;
+	
+	/**
+	 * Indicates whether the bean has been created, only accessed through
+	 * {@link #CREATED} in order to safely publish the wrapper and the bean
+	 * instance.
+	 */
+	private boolean created;
+	
+	/**
+	 * Indicates whether the bean is instantiated on first request.
+	 */
+	private final boolean lazy;
 	
 	/**
 	 * <p>
@@ -66,7 +96,22 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	 * @param override An optional override
 	 */
 	public SingletonWrapperBean(String name, Optional<Supplier<T>> override) {
+		this(name, false, override);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a singleton wrapper bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name     the bean name
+	 * @param lazy     true to instantiate the bean on first request, false to
+	 *                 instantiate it when the module is started
+	 * @param override An optional override
+	 */
+	public SingletonWrapperBean(String name, boolean lazy, Optional<Supplier<T>> override) {
 		super(name, override);
+		this.lazy = lazy;
 	}
 
 	/**
@@ -76,19 +121,42 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	 * 
 	 * <p>
 	 * This method delegates bean instantiation to the wrapper instance returned by
-	 * {@link #createWrapper()} method and implement the singleton pattern.
+	 * {@link #createWrapper()} method and implement the singleton pattern. A lazy
+	 * bean is instantiated the first time it is requested instead.
 	 * </p>
 	 */
 	public final void create() {
-		if (this.wrapper == null) {
-			synchronized(this) {
-				LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instance = this.override.map(Supplier::get).orElseGet(() -> {
-					this.wrapper = this.createWrapper();
-					return this.wrapper.get();
-				});
+		if (!this.lazy && !(boolean)CREATED.getAcquire(this)) {
+			this.createSynchronized();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Creates the singleton bean while holding the bean lock.
+	 * </p>
+	 * 
+	 * @return the bean singleton
+	 */
+	private T createSynchronized() {
+		this.lock.lock();
+		try {
+			if (!(boolean)CREATED.getAcquire(this)) {
+				LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+				if(this.override != null) {
+					this.instance = this.override.get();
+				}
+				else {
+					this.wrapper = this.trackDependencies(this::createWrapper);
+					this.instance = this.wrapper.get();
+				}
 				this.parent.recordBean(this);
+				CREATED.setRelease(this, true);
 			}
+			return this.instance;
+		}
+		finally {
+			this.lock.unlock();
 		}
 	}
 
@@ -100,8 +168,7 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	 * @return the bean singleton
 	 */
 	public final T doGet() {
-		this.create();
-		return this.instance;
+		return (boolean)CREATED.getAcquire(this) ? this.instance : this.createSynchronized();
 	}
 
 	/**
@@ -116,15 +183,32 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	 * </p>
 	 */
 	public final void destroy() {
-		if (this.wrapper != null) {
-			synchronized(this) {
-				LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
-				if(!this.override.isPresent()) {
-					this.destroyWrapper(this.wrapper);
+		if ((boolean)CREATED.getAcquire(this)) {
+			this.lock.lock();
+			try {
+				if ((boolean)CREATED.getAcquire(this)) {
+					LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					if(this.override == null) {
+						this.destroyWrapper(this.wrapper);
+					}
+					CREATED.setRelease(this, false);
 					this.wrapper = null;
+					this.instance = null;
 				}
-				this.instance = null;
+			}
+			finally {
+				this.lock.unlock();
 			}
 		}
 	}
+	
+	@Override
+	final boolean isLazy() {
+		return this.lazy;
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.SINGLETON;
+	}
 }
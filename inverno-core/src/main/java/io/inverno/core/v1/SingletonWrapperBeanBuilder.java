@@ -65,32 +65,16 @@ class SingletonWrapperBeanBuilder<T, W extends Supplier<T>> extends AbstractWrap
 	 */
 	@Override
 	public Bean<T> build() {
-		return new SingletonWrapperBean<W, T>(this.beanName, this.override) {
+		return new SingletonWrapperBean<W, T>(this.beanName, this.lazy, this.override) {
 
 			@Override
 			protected W createWrapper() {
-				W wrapper =	constructor.get();
-				inits.stream().forEach(init -> {
-					try {
-						init.accept(wrapper);
-					} 
-					catch (Exception e) {
-						LOGGER.fatal(() -> "Error initializing bean " + name, e);
-						throw new RuntimeException("Error initializing bean " + name, e);
-					}
-				});
-				return wrapper;
+				return newInstance(this, LOGGER);
 			}
 
 			@Override
 			protected void destroyWrapper(W wrapper) {
-				destroys.stream().forEach(destroy -> {
-					try {
-						destroy.accept(wrapper);
-					} catch (Exception e) {
-						LOGGER.warn(() -> "Error destroying bean " + name, e);
-					}
-				});
+				disposeInstance(this, wrapper, LOGGER);
 			}
 		};
 	}
@@ -0,0 +1,764 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * Records the construction and the initialization of the beans created while an
+ * application starts and reports the critical path through the bean graph.
+ * </p>
+ *
+ * <p>
+ * Wall time, CPU time and allocated bytes are measured for the construction and
+ * the initialization of every bean instance. Since the dependencies of a bean
+ * are usually created while it is constructed, the time spent creating nested
+ * beans on the same thread is subtracted so that the figures reported for a
+ * bean only include its own work. A bean created while another bean was being
+ * created is attached to that bean which is reported as its trigger.
+ * </p>
+ *
+ * <p>
+ * The critical path is the chain of dependent beans with the longest cumulated
+ * wall time, it is the minimum startup time that can be achieved by starting the
+ * application in parallel without making any bean lazy.
+ * </p>
+ *
+ * <p>
+ * A single profile can be recorded at a time, when no profile is recorded,
+ * {@link #begin(Bean)} comes down to reading a volatile field and returns null.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+final class StartupProfiler {
+
+	/**
+	 * The name of the text report file.
+	 */
+	static final String REPORT_FILE_NAME = "startup-report.txt";
+
+	/**
+	 * The name of the trace file in the Chrome trace event format.
+	 */
+	static final String TRACE_FILE_NAME = "startup-trace.json";
+
+	private static final int WALL = 0;
+	private static final int CPU = 1;
+	private static final int ALLOC = 2;
+
+	/**
+	 * The profiler recording the current startup.
+	 */
+	private static volatile StartupProfiler active;
+
+	/**
+	 * The time at which the profile started in nanoseconds.
+	 */
+	private final long startTime;
+
+	/**
+	 * The time at which the profile stopped in nanoseconds.
+	 */
+	private long stopTime;
+
+	/**
+	 * The completed frames.
+	 */
+	private final Queue<Frame> frames;
+
+	/**
+	 * The frame of the bean being created by the current thread.
+	 */
+	private final ThreadLocal<Frame> currentFrame;
+
+	/**
+	 * <p>
+	 * Creates a startup profiler.
+	 * </p>
+	 */
+	private StartupProfiler() {
+		this.startTime = System.nanoTime();
+		this.frames = new ConcurrentLinkedQueue<>();
+		this.currentFrame = new ThreadLocal<>();
+	}
+
+	/**
+	 * <p>
+	 * Starts recording a startup profile.
+	 * </p>
+	 *
+	 * @return a startup profiler
+	 *
+	 * @throws IllegalStateException if a startup profile is already being recorded
+	 */
+	static synchronized StartupProfiler start() throws IllegalStateException {
+		if(active != null) {
+			throw new IllegalStateException("A startup profile is already being recorded");
+		}
+		active = new StartupProfiler();
+		return active;
+	}
+
+	/**
+	 * <p>
+	 * Stops recording the startup profile.
+	 * </p>
+	 *
+	 * <p>
+	 * Beans created after this method returns are ignored.
+	 * </p>
+	 */
+	void stop() {
+		synchronized(StartupProfiler.class) {
+			if(active == this) {
+				active = null;
+			}
+		}
+		this.stopTime = System.nanoTime();
+	}
+
+	/**
+	 * <p>
+	 * Determines whether a startup profile is being recorded.
+	 * </p>
+	 *
+	 * @return true if a startup profile is being recorded, false otherwise
+	 */
+	static boolean isProfiling() {
+		return active != null;
+	}
+
+	/**
+	 * <p>
+	 * Begins the creation of an instance of the specified bean by the current
+	 * thread.
+	 * </p>
+	 *
+	 * @param bean the bean
+	 *
+	 * @return a frame to pass to {@link #constructed(Frame)} and
+	 *         {@link #end(Frame)} or null if no startup profile is recorded
+	 */
+	static Frame begin(Bean<?> bean) {
+		StartupProfiler profiler = active;
+		if(profiler == null) {
+			return null;
+		}
+		Frame frame = new Frame(profiler, bean, profiler.currentFrame.get());
+		profiler.currentFrame.set(frame);
+		return frame;
+	}
+
+	/**
+	 * <p>
+	 * Indicates that the instance has been constructed and is about to be
+	 * initialized.
+	 * </p>
+	 *
+	 * @param frame the frame returned by {@link #begin(Bean)} or null
+	 */
+	static void constructed(Frame frame) {
+		if(frame != null) {
+			long[] sample = ThreadMetrics.sample();
+			for(int i = 0;i < sample.length;i++) {
+				frame.construct[i] = sample[i] - frame.start[i] - frame.children[i];
+				frame.children[i] = 0;
+			}
+			frame.initStart = sample;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Indicates that the instance has been initialized.
+	 * </p>
+	 *
+	 * @param frame the frame returned by {@link #begin(Bean)} or null
+	 */
+	static void end(Frame frame) {
+		if(frame != null) {
+			long[] sample = ThreadMetrics.sample();
+			for(int i = 0;i < sample.length;i++) {
+				frame.init[i] = sample[i] - frame.initStart[i] - frame.children[i];
+				if(frame.parent != null) {
+					frame.parent.children[i] += sample[i] - frame.start[i];
+				}
+			}
+			frame.end = sample[WALL];
+			frame.profiler.restoreParent(frame);
+			frame.profiler.frames.add(frame);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Indicates that the instance could not be created.
+	 * </p>
+	 *
+	 * <p>
+	 * The frame is discarded and the frame of the bean that triggered the creation,
+	 * if any, becomes the current frame of the thread again. This method does
+	 * nothing if the frame has already ended.
+	 * </p>
+	 *
+	 * @param frame the frame returned by {@link #begin(Bean)} or null
+	 */
+	static void abort(Frame frame) {
+		if(frame != null && frame.profiler.currentFrame.get() == frame) {
+			frame.profiler.restoreParent(frame);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Makes the parent of the specified frame the current frame of the thread.
+	 * </p>
+	 *
+	 * @param frame the current frame
+	 */
+	private void restoreParent(Frame frame) {
+		if(frame.parent != null) {
+			this.currentFrame.set(frame.parent);
+		}
+		else {
+			this.currentFrame.remove();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Writes the text report and the trace of the recorded profile to the
+	 * specified directory and logs the critical path.
+	 * </p>
+	 *
+	 * @param directory       the report directory
+	 * @param applicationName the name of the application
+	 *
+	 * @return the beans on the critical path in creation order
+	 *
+	 * @throws IOException if an I/O error occurs while writing the report
+	 */
+	List<String> report(Path directory, String applicationName) throws IOException {
+		Map<Bean<?>, Node> nodes = new IdentityHashMap<>();
+		List<Frame> sortedFrames = new ArrayList<>(this.frames);
+		sortedFrames.sort(Comparator.comparingLong(frame -> frame.start[WALL]));
+		for(Frame frame : sortedFrames) {
+			Node node = nodes.get(frame.bean);
+			if(node == null) {
+				node = new Node(frame.bean, frame.parent != null ? frame.parent.bean : null);
+				nodes.put(frame.bean, node);
+			}
+			node.count++;
+			for(int i = 0;i < 3;i++) {
+				node.construct[i] += frame.construct[i];
+				node.init[i] += frame.init[i];
+			}
+		}
+		for(Node node : nodes.values()) {
+			for(Bean<?> dependency : node.bean.getDependencies()) {
+				Node dependencyNode = nodes.get(dependency);
+				if(dependencyNode != null) {
+					node.dependencies.add(dependencyNode);
+				}
+			}
+		}
+
+		Node last = null;
+		for(Node node : nodes.values()) {
+			long finish = this.finish(node);
+			if(last == null || finish > last.finish) {
+				last = node;
+			}
+		}
+		List<Node> criticalPath = new ArrayList<>();
+		for(Node node = last;node != null;node = node.critical) {
+			node.onCriticalPath = true;
+			criticalPath.add(node);
+		}
+		Collections.reverse(criticalPath);
+
+		List<Node> sortedNodes = new ArrayList<>(nodes.values());
+		sortedNodes.sort(Comparator.comparingLong((Node node) -> node.self(WALL)).reversed());
+
+		Files.createDirectories(directory);
+		Files.write(directory.resolve(REPORT_FILE_NAME), this.textReport(applicationName, criticalPath, sortedNodes).getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve(TRACE_FILE_NAME), this.traceReport(applicationName, criticalPath, sortedFrames, nodes).getBytes(StandardCharsets.UTF_8));
+
+		List<String> criticalPathNames = new ArrayList<>(criticalPath.size());
+		for(Node node : criticalPath) {
+			criticalPathNames.add(node.name);
+		}
+		return criticalPathNames;
+	}
+
+	/**
+	 * <p>
+	 * Computes the time at which the specified bean can be created at the earliest
+	 * assuming all its dependencies are created in parallel.
+	 * </p>
+	 *
+	 * @param node a bean node
+	 *
+	 * @return the finish time of the bean in nanoseconds
+	 */
+	private long finish(Node node) {
+		if(node.finish < 0) {
+			// Dependency cycles are reported at compile time but the node is marked to make sure we terminate
+			node.finish = 0;
+			long dependenciesFinish = 0;
+			for(Node dependency : node.dependencies) {
+				long dependencyFinish = this.finish(dependency);
+				if(dependencyFinish > dependenciesFinish) {
+					dependenciesFinish = dependencyFinish;
+					node.critical = dependency;
+				}
+			}
+			node.finish = dependenciesFinish + node.self(WALL);
+		}
+		return node.finish;
+	}
+
+	/**
+	 * <p>
+	 * Generates the text report.
+	 * </p>
+	 *
+	 * @param applicationName the name of the application
+	 * @param criticalPath    the beans on the critical path
+	 * @param nodes           the beans sorted by self time
+	 *
+	 * @return the text report
+	 */
+	private String textReport(String applicationName, List<Node> criticalPath, List<Node> nodes) {
+		StringWriter report = new StringWriter();
+		PrintWriter out = new PrintWriter(report);
+		out.printf("Application %s started in %.3fms, %d beans created%n%n", applicationName, millis(this.stopTime - this.startTime), nodes.size());
+
+		out.printf("Critical path (%.3fms):%n", criticalPath.isEmpty() ? 0.0 : millis(criticalPath.get(criticalPath.size() - 1).finish));
+		for(Node node : criticalPath) {
+			out.printf("  %10.3fms  %s%n", millis(node.self(WALL)), node.name);
+		}
+		out.println();
+
+		out.println("Beans by self time:");
+		out.printf("  %-12s %-12s %-12s %-12s %-12s %-12s %-9s %-10s %s%n", "wall", "construct", "init", "cpu", "allocated", "instances", "critical", "strategy", "bean <- trigger");
+		for(Node node : nodes) {
+			out.printf("  %10.3fms %10.3fms %10.3fms %12s %12s %12d %-9s %-10s %s%n",
+				millis(node.self(WALL)),
+				millis(node.construct[WALL]),
+				millis(node.init[WALL]),
+				ThreadMetrics.CPU_SUPPORTED ? String.format("%.3fms", millis(node.self(CPU))) : "n/a",
+				ThreadMetrics.ALLOC_SUPPORTED ? node.self(ALLOC) + "B" : "n/a",
+				node.count,
+				node.onCriticalPath ? "*" : "",
+				node.bean.getStrategy(),
+				node.trigger != null ? node.name + " <- " + node.trigger.parent.getName() + ":" + node.trigger.name : node.name
+			);
+		}
+		out.flush();
+		return report.toString();
+	}
+
+	/**
+	 * <p>
+	 * Generates the trace report in the Chrome trace event format.
+	 * </p>
+	 *
+	 * <p>
+	 * The trace contains a complete event for the creation of each bean instance
+	 * with nested construct and init events, the critical path is provided in a
+	 * separate {@code criticalPath} entry.
+	 * </p>
+	 *
+	 * @param applicationName the name of the application
+	 * @param criticalPath    the beans on the critical path
+	 * @param frames          the recorded frames sorted by start time
+	 * @param nodes           the bean nodes
+	 *
+	 * @return the trace report
+	 */
+	private String traceReport(String applicationName, List<Node> criticalPath, List<Frame> frames, Map<Bean<?>, Node> nodes) {
+		long pid = ProcessHandle.current().pid();
+		StringBuilder trace = new StringBuilder();
+		trace.append("{\"traceEvents\":[");
+		Map<Long, String> threads = new LinkedHashMap<>();
+		boolean first = true;
+		for(Frame frame : frames) {
+			threads.put(frame.threadId, frame.threadName);
+			Node node = nodes.get(frame.bean);
+			if(!first) {
+				trace.append(",");
+			}
+			first = false;
+			trace.append("\n{\"name\":").append(quote(node.name))
+				.append(",\"cat\":\"bean\",\"ph\":\"X\",\"pid\":").append(pid)
+				.append(",\"tid\":").append(frame.threadId)
+				.append(",\"ts\":").append(this.micros(frame.start[WALL]))
+				.append(",\"dur\":").append((frame.end - frame.start[WALL]) / 1000)
+				.append(",\"args\":{")
+				.append("\"module\":").append(quote(frame.bean.parent.getName()))
+				.append(",\"bean\":").append(quote(frame.bean.name))
+				.append(",\"strategy\":").append(quote(frame.bean.getStrategy().name()))
+				.append(",\"trigger\":").append(frame.parent != null ? quote(nodes.get(frame.parent.bean).name) : "null")
+				.append(",\"critical\":").append(node.onCriticalPath);
+			this.appendMetrics(trace, "construct", frame.construct);
+			this.appendMetrics(trace, "init", frame.init);
+			trace.append("}}");
+			trace.append(",\n{\"name\":\"construct\",\"cat\":\"phase\",\"ph\":\"X\",\"pid\":").append(pid)
+				.append(",\"tid\":").append(frame.threadId)
+				.append(",\"ts\":").append(this.micros(frame.start[WALL]))
+				.append(",\"dur\":").append((frame.initStart[WALL] - frame.start[WALL]) / 1000).append("}");
+			trace.append(",\n{\"name\":\"init\",\"cat\":\"phase\",\"ph\":\"X\",\"pid\":").append(pid)
+				.append(",\"tid\":").append(frame.threadId)
+				.append(",\"ts\":").append(this.micros(frame.initStart[WALL]))
+				.append(",\"dur\":").append((frame.end - frame.initStart[WALL]) / 1000).append("}");
+		}
+		for(Map.Entry<Long, String> thread : threads.entrySet()) {
+			if(!first) {
+				trace.append(",");
+			}
+			first = false;
+			trace.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(pid)
+				.append(",\"tid\":").append(thread.getKey())
+				.append(",\"args\":{\"name\":").append(quote(thread.getValue())).append("}}");
+		}
+		trace.append("\n],\"displayTimeUnit\":\"ms\"");
+		trace.append(",\"otherData\":{\"application\":").append(quote(applicationName)).append("}");
+		trace.append(",\"startupTime\":").append(this.stopTime - this.startTime);
+		trace.append(",\"criticalPath\":{\"duration\":").append(criticalPath.isEmpty() ? 0 : criticalPath.get(criticalPath.size() - 1).finish).append(",\"beans\":[");
+		for(int i = 0;i < criticalPath.size();i++) {
+			Node node = criticalPath.get(i);
+			if(i > 0) {
+				trace.append(",");
+			}
+			trace.append("\n{\"name\":").append(quote(node.name))
+				.append(",\"wall\":").append(node.self(WALL));
+			if(ThreadMetrics.CPU_SUPPORTED) {
+				trace.append(",\"cpu\":").append(node.self(CPU));
+			}
+			if(ThreadMetrics.ALLOC_SUPPORTED) {
+				trace.append(",\"allocated\":").append(node.self(ALLOC));
+			}
+			trace.append("}");
+		}
+		trace.append("\n]}}\n");
+		return trace.toString();
+	}
+
+	/**
+	 * <p>
+	 * Appends the metrics of a creation phase to a trace event arguments.
+	 * </p>
+	 *
+	 * @param trace   the trace
+	 * @param phase   the creation phase
+	 * @param metrics the phase metrics
+	 */
+	private void appendMetrics(StringBuilder trace, String phase, long[] metrics) {
+		trace.append(",\"").append(phase).append("Time\":").append(metrics[WALL]);
+		if(ThreadMetrics.CPU_SUPPORTED) {
+			trace.append(",\"").append(phase).append("CpuTime\":").append(metrics[CPU]);
+		}
+		if(ThreadMetrics.ALLOC_SUPPORTED) {
+			trace.append(",\"").append(phase).append("AllocatedBytes\":").append(metrics[ALLOC]);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Converts a time to microseconds since the start of the profile.
+	 * </p>
+	 *
+	 * @param time a time in nanoseconds
+	 *
+	 * @return the number of microseconds since the start of the profile
+	 */
+	private long micros(long time) {
+		return (time - this.startTime) / 1000;
+	}
+
+	/**
+	 * <p>
+	 * Converts a duration in nanoseconds to milliseconds.
+	 * </p>
+	 *
+	 * @param duration a duration in nanoseconds
+	 *
+	 * @return a duration in milliseconds
+	 */
+	private static double millis(long duration) {
+		return duration / 1000000.0;
+	}
+
+	/**
+	 * <p>
+	 * Quotes and escapes a string in JSON.
+	 * </p>
+	 *
+	 * @param value a string
+	 *
+	 * @return a JSON string
+	 */
+	private static String quote(String value) {
+		StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for(int i = 0;i < value.length();i++) {
+			char c = value.charAt(i);
+			switch(c) {
+				case '"': quoted.append("\\\"");
+					break;
+				case '\\': quoted.append("\\\\");
+					break;
+				default:
+					if(c < 0x20) {
+						quoted.append(String.format("\\u%04x", (int)c));
+					}
+					else {
+						quoted.append(c);
+					}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * <p>
+	 * The creation of a bean instance by a thread.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	static final class Frame {
+
+		/**
+		 * The profiler recording the frame.
+		 */
+		private final StartupProfiler profiler;
+
+		/**
+		 * The bean whose instance is created.
+		 */
+		private final Bean<?> bean;
+
+		/**
+		 * The frame of the bean being created by the same thread when the creation
+		 * started, null if the bean was not created by another bean.
+		 */
+		private final Frame parent;
+
+		/**
+		 * The identifier of the creating thread.
+		 */
+		private final long threadId;
+
+		/**
+		 * The name of the creating thread.
+		 */
+		private final String threadName;
+
+		/**
+		 * The wall time, CPU time and allocated bytes sampled when the creation
+		 * started.
+		 */
+		private final long[] start;
+
+		/**
+		 * The metrics sampled when the instance was constructed.
+		 */
+		private long[] initStart;
+
+		/**
+		 * The wall time at which the instance was initialized.
+		 */
+		private long end;
+
+		/**
+		 * The metrics of the construction excluding nested creations.
+		 */
+		private final long[] construct;
+
+		/**
+		 * The metrics of the initialization excluding nested creations.
+		 */
+		private final long[] init;
+
+		/**
+		 * The metrics of the nested creations of the current phase, subtracted from
+		 * the phase metrics.
+		 */
+		private final long[] children;
+
+		private Frame(StartupProfiler profiler, Bean<?> bean, Frame parent) {
+			this.profiler = profiler;
+			this.bean = bean;
+			this.parent = parent;
+			Thread thread = Thread.currentThread();
+			this.threadId = thread.getId();
+			this.threadName = thread.getName();
+			this.construct = new long[3];
+			this.init = new long[3];
+			this.children = new long[3];
+			this.start = ThreadMetrics.sample();
+		}
+	}
+
+	/**
+	 * <p>
+	 * The aggregated creations of a bean in the bean graph.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static final class Node {
+
+		/**
+		 * The bean.
+		 */
+		private final Bean<?> bean;
+
+		/**
+		 * The bean whose creation triggered the first creation of the bean or null.
+		 */
+		private final Bean<?> trigger;
+
+		/**
+		 * The qualified name of the bean.
+		 */
+		private final String name;
+
+		/**
+		 * The nodes of the dependencies of the bean created during the profile.
+		 */
+		private final List<Node> dependencies;
+
+		/**
+		 * The cumulated construction metrics of all instances.
+		 */
+		private final long[] construct;
+
+		/**
+		 * The cumulated initialization metrics of all instances.
+		 */
+		private final long[] init;
+
+		/**
+		 * The number of instances created.
+		 */
+		private int count;
+
+		/**
+		 * The earliest finish time of the bean on a parallel startup in nanoseconds
+		 * or -1 if it has not been computed yet.
+		 */
+		private long finish;
+
+		/**
+		 * The dependency which finishes last, the predecessor of the bean on the
+		 * critical path.
+		 */
+		private Node critical;
+
+		/**
+		 * Indicates whether the bean is on the critical path.
+		 */
+		private boolean onCriticalPath;
+
+		private Node(Bean<?> bean, Bean<?> trigger) {
+			this.bean = bean;
+			this.trigger = trigger;
+			this.name = bean.parent.getName() + ":" + bean.name;
+			this.dependencies = new ArrayList<>();
+			this.construct = new long[3];
+			this.init = new long[3];
+			this.finish = -1;
+		}
+
+		private long self(int metric) {
+			return this.construct[metric] + this.init[metric];
+		}
+	}
+
+	/**
+	 * <p>
+	 * Samples the wall time, the CPU time and the allocated bytes of the current
+	 * thread.
+	 * </p>
+	 *
+	 * <p>
+	 * CPU time and allocated bytes are not measured when the
+	 * {@code java.management} and {@code jdk.management} modules are not available
+	 * or when the virtual machine does not support it.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static final class ThreadMetrics {
+
+		private static final ThreadMXBean THREAD_MX_BEAN;
+
+		private static final boolean CPU_SUPPORTED;
+
+		private static final boolean ALLOC_SUPPORTED;
+
+		static {
+			ThreadMXBean threadMXBean = null;
+			boolean cpuSupported = false;
+			boolean allocSupported = false;
+			try {
+				threadMXBean = ManagementFactory.getThreadMXBean();
+				cpuSupported = threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+				allocSupported = threadMXBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)threadMXBean).isThreadAllocatedMemorySupported() && ((com.sun.management.ThreadMXBean)threadMXBean).isThreadAllocatedMemoryEnabled();
+			}
+			catch (Throwable e) {
+				// java.management or jdk.management is not available
+			}
+			THREAD_MX_BEAN = threadMXBean;
+			CPU_SUPPORTED = cpuSupported;
+			ALLOC_SUPPORTED = allocSupported;
+		}
+
+		private static long[] sample() {
+			return new long[] {
+				System.nanoTime(),
+				CPU_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0,
+				ALLOC_SUPPORTED ? ((com.sun.management.ThreadMXBean)THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId()) : 0
+			};
+		}
+	}
+}
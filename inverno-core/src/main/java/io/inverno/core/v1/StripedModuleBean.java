@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A striped module {@link Bean} implementation.
+ * </p>
+ * 
+ * <p>
+ * A striped bean holds a fixed number of instances, the instance returned to a
+ * requesting thread is selected from a hash of the thread identifier. Threads
+ * are then spread across instances which reduces contention on beans that
+ * would otherwise be shared by all threads such as counters or buffers.
+ * </p>
+ * 
+ * <p>
+ * The number of stripes is rounded up to the next power of two and instances
+ * are created lazily the first time a stripe is selected. Since multiple
+ * threads can be assigned the same stripe, instances must still be thread-safe.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * @see Bean
+ * @see StripedModuleBeanBuilder
+ * 
+ * @param <T> the actual type of the bean
+ */
+abstract class StripedModuleBean<T> extends AbstractModuleBean<T> {
+
+	/**
+	 * The bean logger.
+	 */
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(StripedModuleBean.class);
+	
+	/**
+	 * The mask used to select a stripe.
+	 */
+	private final int mask;
+
+	/**
+	 * The bean instances indexed by stripe.
+	 */
+	private volatile AtomicReferenceArray<T> instances;
+	
+	/**
+	 * <p>
+	 * Creates a striped module bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name     the bean name
+	 * @param override an optional override
+	 * @param stripes  the number of stripes, the number of available processors is
+	 *                 used when lower or equal to zero
+	 */
+	public StripedModuleBean(String name, Optional<Supplier<T>> override, int stripes) {
+		super(name, override);
+		int size = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+		this.mask = (size > 1 ? Integer.highestOneBit(size - 1) << 1 : 1) - 1;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the stripe assigned to the current thread.
+	 * </p>
+	 * 
+	 * @param mask the stripe mask
+	 * 
+	 * @return a stripe index
+	 */
+	static int stripe(int mask) {
+		long id = Thread.currentThread().getId();
+		int hash = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * <p>
+	 * Creates the striped bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method only allocates the stripes, instances being created when a
+	 * stripe is first selected in the {@link #get()} method.
+	 * </p>
+	 */
+	@Override
+	public final void create() {
+		if (this.instances == null) {
+			this.lock.lock();
+			try {
+				if (this.instances == null) {
+					LOGGER.debug("Creating striped bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					this.instances = new AtomicReferenceArray<>(this.mask + 1);
+					this.parent.recordBean(this);
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the bean instance assigned to the stripe of the current thread.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance creation to the {@link #createInstance()}
+	 * method.
+	 * </p>
+	 * 
+	 * @return a bean instance
+	 */
+	@Override
+	public final T doGet() {
+		this.create();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		AtomicReferenceArray<T> currentInstances = this.instances;
+		int stripe = stripe(this.mask);
+		T instance = currentInstances.get(stripe);
+		return instance != null ? instance : this.createSynchronized(currentInstances, stripe);
+	}
+	
+	/**
+	 * <p>
+	 * Creates the instance of the specified stripe while holding the bean lock.
+	 * </p>
+	 * 
+	 * @param currentInstances the bean instances
+	 * @param stripe           the stripe index
+	 * 
+	 * @return the instance assigned to the stripe
+	 */
+	private T createSynchronized(AtomicReferenceArray<T> currentInstances, int stripe) {
+		this.lock.lock();
+		try {
+			T instance = currentInstances.get(stripe);
+			if(instance == null) {
+				LOGGER.debug("Creating striped bean {} instance {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> stripe);
+				instance = this.dependenciesTracked ? this.createInstance() : this.trackDependencies(this::createInstance);
+				currentInstances.set(stripe, instance);
+			}
+			return instance;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Destroys the striped bean and as a result all the instances it holds.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance destruction to the
+	 * {@link #destroyInstance(Object)} method.
+	 * </p>
+	 */
+	@Override
+	public final void destroy() {
+		if (this.instances != null) {
+			this.lock.lock();
+			try {
+				AtomicReferenceArray<T> currentInstances = this.instances;
+				if (currentInstances != null) {
+					LOGGER.debug("Destroying striped bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					if(this.override == null) {
+						for(int i = 0;i < currentInstances.length();i++) {
+							T instance = currentInstances.getAndSet(i, null);
+							if(instance != null) {
+								this.destroyInstance(instance);
+							}
+						}
+					}
+					this.instances = null;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.STRIPED;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+import io.inverno.core.v1.Module.BeanBuilder;
+
+/**
+ * <p>
+ * Striped module {@link BeanBuilder} implementation.
+ * </p>
+ * 
+ * <p>
+ * A {@link StripedModuleBeanBuilder} must be used to create striped beans, when
+ * requesting threads must be spread across a fixed number of instances.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @param <T> the actual type of the bean.
+ * 
+ * @see BeanBuilder
+ * @see Bean
+ * @see StripedModuleBean
+ */
+class StripedModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
+
+	/**
+	 * The number of stripes.
+	 */
+	private final int stripes;
+	
+	/**
+	 * <p>
+	 * Creates a striped module bean builder with the specified bean name and
+	 * constructor.
+	 * </p>
+	 * 
+	 * @param beanName    the bean name
+	 * @param stripes     the number of stripes
+	 * @param constructor the bean constructor
+	 */
+	public StripedModuleBeanBuilder(String beanName, int stripes, Supplier<T> constructor) {
+		super(beanName, constructor);
+		this.stripes = stripes;
+	}
+	
+	/**
+	 * <p>
+	 * Builds the bean.
+	 * </p>
+	 * 
+	 * @return a striped bean
+	 */
+	@Override
+	public Bean<T> build() {
+		return new StripedModuleBean<T>(this.beanName, this.override, this.stripes) {
+
+			@Override
+			protected T createInstance() {
+				return newInstance(this, LOGGER);
+			}
+
+			@Override
+			protected void destroyInstance(T instance) {
+				disposeInstance(this, instance, LOGGER);
+			}
+		};
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+/**
+ * <p>
+ * A logging backend logging to the platform {@link java.lang.System.Logger}.
+ * </p>
+ *
+ * <p>
+ * This is the default backend, messages are logged to
+ * {@code java.util.logging} unless a different
+ * {@link java.lang.System.LoggerFinder} is installed.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+public final class SystemLogBackend implements LogBackend {
+
+	/**
+	 * The backend name.
+	 */
+	public static final String NAME = "system";
+
+	/**
+	 * <p>
+	 * Creates a log backend logging to the platform
+	 * {@link java.lang.System.Logger}.
+	 * </p>
+	 */
+	public SystemLogBackend() {
+
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public LogBackend.Logger getLogger(String name) {
+		System.Logger logger = System.getLogger(name);
+		return new LogBackend.Logger() {
+
+			@Override
+			public boolean isEnabled(LogBackend.Level level) {
+				return logger.isLoggable(toSystemLevel(level));
+			}
+
+			@Override
+			public void log(LogBackend.Level level, String message, Throwable error) {
+				if(error != null) {
+					logger.log(toSystemLevel(level), message, error);
+				}
+				else {
+					logger.log(toSystemLevel(level), message);
+				}
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Converts a level to a platform logger level.
+	 * </p>
+	 *
+	 * @param level a level
+	 *
+	 * @return a platform logger level
+	 */
+	private static System.Logger.Level toSystemLevel(LogBackend.Level level) {
+		switch(level) {
+			case DEBUG: return System.Logger.Level.DEBUG;
+			case INFO: return System.Logger.Level.INFO;
+			case WARN: return System.Logger.Level.WARNING;
+			default: return System.Logger.Level.ERROR;
+		}
+	}
+}
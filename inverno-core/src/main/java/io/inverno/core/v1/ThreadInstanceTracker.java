@@ -0,0 +1,290 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Tracks the instances issued by a thread bean and binds them to the threads
+ * that requested them.
+ * </p>
+ * 
+ * <p>
+ * Instances are registered in a concurrent map keyed by weak references to the
+ * threads. The entry of a thread reclaimed by the garbage collector is expunged
+ * by the daemon thread shared by weak instance trackers which then destroys the
+ * instance. The instances bound to threads that are still alive are destroyed
+ * when the tracker is cleared.
+ * </p>
+ * 
+ * <p>
+ * Instances are also bound to platform threads using a {@link ThreadLocal}.
+ * Virtual threads can be created in very large numbers and must not be bound
+ * using thread locals, instances are then looked up in the map using probe keys
+ * shared by all trackers so that no key is allocated when an instance is
+ * requested.
+ * </p>
+ * 
+ * <p>
+ * As for {@link WeakInstanceTracker}, the tracker is closed when it is cleared
+ * and an instance bound after that is destroyed right away.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see ThreadModuleBean
+ *
+ * @param <T> the type of instance
+ */
+class ThreadInstanceTracker<T> {
+
+	/**
+	 * The probe keys used to look up the instances bound to virtual threads.
+	 */
+	private static final AtomicReferenceArray<ThreadProbe> PROBES;
+	
+	static {
+		int probesCount = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors(), 1) * 4 - 1) << 1;
+		PROBES = new AtomicReferenceArray<>(probesCount);
+		for(int i = 0;i < probesCount;i++) {
+			PROBES.set(i, new ThreadProbe());
+		}
+	}
+	
+	/**
+	 * The instances bound to platform threads.
+	 */
+	private final ThreadLocal<T> platformThreadInstances;
+	
+	/**
+	 * The instances bound to threads.
+	 */
+	private final Map<ThreadReference, T> threadInstances;
+	
+	/**
+	 * The action destroying an instance.
+	 */
+	private final BiConsumer<T, Void> destroyAction;
+	
+	/**
+	 * Indicates whether the tracker has been cleared.
+	 */
+	private volatile boolean closed;
+	
+	/**
+	 * <p>
+	 * Creates a thread instance tracker.
+	 * </p>
+	 * 
+	 * @param destroyAction the action destroying an instance
+	 */
+	public ThreadInstanceTracker(BiConsumer<T, Void> destroyAction) {
+		this.platformThreadInstances = new ThreadLocal<>();
+		this.threadInstances = new ConcurrentHashMap<>();
+		this.destroyAction = destroyAction;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the instance bound to the current thread.
+	 * </p>
+	 * 
+	 * @param virtual true if the current thread is a virtual thread, false
+	 *                otherwise
+	 * 
+	 * @return an instance or null if no instance is bound to the current thread
+	 */
+	public T getBound(boolean virtual) {
+		if(!virtual) {
+			return this.platformThreadInstances.get();
+		}
+		Thread thread = Thread.currentThread();
+		int hash = System.identityHashCode(thread);
+		int index = hash & (PROBES.length() - 1);
+		ThreadProbe probe = PROBES.getAndSet(index, null);
+		if(probe == null) {
+			// Another thread is using the probe
+			probe = new ThreadProbe();
+		}
+		probe.thread = thread;
+		probe.hash = hash;
+		try {
+			return this.threadInstances.get(probe);
+		}
+		finally {
+			probe.thread = null;
+			PROBES.set(index, probe);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Tracks the specified instance and binds it to the current thread.
+	 * </p>
+	 * 
+	 * <p>
+	 * The instance is destroyed right away if the tracker has been cleared in the
+	 * meantime.
+	 * </p>
+	 * 
+	 * @param virtual  true if the current thread is a virtual thread, false
+	 *                 otherwise
+	 * @param instance the instance to bind
+	 */
+	public void bind(boolean virtual, T instance) {
+		ThreadReference reference = new ThreadReference(Thread.currentThread(), this);
+		this.threadInstances.put(reference, instance);
+		if(!virtual) {
+			this.platformThreadInstances.set(instance);
+		}
+		// Either this thread or the thread clearing the tracker removes the entry and destroys the instance
+		if(this.closed && this.threadInstances.remove(reference, instance)) {
+			this.destroyAction.accept(instance, null);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Closes the tracker and destroys the instances bound to threads that have not
+	 * been reclaimed by the garbage collector.
+	 * </p>
+	 */
+	public void clear() {
+		this.closed = true;
+		for(Map.Entry<ThreadReference, T> entry : this.threadInstances.entrySet()) {
+			if(this.threadInstances.remove(entry.getKey(), entry.getValue())) {
+				this.destroyAction.accept(entry.getValue(), null);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Removes the entry of a thread reclaimed by the garbage collector and destroys
+	 * the instance that was bound to it.
+	 * </p>
+	 * 
+	 * @param reference the reference of the reclaimed thread
+	 */
+	private void expunge(ThreadReference reference) {
+		T instance = this.threadInstances.remove(reference);
+		if(instance != null) {
+			this.destroyAction.accept(instance, null);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * A weak reference to a thread, compared by thread identity, which is
+	 * expunged from its tracker once the thread has been reclaimed.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static class ThreadReference extends WeakReference<Thread> implements WeakInstanceTracker.Expungeable {
+		
+		/**
+		 * The identity hash code of the thread.
+		 */
+		private final int hash;
+		
+		/**
+		 * The tracker holding the reference.
+		 */
+		private final ThreadInstanceTracker<?> owner;
+		
+		/**
+		 * <p>
+		 * Creates a thread reference expunged from the specified tracker once the
+		 * thread has been reclaimed.
+		 * </p>
+		 * 
+		 * @param thread the thread
+		 * @param owner  the tracker holding the reference
+		 */
+		public ThreadReference(Thread thread, ThreadInstanceTracker<?> owner) {
+			super(thread, WeakInstanceTracker.referenceQueue());
+			this.hash = System.identityHashCode(thread);
+			this.owner = owner;
+		}
+		
+		@Override
+		public void expunge() {
+			this.owner.expunge(this);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof ThreadReference)) {
+				return false;
+			}
+			Thread thread = this.get();
+			return thread != null && thread == ((ThreadReference)obj).get();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * A reusable key used to look up the instance bound to a thread without
+	 * creating a thread reference.
+	 * </p>
+	 * 
+	 * <p>
+	 * A probe is only compared to the thread references in the map, a concurrent
+	 * map invoking the {@code equals()} method of the key it is given.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static class ThreadProbe {
+		
+		/**
+		 * The thread to look up.
+		 */
+		private Thread thread;
+		
+		/**
+		 * The identity hash code of the thread.
+		 */
+		private int hash;
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ThreadReference && ((ThreadReference)obj).get() == this.thread;
+		}
+	}
+}
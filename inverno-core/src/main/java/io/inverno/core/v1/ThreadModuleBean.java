@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A thread module {@link Bean} implementation.
+ * </p>
+ * 
+ * <p>
+ * A thread bean is instantiated once per requesting thread, the same instance
+ * is returned every time the bean is requested by a given thread which makes it
+ * possible to use non thread-safe instances such as formatters or buffers
+ * without synchronization.
+ * </p>
+ * 
+ * <p>
+ * Virtual threads are usually short-lived and can be created in very large
+ * numbers, instances are then not bound to them using thread locals but using
+ * a map weakly referencing the threads (see {@link ThreadInstanceTracker}).
+ * </p>
+ * 
+ * <p>
+ * The instance bound to a thread is destroyed once the thread has terminated
+ * and has been reclaimed by the garbage collector, the instances bound to
+ * threads that are still alive are destroyed when the module is stopped.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * @see Bean
+ * @see ThreadModuleBeanBuilder
+ * 
+ * @param <T> the actual type of the bean
+ */
+abstract class ThreadModuleBean<T> extends AbstractModuleBean<T> {
+
+	/**
+	 * The bean logger.
+	 */
+	protected static final CoreLogger LOGGER = CoreLogger.getLogger(ThreadModuleBean.class);
+	
+	/**
+	 * The {@code Thread.isVirtual()} method handle or null if the runtime doesn't
+	 * support virtual threads.
+	 */
+	private static final MethodHandle IS_VIRTUAL;
+	
+	static {
+		MethodHandle isVirtual;
+		try {
+			isVirtual = MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e) {
+			isVirtual = null;
+		}
+		IS_VIRTUAL = isVirtual;
+	}
+	
+	/**
+	 * The tracker of the instances issued by the bean, replaced each time the bean
+	 * is created so that instances bound before the bean was destroyed are not
+	 * returned.
+	 */
+	private volatile ThreadInstanceTracker<T> instances;
+	
+	/**
+	 * <p>
+	 * Creates a thread module bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name     the bean name
+	 * @param override an optional override
+	 */
+	public ThreadModuleBean(String name, Optional<Supplier<T>> override) {
+		super(name, override);
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the current thread is a virtual thread.
+	 * </p>
+	 * 
+	 * @return true if the current thread is a virtual thread, false otherwise
+	 */
+	static boolean isVirtualThread() {
+		if(IS_VIRTUAL == null) {
+			return false;
+		}
+		try {
+			return (boolean)IS_VIRTUAL.invokeExact(Thread.currentThread());
+		}
+		catch (Throwable e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Creates the thread bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * Since instances are bound to requesting threads, this method basically does
+	 * nothing, instances being created in the {@link #get()} method.
+	 * </p>
+	 */
+	@Override
+	public final void create() {
+		this.createInstances();
+	}
+	
+	/**
+	 * <p>
+	 * Creates the tracker of the instances issued by the bean if it does not exist
+	 * yet.
+	 * </p>
+	 * 
+	 * @return the tracker of the instances issued by the bean
+	 */
+	private ThreadInstanceTracker<T> createInstances() {
+		ThreadInstanceTracker<T> currentInstances = this.instances;
+		if (currentInstances == null) {
+			this.lock.lock();
+			try {
+				currentInstances = this.instances;
+				if (currentInstances == null) {
+					LOGGER.debug("Creating thread bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override != null ? "(overridden)" : "");
+					currentInstances = new ThreadInstanceTracker<>((instance, value) -> this.destroyInstance(instance));
+					this.instances = currentInstances;
+					this.parent.recordBean(this);
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		return currentInstances;
+	}
+
+	/**
+	 * <p>
+	 * Returns the bean instance bound to the current thread.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance creation to the {@link #createInstance()}
+	 * method.
+	 * </p>
+	 * 
+	 * @return a bean instance
+	 */
+	@Override
+	public final T doGet() {
+		ThreadInstanceTracker<T> currentInstances = this.createInstances();
+		if(this.override != null) {
+			return this.override.get();
+		}
+		boolean virtual = isVirtualThread();
+		T instance = currentInstances.getBound(virtual);
+		if(instance == null) {
+			instance = this.dependenciesTracked ? this.createInstance() : this.trackDependencies(this::createInstance);
+			currentInstances.bind(virtual, instance);
+		}
+		return instance;
+	}
+
+	/**
+	 * <p>
+	 * Destroys the thread bean and as a result all bean instances it has issued.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method delegates bean instance destruction to the
+	 * {@link #destroyInstance(Object)} method.
+	 * </p>
+	 */
+	@Override
+	public final void destroy() {
+		if (this.instances != null) {
+			this.lock.lock();
+			try {
+				if (this.instances != null) {
+					LOGGER.debug("Destroying thread bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+					this.instances.clear();
+					this.instances = null;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+	
+	@Override
+	final BeanEvent.Strategy getStrategy() {
+		return BeanEvent.Strategy.THREAD;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.function.Supplier;
+
+import io.inverno.core.v1.Module.Bean;
+import io.inverno.core.v1.Module.BeanBuilder;
+
+/**
+ * <p>
+ * Thread module {@link BeanBuilder} implementation.
+ * </p>
+ * 
+ * <p>
+ * A {@link ThreadModuleBeanBuilder} must be used to create thread beans, when
+ * an instance must be confined to each thread requesting the bean.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @param <T> the actual type of the bean.
+ * 
+ * @see BeanBuilder
+ * @see Bean
+ * @see ThreadModuleBean
+ */
+class ThreadModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
+
+	/**
+	 * <p>
+	 * Creates a thread module bean builder with the specified bean name and
+	 * constructor.
+	 * </p>
+	 * 
+	 * @param beanName    the bean name
+	 * @param constructor the bean constructor
+	 */
+	public ThreadModuleBeanBuilder(String beanName, Supplier<T> constructor) {
+		super(beanName, constructor);
+	}
+	
+	/**
+	 * <p>
+	 * Builds the bean.
+	 * </p>
+	 * 
+	 * @return a thread bean
+	 */
+	@Override
+	public Bean<T> build() {
+		return new ThreadModuleBean<T>(this.beanName, this.override) {
+
+			@Override
+			protected T createInstance() {
+				return newInstance(this, LOGGER);
+			}
+
+			@Override
+			protected void destroyInstance(T instance) {
+				disposeInstance(this, instance, LOGGER);
+			}
+		};
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.inverno.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * Creates the lazy beans of a started module in the background.
+ * </p>
+ *
+ * <p>
+ * Beans are created in the specified order by a limited number of workers,
+ * since requesting a bean creates the beans it depends on, a bean is always
+ * created after its dependencies whatever the order. The warm-up is cancelled
+ * when the module is stopped: beans being created are created but no other
+ * bean is created afterwards.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ */
+final class WarmUp {
+
+	/**
+	 * The name of the module.
+	 */
+	private final String moduleName;
+
+	/**
+	 * The module logger.
+	 */
+	private final CoreLogger logger;
+
+	/**
+	 * The beans to create.
+	 */
+	private final Queue<Bean<?>> beans;
+
+	/**
+	 * The future completed when all beans have been created.
+	 */
+	private final CompletableFuture<Void> future;
+
+	/**
+	 * The number of workers still creating beans.
+	 */
+	private final AtomicInteger workers;
+
+	/**
+	 * The number of workers which have been submitted but did not start yet.
+	 */
+	private final AtomicInteger pendingWorkers;
+
+	/**
+	 * The first error raised when creating a bean.
+	 */
+	private final AtomicReference<Throwable> error;
+
+	/**
+	 * Indicates whether the warm-up has been cancelled.
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 * The time at which the warm-up started in nanoseconds.
+	 */
+	private long t0;
+
+	/**
+	 * <p>
+	 * Creates a warm-up.
+	 * </p>
+	 *
+	 * @param moduleName the name of the module
+	 * @param logger     the module logger
+	 * @param beans      the lazy beans to create in dependency order
+	 */
+	WarmUp(String moduleName, CoreLogger logger, List<Bean<?>> beans) {
+		this.moduleName = moduleName;
+		this.logger = logger;
+		this.beans = new ConcurrentLinkedQueue<>(beans);
+		this.future = new CompletableFuture<>();
+		this.workers = new AtomicInteger();
+		this.pendingWorkers = new AtomicInteger();
+		this.error = new AtomicReference<>();
+	}
+
+	/**
+	 * <p>
+	 * Starts creating beans with the specified number of workers.
+	 * </p>
+	 *
+	 * <p>
+	 * When no executor is specified, workers run in dedicated low priority daemon
+	 * threads.
+	 * </p>
+	 *
+	 * @param executor    the executor used to run the workers or null
+	 * @param concurrency the maximum number of beans created concurrently
+	 *
+	 * @return a future completed when all beans have been created
+	 */
+	CompletableFuture<Void> start(Executor executor, int concurrency) {
+		this.t0 = System.nanoTime();
+		int workerCount = Math.min(concurrency, this.beans.size());
+		if(workerCount == 0) {
+			this.complete();
+			return this.future.copy();
+		}
+		this.logger.info("Warming up Module {}...", () -> this.moduleName);
+		this.workers.set(workerCount);
+		this.pendingWorkers.set(workerCount);
+		for(int i = 0;i < workerCount;i++) {
+			try {
+				if(executor != null) {
+					executor.execute(this::work);
+				}
+				else {
+					Thread thread = new Thread(this::work, "inverno-warmup-" + this.moduleName + "-" + i);
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					thread.start();
+				}
+			}
+			catch(RuntimeException e) {
+				// the executor rejected the worker
+				this.error.compareAndSet(null, e);
+				this.cancelled = true;
+				if(this.startWorker()) {
+					this.workerDone();
+				}
+			}
+		}
+		return this.future.copy();
+	}
+
+	/**
+	 * <p>
+	 * Creates beans until there are no more beans to create or the warm-up is
+	 * cancelled.
+	 * </p>
+	 *
+	 * <p>
+	 * A worker starting after the warm-up has been cancelled does nothing since
+	 * it has already been accounted as done.
+	 * </p>
+	 */
+	private void work() {
+		if(!this.startWorker()) {
+			return;
+		}
+		Bean<?> bean;
+		while(!this.cancelled && (bean = this.beans.poll()) != null) {
+			try {
+				bean.get();
+			}
+			catch(Throwable e) {
+				this.error.compareAndSet(null, e);
+				Bean<?> failedBean = bean;
+				this.logger.warn(() -> "Error warming up bean " + failedBean.parent.getName() + ":" + failedBean.name, e);
+			}
+		}
+		this.workerDone();
+	}
+
+	/**
+	 * <p>
+	 * Marks a pending worker as started.
+	 * </p>
+	 *
+	 * @return true if the worker started, false if the warm-up has been cancelled
+	 *         before
+	 */
+	private boolean startWorker() {
+		int pending;
+		do {
+			pending = this.pendingWorkers.get();
+			if(pending == 0) {
+				return false;
+			}
+		} while(!this.pendingWorkers.compareAndSet(pending, pending - 1));
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Completes the warm-up once the last worker is done.
+	 * </p>
+	 */
+	private void workerDone() {
+		if(this.workers.decrementAndGet() == 0) {
+			this.complete();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Completes the future.
+	 * </p>
+	 */
+	private void complete() {
+		Throwable e = this.error.get();
+		if(e != null) {
+			this.future.completeExceptionally(e);
+		}
+		else if(this.cancelled && !this.beans.isEmpty()) {
+			this.future.completeExceptionally(new CancellationException("Warm-up of module " + this.moduleName + " was cancelled"));
+		}
+		else {
+			this.future.complete(null);
+			this.logger.info("Module {} warmed up in {}ms", () -> this.moduleName, () -> ((System.nanoTime() - this.t0) / 1000000));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Cancels the warm-up and waits for the beans being created to be created.
+	 * </p>
+	 *
+	 * <p>
+	 * Workers which did not start yet are considered done so that the module
+	 * doesn't wait for an executor which might never run them.
+	 * </p>
+	 */
+	void cancel() {
+		this.cancelled = true;
+		int pending = this.pendingWorkers.getAndSet(0);
+		if(pending > 0 && this.workers.addAndGet(-pending) == 0) {
+			this.complete();
+		}
+		try {
+			this.future.join();
+		}
+		catch(RuntimeException e) {
+			// already reported
+		}
+	}
+
+	/**
+	 * <p>
+	 * Determines whether all beans have been successfully created.
+	 * </p>
+	 *
+	 * @return true if the warm-up completed successfully, false otherwise
+	 */
+	boolean isDone() {
+		return this.future.isDone() && !this.future.isCompletedExceptionally();
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.core.v1;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Tracks the instances issued by a prototype bean through weak references so
+ * that they can be destroyed when the bean is destroyed.
+ * </p>
+ * 
+ * <p>
+ * Instances are tracked in a concurrent set which does not serialize threads
+ * requesting instances of the same prototype bean. The references of instances
+ * reclaimed by the garbage collector are expunged by a single daemon thread
+ * shared by all trackers instead of being expunged by the threads requesting
+ * instances.
+ * </p>
+ * 
+ * <p>
+ * A tracker is closed when it is cleared, an instance tracked after that is
+ * destroyed right away since it would otherwise never be destroyed.
+ * </p>
+ * 
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.3
+ * 
+ * @see PrototypeWeakModuleBean
+ * @see PrototypeWeakWrapperBean
+ * @see ThreadInstanceTracker
+ *
+ * @param <T> the type of instance
+ * @param <W> the type of the value associated to an instance
+ */
+class WeakInstanceTracker<T, W> {
+
+	/**
+	 * The references of the tracked instances.
+	 */
+	private final Set<InstanceReference<T, W>> references;
+	
+	/**
+	 * The action destroying an instance and its associated value.
+	 */
+	private final BiConsumer<T, W> destroyAction;
+	
+	/**
+	 * Indicates whether the tracker has been cleared.
+	 */
+	private volatile boolean closed;
+	
+	/**
+	 * <p>
+	 * Creates a weak instance tracker.
+	 * </p>
+	 * 
+	 * @param destroyAction the action destroying an instance and its associated
+	 *                      value
+	 */
+	public WeakInstanceTracker(BiConsumer<T, W> destroyAction) {
+		this.references = ConcurrentHashMap.newKeySet();
+		this.destroyAction = destroyAction;
+	}
+	
+	/**
+	 * <p>
+	 * Tracks the specified instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * The instance is destroyed right away if the tracker has been cleared in the
+	 * meantime.
+	 * </p>
+	 * 
+	 * @param instance the instance to track
+	 * @param value    the value to associate to the instance or null
+	 */
+	public void track(T instance, W value) {
+		InstanceReference<T, W> reference = new InstanceReference<>(instance, value, this.references);
+		this.references.add(reference);
+		// Either this thread or the thread clearing the tracker removes the reference and destroys the instance
+		if(this.closed && this.references.remove(reference)) {
+			this.destroyAction.accept(instance, value);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of tracked instances including instances that have been
+	 * reclaimed by the garbage collector but not yet expunged.
+	 * </p>
+	 * 
+	 * @return the number of tracked instances
+	 */
+	public int size() {
+		return this.references.size();
+	}
+	
+	/**
+	 * <p>
+	 * Closes the tracker and destroys the instances that have not been reclaimed
+	 * by the garbage collector.
+	 * </p>
+	 */
+	public void clear() {
+		this.closed = true;
+		for(InstanceReference<T, W> reference : this.references) {
+			if(this.references.remove(reference)) {
+				T instance = reference.get();
+				if(instance != null) {
+					this.destroyAction.accept(instance, reference.value);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * A reference which must be expunged from the collection holding it once its
+	 * referent has been reclaimed by the garbage collector.
+	 * </p>
+	 * 
+	 * <p>
+	 * References registered to {@link Expunger#REFERENCE_QUEUE} must implement
+	 * this interface.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	interface Expungeable {
+		
+		/**
+		 * <p>
+		 * Removes the reference from the collection holding it, destroying the
+		 * instance that depended on the reclaimed referent if any.
+		 * </p>
+		 */
+		void expunge();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the reference queue drained by the expunger thread.
+	 * </p>
+	 * 
+	 * @return the reference queue
+	 */
+	static ReferenceQueue<Object> referenceQueue() {
+		return Expunger.REFERENCE_QUEUE;
+	}
+	
+	/**
+	 * <p>
+	 * A weak reference to an instance holding its associated value and the set
+	 * from which it must be expunged once the instance has been reclaimed.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 *
+	 * @param <T> the type of instance
+	 * @param <W> the type of the value associated to the instance
+	 */
+	private static class InstanceReference<T, W> extends WeakReference<T> implements Expungeable {
+		
+		/**
+		 * The value associated to the instance.
+		 */
+		private final W value;
+		
+		/**
+		 * The set holding the reference.
+		 */
+		private final Set<InstanceReference<T, W>> owner;
+		
+		/**
+		 * <p>
+		 * Creates an instance reference.
+		 * </p>
+		 * 
+		 * @param instance the instance
+		 * @param value    the value associated to the instance
+		 * @param owner    the set holding the reference
+		 */
+		public InstanceReference(T instance, W value, Set<InstanceReference<T, W>> owner) {
+			super(instance, Expunger.REFERENCE_QUEUE);
+			this.value = value;
+			this.owner = owner;
+		}
+		
+		@Override
+		public void expunge() {
+			this.owner.remove(this);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Expunges the references of reclaimed instances in a daemon thread started
+	 * when the first instance reference is created.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.3
+	 */
+	private static class Expunger {
+		
+		/**
+		 * The reference queue where the references of reclaimed instances are
+		 * enqueued.
+		 */
+		private static final ReferenceQueue<Object> REFERENCE_QUEUE = new ReferenceQueue<>();
+		
+		static {
+			Thread expungerThread = new Thread(Expunger::run, "inverno-prototype-expunger");
+			expungerThread.setDaemon(true);
+			expungerThread.start();
+		}
+		
+		/**
+		 * <p>
+		 * Expunges the references of reclaimed instances as they are enqueued.
+		 * </p>
+		 */
+		private static void run() {
+			for(;;) {
+				try {
+					((Expungeable)REFERENCE_QUEUE.remove()).expunge();
+				} 
+				catch (InterruptedException e) {
+					// Keep expunging, the thread is a daemon
+				}
+				catch (RuntimeException e) {
+					// The expunger must survive an instance failing to be destroyed
+				}
+			}
+		}
+	}
+}
@@ -31,10 +31,17 @@
  * @since 1.0
  */
 module io.inverno.core {
-	requires org.apache.logging.log4j;
+	requires static org.apache.logging.log4j;
 	requires static transitive java.compiler;
+	requires static java.management;
+	requires static jdk.management;
+	// jdk.jfr is accessed reflectively, it can't be required since it is not part of the Java 9 platform
 	
 	requires static transitive io.inverno.core.annotation;
 
 	exports io.inverno.core.v1;
+	
+	uses io.inverno.core.v1.LogBackend;
+	
+	provides io.inverno.core.v1.LogBackend with io.inverno.core.v1.SystemLogBackend, io.inverno.core.v1.Log4jLogBackend, io.inverno.core.v1.NoOpLogBackend;
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ public abstract class AbstractInvernoTest {
 	static {
 		System.setProperty("org.apache.logging.log4j.simplelog.level", "DEBUG");
 		System.setProperty("org.apache.logging.log4j.simplelog.logFile", "system.out");
+		System.setProperty("inverno.core.log_backend", "log4j");
 	}
 	
 	private InvernoTestCompiler invernoCompiler;
@@ -16,6 +16,10 @@
 package io.inverno.test;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import io.inverno.core.v1.Module;
 
@@ -60,6 +64,20 @@ public class InvernoModuleProxy extends Module {
 		}
 	}
 
+	@Override
+	public void start(Executor executor) throws InvernoModuleException {
+		try {
+			this.module.getClass().getMethod("start", Executor.class).invoke(this.module, executor);
+		} 
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public void stop() throws InvernoModuleException {
 		try {
@@ -74,6 +92,92 @@ public class InvernoModuleProxy extends Module {
 		}
 	}
 	
+	@Override
+	public void stop(Executor executor, Duration beanTimeout, Duration timeout) throws InvernoModuleException {
+		try {
+			this.module.getClass().getMethod("stop", Executor.class, Duration.class, Duration.class).invoke(this.module, executor, beanTimeout, timeout);
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	public void restartModule(String moduleName) throws InvernoModuleException {
+		try {
+			this.module.getClass().getMethod("restartModule", String.class).invoke(this.module, moduleName);
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends Module> List<T> replicate(Class<T> moduleType, int count) throws InvernoModuleException {
+		try {
+			return (List<T>)this.module.getClass().getMethod("replicate", Class.class, int.class).invoke(this.module, moduleType, count);
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	public CompletableFuture<Void> warmUp(Executor executor, int concurrency) throws InvernoModuleException {
+		try {
+			@SuppressWarnings("unchecked")
+			CompletableFuture<Void> warmUp = (CompletableFuture<Void>)this.module.getClass().getMethod("warmUp", Executor.class, int.class).invoke(this.module, executor, concurrency);
+			return warmUp;
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	public boolean isWarmedUp() throws InvernoModuleException {
+		try {
+			return (boolean)this.module.getClass().getMethod("isWarmedUp").invoke(this.module);
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
+				| SecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	public void addBeanListener(Object listener) throws InvernoModuleException {
+		try {
+			Class<?> beanListenerClass = this.module.getClass().getClassLoader().loadClass("io.inverno.core.v1.BeanListener");
+			this.module.getClass().getMethod("addBeanListener", beanListenerClass).invoke(this.module, listener);
+		}
+		catch (InvocationTargetException e) {
+			throw new InvernoModuleException(e.getCause());
+		}
+		catch (ClassNotFoundException | NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
 	public Object getBean(String name) throws InvernoModuleException {
 		try {
 			return this.module.getClass().getMethod(name).invoke(this.module);